@@ -0,0 +1,154 @@
+package rendimiento;
+
+import enums.EstadoPostulacion;
+import gestores.GestorIntercambio;
+import gestores.ResultadoLogin;
+import modelo.Convenio;
+import modelo.Estudiante;
+import modelo.Postulacion;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmarks de las operaciones más usadas de GestorIntercambio sobre un conjunto de datos
+ * sintético de tamaño configurable (parámetro {@code estudiantes}). Cada estudiante postula
+ * a entre 1 y 3 de los convenios para los que es elegible (el gestor rechaza los demás) y
+ * las postulaciones se reparten entre todos los estados.
+ *
+ * Se ejecutan desde la raíz del proyecto (lee src/main/resources/convenios.txt) con:
+ * {@code mvn -P benchmark package && java -jar target/benchmarks.jar -prof gc}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GestorIntercambioBenchmark {
+    private static final String PASS = "clave";
+
+    @Param({"1000", "10000", "100000"})
+    public int estudiantes;
+
+    private GestorIntercambio gestor;
+    private Path baseDatos;
+    private List<Estudiante> listaEstudiantes;
+    private List<Convenio> convenios;
+    /** Los estudiantes que califican para al menos un convenio y, en el mismo orden, esos convenios. */
+    private List<Estudiante> postulantes;
+    private List<List<Convenio>> elegibles;
+    private List<Postulacion> postulaciones;
+    private final AtomicInteger siguientePostulacion = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void crearDatos() throws IOException {
+        baseDatos = Files.createTempFile("sia-bench", ".db");
+        gestor = new GestorIntercambio("jdbc:sqlite:" + baseDatos);
+        gestor.cargarDatos().join();
+
+        Random rnd = new Random(42);
+        convenios = new ArrayList<>(gestor.getProgramas().iterator().next().getConvenios());
+        listaEstudiantes = new ArrayList<>(estudiantes);
+        postulantes = new ArrayList<>();
+        elegibles = new ArrayList<>();
+        EstadoPostulacion[] estados = EstadoPostulacion.values();
+        for (int i = 0; i < estudiantes; i++) {
+            String rut = String.format("%08dK", i);
+            gestor.registrarEstudiante(rut, "Estudiante " + i, "e" + i + "@inst.cl", PASS,
+                    "Carrera " + (i % 20), 1 + rnd.nextInt(12), 4.0 + rnd.nextInt(31) / 10.0);
+            Estudiante e = (Estudiante) gestor.iniciarSesion(rut, PASS).getUsuario();
+            listaEstudiantes.add(e);
+            List<Convenio> xs = gestor.getConveniosElegibles(e, convenios);
+            if (xs.isEmpty()) continue;
+            postulantes.add(e);
+            elegibles.add(xs);
+            int cuantas = 1 + rnd.nextInt(3);
+            for (int j = 0; j < cuantas; j++) {
+                gestor.postular(e, xs.get(rnd.nextInt(xs.size())));
+            }
+        }
+        postulaciones = new ArrayList<>(gestor.getTodasLasPostulaciones());
+        for (Postulacion p : postulaciones) {
+            gestor.cambiarEstadoPostulacion(p, estados[rnd.nextInt(estados.length)]);
+        }
+        gestor.guardarDatos();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws IOException {
+        gestor.cerrar();
+        Files.deleteIfExists(baseDatos);
+        Files.deleteIfExists(Path.of(baseDatos + "-wal"));
+        Files.deleteIfExists(Path.of(baseDatos + "-shm"));
+    }
+
+    /** Índice aleatorio por hilo para no medir la contención del generador. */
+    @State(Scope.Thread)
+    public static class Azar {
+        final Random rnd = new Random(7);
+
+        int siguiente(int limite) { return rnd.nextInt(limite); }
+    }
+
+    @Benchmark
+    public ResultadoLogin iniciarSesion(Azar azar) {
+        Estudiante e = listaEstudiantes.get(azar.siguiente(listaEstudiantes.size()));
+        ResultadoLogin r = gestor.iniciarSesion(e.getRut(), PASS);
+        gestor.cerrarSesion(r.getSesion());
+        return r;
+    }
+
+    /**
+     * Recorre los pares elegibles estudiante-convenio en orden: mientras queden pares nuevos mide
+     * el alta completa (validación, índices y encolado de la escritura); después, el rechazo por duplicado.
+     */
+    @Benchmark
+    public boolean postular() {
+        int n = siguientePostulacion.getAndIncrement() & Integer.MAX_VALUE;
+        int i = n % postulantes.size();
+        List<Convenio> xs = elegibles.get(i);
+        return gestor.postular(postulantes.get(i), xs.get((n / postulantes.size()) % xs.size()));
+    }
+
+    @Benchmark
+    public void getTodasLasPostulaciones(Blackhole bh) {
+        for (Postulacion p : gestor.getTodasLasPostulaciones()) {
+            bh.consume(p);
+        }
+    }
+
+    @Benchmark
+    public void getPostulacionesPorEstado(Azar azar, Blackhole bh) {
+        EstadoPostulacion[] estados = EstadoPostulacion.values();
+        for (Postulacion p : gestor.getPostulacionesPorEstado(estados[azar.siguiente(estados.length)])) {
+            bh.consume(p);
+        }
+    }
+
+    @Benchmark
+    public void getPostulacionesPorConvenio(Azar azar, Blackhole bh) {
+        Convenio c = convenios.get(azar.siguiente(convenios.size()));
+        for (Postulacion p : gestor.getPostulacionesPorConvenio(c.getId())) {
+            bh.consume(p);
+        }
+    }
+
+    @Benchmark
+    public Object getProgramaDeConvenio(Azar azar) {
+        return gestor.getProgramaDeConvenio(convenios.get(azar.siguiente(convenios.size())));
+    }
+
+    @Benchmark
+    public Estudiante buscarEstudiantePorPostulacion(Azar azar) {
+        return gestor.buscarEstudiantePorPostulacion(postulaciones.get(azar.siguiente(postulaciones.size())).getId());
+    }
+}
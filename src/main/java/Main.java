@@ -3,37 +3,39 @@ import gestores.GestorIntercambio;
 import menu.*;
 import ui.VentanaPrincipal;
 import javax.swing.*;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
     public static void main(String[] args) throws Exception {
-        // La ruta de la base de datos debe ser la misma que en GestorIntercambio
-        String url = "jdbc:sqlite:gestion_intercambio.db";
-
-        try (Connection conn = DriverManager.getConnection(url)) {
-            if (conn != null) {
-                System.out.println("Conexión SQLite exitosa!");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
+        long inicio = System.nanoTime();
         FlatMacDarkLaf.setup();
         GestorIntercambio gestor = new GestorIntercambio();
+        gestor.getMetricas().registrarEnJmx();
+        String archivoMetricas = System.getProperty("sia.metricas.archivo");
+        if (archivoMetricas != null) {
+            gestor.getMetricas().iniciarVolcado(Paths.get(archivoMetricas), Long.getLong("sia.metricas.segundos", 60));
+        }
+        System.out.println("[inicio] configuración: " + msDesde(inicio) + " ms");
 
-        // Abrir la ventana
-        SwingUtilities.invokeLater(() -> new VentanaPrincipal(gestor).setVisible(true));
-
-        gestor.crearProgramaPorDefecto();
-        gestor.recargarDatos();
+        // Los datos se cargan en segundo plano; el login queda deshabilitado mientras tanto
+        CompletableFuture<Void> carga = gestor.cargarDatos();
+        SwingUtilities.invokeLater(() -> {
+            new VentanaPrincipal(gestor).setVisible(true);
+            System.out.println("[inicio] primera ventana: " + msDesde(inicio) + " ms");
+        });
+        carga.whenComplete((r, e) -> {
+            System.out.println("[inicio] datos listos: " + msDesde(inicio) + " ms");
+            gestor.iniciarGuardadoPeriodico(Long.getLong("sia.checkpoint.segundos", 30));
+        });
         // gestor.cargarDatosIniciales();
         // gestor.cargarConveniosDesdeArchivo("src/main/resources/convenios.txt");
 
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             System.out.println("Cerrando la aplicación. Guardando datos...");
             gestor.guardarDatos();
+            gestor.cerrar();
         }));
 
         /* Iniciamos el menú principal como una instancia
@@ -42,4 +44,8 @@ public class Main {
         menuPrincipal.iniciar();
          */
     }
+
+    private static long msDesde(long inicio) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+    }
 }
\ No newline at end of file
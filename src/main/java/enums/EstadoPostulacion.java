@@ -6,5 +6,27 @@ public enum EstadoPostulacion {
     ACEPTADA,
     RECHAZADA,
     PRESELECCIONADA,
-    ABANDONADA
+    ABANDONADA;
+
+    /**
+     * Transiciones que acepta el cambio masivo de estado. RECHAZADA y ABANDONADA son finales;
+     * una postulación ACEPTADA solo puede abandonarse.
+     */
+    public boolean puedeCambiarA(EstadoPostulacion destino) {
+        if (destino == this) return false;
+        switch (this) {
+            case POR_REVISAR:
+            case REVISADA:
+            case PRESELECCIONADA:
+                return true;
+            case ACEPTADA:
+                return destino == ABANDONADA;
+            default:
+                return false;
+        }
+    }
+
+    public boolean esFinal() {
+        return this == RECHAZADA || this == ABANDONADA;
+    }
 }
@@ -0,0 +1,5 @@
+package enums;
+
+public enum TipoEvento {
+    POSTULACION_CREADA, ESTADO_CAMBIADO, INTERACCION_AGREGADA, CONVENIO_ACTUALIZADO, CONVENIO_PUBLICADO
+}
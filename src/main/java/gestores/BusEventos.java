@@ -0,0 +1,142 @@
+package gestores;
+
+import enums.TipoEvento;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bus de eventos del dominio. El gestor publica sin esperar y un único hilo despachador
+ * entrega los eventos en lotes: junta lo que llega durante una ventana corta y llama a cada
+ * oyente una vez por lote, en el orden de publicación.
+ *
+ * Los oyentes se llaman en el hilo despachador; las vistas Swing deben pasar el trabajo al
+ * EDT. Un oyente lento retrasa a los demás, así que lo pesado debe hacerse aparte.
+ */
+public class BusEventos implements AutoCloseable {
+    private static final long VENTANA_MS = 50;
+    private static final int MAX_POR_LOTE = 10_000;
+
+    private final BlockingQueue<EventoDominio> cola;
+    private final List<Suscripcion> suscripciones;
+    private final Thread despachador;
+    private volatile boolean activo;
+
+    private static final class Suscripcion {
+        final Consumer<List<EventoDominio>> oyente;
+        final boolean agrupar;
+
+        Suscripcion(Consumer<List<EventoDominio>> oyente, boolean agrupar) {
+            this.oyente = oyente;
+            this.agrupar = agrupar;
+        }
+    }
+
+    public BusEventos() {
+        this.cola = new LinkedBlockingQueue<>();
+        this.suscripciones = new CopyOnWriteArrayList<>();
+        this.activo = true;
+        this.despachador = new Thread(this::despachar, "bus-eventos");
+        this.despachador.setDaemon(true);
+        this.despachador.start();
+    }
+
+    /**
+     * Recibe todos los eventos, sin agrupar (para quien necesita cada transición, como los reportes).
+     */
+    public void suscribir(Consumer<List<EventoDominio>> oyente) {
+        suscripciones.add(new Suscripcion(oyente, false));
+    }
+
+    /**
+     * Recibe los lotes agrupados con {@link #agrupar(List)}: un evento por entidad y tipo
+     * (pensado para las vistas, que solo necesitan saber qué filas actualizar).
+     */
+    public void suscribirAgrupado(Consumer<List<EventoDominio>> oyente) {
+        suscripciones.add(new Suscripcion(oyente, true));
+    }
+
+    public void desuscribir(Consumer<List<EventoDominio>> oyente) {
+        suscripciones.removeIf(s -> s.oyente == oyente);
+    }
+
+    void publicar(EventoDominio evento) {
+        if (activo) cola.add(evento);
+    }
+
+    /**
+     * Deja un evento por entidad y tipo, en la posición del primero. Los cambios de estado
+     * se combinan (del estado anterior del primero al nuevo del último) y se descartan si la
+     * postulación terminó en el mismo estado en que estaba.
+     */
+    public static List<EventoDominio> agrupar(List<EventoDominio> lote) {
+        Map<String, EventoDominio> porClave = new LinkedHashMap<>();
+        for (EventoDominio e : lote) {
+            String clave = e.getClave();
+            EventoDominio previo = porClave.get(clave);
+            if (previo != null && e.getTipo() == TipoEvento.ESTADO_CAMBIADO) {
+                e = EventoDominio.estadoCambiado(e.getPostulacion(), previo.getEstadoAnterior(), e.getEstadoNuevo());
+            }
+            porClave.put(clave, e);
+        }
+        List<EventoDominio> xs = new ArrayList<>(porClave.size());
+        for (EventoDominio e : porClave.values()) {
+            if (e.getTipo() == TipoEvento.ESTADO_CAMBIADO && e.getEstadoAnterior() == e.getEstadoNuevo()) continue;
+            xs.add(e);
+        }
+        return xs;
+    }
+
+    private void despachar() {
+        List<EventoDominio> lote = new ArrayList<>();
+        while (activo || !cola.isEmpty()) {
+            try {
+                EventoDominio primero = cola.poll(200, TimeUnit.MILLISECONDS);
+                if (primero == null) continue;
+                lote.add(primero);
+                if (activo) Thread.sleep(VENTANA_MS);
+            } catch (InterruptedException e) {
+                // close() interrumpe para despertar al despachador; se entrega lo que quede
+            }
+            cola.drainTo(lote, MAX_POR_LOTE - lote.size());
+            if (!lote.isEmpty()) entregar(lote);
+            lote.clear();
+        }
+    }
+
+    private void entregar(List<EventoDominio> lote) {
+        List<EventoDominio> todos = Collections.unmodifiableList(new ArrayList<>(lote));
+        List<EventoDominio> agrupados = null;
+        for (Suscripcion s : suscripciones) {
+            if (s.agrupar && agrupados == null) agrupados = Collections.unmodifiableList(agrupar(todos));
+            if (s.agrupar && agrupados.isEmpty()) continue;
+            try {
+                s.oyente.accept(s.agrupar ? agrupados : todos);
+            } catch (RuntimeException e) {
+                System.err.println("Error en un oyente de eventos: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Entrega los eventos pendientes y detiene el despachador.
+     */
+    @Override
+    public void close() {
+        activo = false;
+        despachador.interrupt();
+        try {
+            despachador.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package gestores;
+
+import modelo.Usuario;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Control de intentos de inicio de sesión y bloqueos temporales de cuentas.
+ *
+ * Por cada RUT con intentos fallidos recientes guarda, sin candados, las marcas de tiempo
+ * de los últimos fallos en un anillo de tamaño fijo: la cuenta se bloquea cuando todos los
+ * fallos del anillo caen dentro de la ventana. El bloqueo vence solo, y una tarea en segundo
+ * plano descarta los registros inactivos para que el mapa no crezca con cada RUT probado.
+ *
+ * Los contadores viven solo en memoria; únicamente las decisiones (bloquear, desbloquear)
+ * se informan a quien las persiste.
+ */
+public class ControlAccesos implements AutoCloseable {
+    private final int maxIntentos;
+    private final long ventanaNanos;
+    private final long duracionBloqueoNanos;
+    private final Map<String, Registro> registros;
+    private final Consumer<Usuario> alBloquear;
+    private final Consumer<Usuario> alDesbloquear;
+    private final ScheduledExecutorService limpieza;
+
+    /**
+     * Intentos fallidos recientes de un RUT.
+     */
+    private static final class Registro {
+        final AtomicLongArray fallos;
+        final AtomicInteger siguiente = new AtomicInteger();
+        final AtomicLong bloqueadoHasta = new AtomicLong();
+        volatile long ultimoUso;
+        volatile Usuario bloqueado;
+
+        Registro(int maxIntentos, long ahora) {
+            this.fallos = new AtomicLongArray(maxIntentos);
+            this.ultimoUso = ahora;
+        }
+
+        int fallosDesde(long limite) {
+            int n = 0;
+            for (int i = 0; i < fallos.length(); i++) {
+                long t = fallos.get(i);
+                if (t != 0 && t - limite > 0) n++;
+            }
+            return n;
+        }
+
+        void limpiarFallos() {
+            for (int i = 0; i < fallos.length(); i++) {
+                fallos.set(i, 0);
+            }
+        }
+    }
+
+    /**
+     * @param alBloquear    Se llama una sola vez cuando una cuenta queda bloqueada.
+     * @param alDesbloquear Se llama cuando vence el bloqueo de una cuenta.
+     */
+    public ControlAccesos(int maxIntentos, long ventana, long duracionBloqueo, TimeUnit unidad,
+                          Consumer<Usuario> alBloquear, Consumer<Usuario> alDesbloquear) {
+        this.maxIntentos = maxIntentos;
+        this.ventanaNanos = unidad.toNanos(ventana);
+        this.duracionBloqueoNanos = unidad.toNanos(duracionBloqueo);
+        this.registros = new ConcurrentHashMap<>();
+        this.alBloquear = alBloquear;
+        this.alDesbloquear = alDesbloquear;
+        this.limpieza = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "limpieza-accesos");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodo = Math.max(1, unidad.toSeconds(ventana));
+        limpieza.scheduleWithFixedDelay(this::descartarInactivos, periodo, periodo, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Indica si la cuenta está bloqueada. Si el bloqueo venció, lo levanta.
+     * Una cuenta que llegó bloqueada desde la base (sin vencimiento conocido) queda
+     * bloqueada por un período completo a partir de ahora.
+     */
+    public boolean estaBloqueado(Usuario u) {
+        long ahora = System.nanoTime();
+        Registro r = registros.get(u.getRut());
+        long hasta = r == null ? 0 : r.bloqueadoHasta.get();
+        if (hasta != 0 && hasta - ahora > 0) return true;
+        if (!u.isBloqueado()) return false;
+
+        if (hasta == 0) {
+            Registro nuevo = registro(u.getRut(), ahora);
+            nuevo.bloqueado = u;
+            nuevo.bloqueadoHasta.compareAndSet(0, ahora + duracionBloqueoNanos);
+            return true;
+        }
+        // Venció: solo el hilo que gana el CAS informa el desbloqueo
+        if (r.bloqueadoHasta.compareAndSet(hasta, 0)) {
+            r.limpiarFallos();
+            r.bloqueado = null;
+            alDesbloquear.accept(u);
+        }
+        return false;
+    }
+
+    /**
+     * Minutos que faltan para que venza el bloqueo (al menos 1 si está bloqueada).
+     */
+    public long minutosRestantes(String rut) {
+        Registro r = registros.get(rut);
+        long restante = r == null ? 0 : r.bloqueadoHasta.get() - System.nanoTime();
+        return restante <= 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMinutes(restante + TimeUnit.MINUTES.toNanos(1) - 1));
+    }
+
+    /**
+     * Registra un intento fallido.
+     * @return Intentos que quedan antes del bloqueo (0 si la cuenta quedó bloqueada).
+     */
+    public int registrarFallo(Usuario u) {
+        long ahora = System.nanoTime();
+        Registro r = registro(u.getRut(), ahora);
+        r.fallos.set(Math.floorMod(r.siguiente.getAndIncrement(), maxIntentos), ahora);
+        int recientes = r.fallosDesde(ahora - ventanaNanos);
+        if (recientes < maxIntentos) return maxIntentos - recientes;
+
+        long hasta = r.bloqueadoHasta.get();
+        if ((hasta == 0 || hasta - ahora <= 0) && r.bloqueadoHasta.compareAndSet(hasta, ahora + duracionBloqueoNanos)) {
+            r.limpiarFallos();
+            r.bloqueado = u;
+            alBloquear.accept(u);
+        }
+        return 0;
+    }
+
+    /**
+     * Un inicio de sesión correcto borra los fallos acumulados.
+     */
+    public void registrarExito(String rut) {
+        Registro r = registros.get(rut);
+        if (r != null && r.bloqueadoHasta.get() == 0) {
+            registros.remove(rut, r);
+        }
+    }
+
+    private Registro registro(String rut, long ahora) {
+        Registro r = registros.get(rut);
+        if (r == null) {
+            Registro nuevo = new Registro(maxIntentos, ahora);
+            r = registros.putIfAbsent(rut, nuevo);
+            if (r == null) r = nuevo;
+        }
+        r.ultimoUso = ahora;
+        // Si la limpieza lo descartó justo ahora, se vuelve a publicar
+        if (registros.get(rut) != r) registros.putIfAbsent(rut, r);
+        return r;
+    }
+
+    private void descartarInactivos() {
+        long ahora = System.nanoTime();
+        registros.forEach((rut, r) -> {
+            long hasta = r.bloqueadoHasta.get();
+            if (hasta != 0) {
+                // Los bloqueos vencidos se levantan aunque el usuario no haya vuelto a intentar
+                Usuario u = r.bloqueado;
+                if (hasta - ahora <= 0 && r.bloqueadoHasta.compareAndSet(hasta, 0)) {
+                    r.bloqueado = null;
+                    if (u != null) alDesbloquear.accept(u);
+                    registros.remove(rut, r);
+                }
+            } else if (ahora - r.ultimoUso > ventanaNanos) {
+                registros.remove(rut, r);
+            }
+        });
+    }
+
+    public int getRegistrosActivos() { return registros.size(); }
+
+    @Override
+    public void close() {
+        limpieza.shutdownNow();
+    }
+}
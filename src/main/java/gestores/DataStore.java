@@ -1,33 +1,96 @@
 package gestores;
 
+import enums.EstadoPostulacion;
 import modelo.*;
+import servicios.AgregadosPostulaciones;
+import servicios.IndiceConvenios;
+import servicios.IndiceEstudiantes;
+import servicios.RankingPostulantes;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Clase de almacenamiento de datos en memoria para acceso rápido.
  * Funciona como un caché central para las listas de la aplicación,
  * usando mapas para optimizar las búsquedas.
+ *
+ * Además mantiene índices secundarios de postulaciones (por estado, por convenio
+ * y por RUT del estudiante), que se actualizan al agregar una postulación o al
+ * cambiar su estado. Así las consultas cuestan lo mismo que el tamaño del resultado.
+ * Los convenios se registran también en un índice invertido para la búsqueda de texto,
+ * las postulaciones abiertas en el ranking de postulantes de su convenio, los estudiantes
+ * en un índice de rangos por carrera, semestres y promedio y los conteos por estado, país,
+ * área, programa y convenio en los agregados del auditor.
+ *
+ * Es el único almacén de entidades de la aplicación: el gestor, los menús y los paneles
+ * leen a través de él. Las consultas devuelven vistas de solo lectura sobre los datos
+ * vivos (no copias), por lo que quien necesite modificar estados mientras recorre una
+ * vista debe copiarla primero.
+ *
+ * Los mapas e índices son concurrentes, así que varias sesiones pueden leer y escribir
+ * a la vez. Las operaciones compuestas sobre un mismo estudiante (postular, cambiar estados)
+ * las serializa el gestor con su bloqueo por estudiante.
  */
 public class DataStore {
     private final Map<String, Usuario> usuariosPorRut;
     private final Map<String, Convenio> conveniosPorId;
     private final Map<Integer, Programa> programasPorId;
     private final Map<String, Postulacion> postulacionesPorId;
+    private final Map<String, Programa> programaPorConvenio;
+
+    // Índices secundarios de postulaciones
+    private final Map<EstadoPostulacion, Set<Postulacion>> postulacionesPorEstado;
+    private final Map<String, Set<Postulacion>> postulacionesPorConvenio;
+    private final Map<String, List<Postulacion>> postulacionesPorRut;
+    private final IndiceConvenios indiceConvenios;
+    private final RankingPostulantes ranking;
+    private final IndiceEstudiantes indiceEstudiantes;
+    private final AgregadosPostulaciones agregados;
+    private volatile Consumer<EntidadRastreable> observadorCambios;
 
     public DataStore(List<Usuario> usuarios, List<Convenio> convenios, List<Programa> programas, List<Postulacion> postulaciones) {
-        this.usuariosPorRut = new HashMap<>();
-        this.conveniosPorId = new HashMap<>();
-        this.programasPorId = new HashMap<>();
-        this.postulacionesPorId = new HashMap<>();
+        this.usuariosPorRut = new ConcurrentHashMap<>();
+        this.conveniosPorId = new ConcurrentHashMap<>();
+        this.programasPorId = new ConcurrentHashMap<>();
+        this.postulacionesPorId = new ConcurrentHashMap<>();
+        this.programaPorConvenio = new ConcurrentHashMap<>();
+        this.postulacionesPorEstado = new EnumMap<>(EstadoPostulacion.class);
+        this.postulacionesPorConvenio = new ConcurrentHashMap<>();
+        this.postulacionesPorRut = new ConcurrentHashMap<>();
+        this.indiceConvenios = new IndiceConvenios();
+        this.ranking = new RankingPostulantes();
+        this.indiceEstudiantes = new IndiceEstudiantes();
+        this.agregados = new AgregadosPostulaciones();
+
+        for (EstadoPostulacion estado : EstadoPostulacion.values()) {
+            postulacionesPorEstado.put(estado, ConcurrentHashMap.newKeySet());
+        }
 
         // Llenar los mapas desde las listas
-        usuarios.forEach(u -> this.usuariosPorRut.put(u.getRut(), u));
-        convenios.forEach(c -> this.conveniosPorId.put(c.getId(), c));
-        programas.forEach(p -> this.programasPorId.put(p.getId(), p));
-        postulaciones.forEach(p -> this.postulacionesPorId.put(p.getId(), p));
+        usuarios.forEach(u -> {
+            this.usuariosPorRut.put(u.getRut(), u);
+            indexar(u);
+        });
+        convenios.forEach(c -> {
+            this.conveniosPorId.put(c.getId(), c);
+            this.indiceConvenios.agregar(c);
+            clasificar(c.getId());
+        });
+        programas.forEach(this::addPrograma);
+        postulaciones.forEach(this::addPostulacion);
+    }
+
+    public DataStore() {
+        this(Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
     }
 
     // Métodos para obtener elementos
@@ -36,15 +99,218 @@ public class DataStore {
     public Programa getProgramaPorId(int id) { return programasPorId.get(id); }
     public Postulacion getPostulacionPorId(String id) { return postulacionesPorId.get(id); }
 
+    /**
+     * Registra quién debe enterarse cuando una entidad del almacén se modifica
+     * (el guardado incremental). Se aplica a las entidades que se agreguen desde ahora.
+     */
+    public void setObservadorCambios(Consumer<EntidadRastreable> observador) { this.observadorCambios = observador; }
+
+    private void vigilar(EntidadRastreable e) {
+        Consumer<EntidadRastreable> obs = observadorCambios;
+        if (obs != null) e.setObservador(obs);
+    }
+
     // Métodos para agregar elementos (actualizan los mapas y las listas subyacentes)
-    public void addUsuario(Usuario u) { usuariosPorRut.put(u.getRut(), u); }
-    public void addConvenio(Convenio c) { conveniosPorId.put(c.getId(), c); }
-    public void addPrograma(Programa p) { programasPorId.put(p.getId(), p); }
-    public void addPostulacion(Postulacion p) { postulacionesPorId.put(p.getId(), p); }
-
-    // Métodos para obtener todas las listas
-    public List<Usuario> getUsuarios() { return new ArrayList<>(usuariosPorRut.values()); }
-    public List<Convenio> getConvenios() { return new ArrayList<>(conveniosPorId.values()); }
-    public List<Programa> getProgramas() { return new ArrayList<>(programasPorId.values()); }
-    public List<Postulacion> getPostulaciones() { return new ArrayList<>(postulacionesPorId.values()); }
-}
\ No newline at end of file
+    public void addUsuario(Usuario u) {
+        Usuario anterior = usuariosPorRut.put(u.getRut(), u);
+        if (anterior instanceof Estudiante && !(u instanceof Estudiante)) indiceEstudiantes.quitar((Estudiante) anterior);
+        indexar(u);
+        vigilar(u);
+    }
+    public boolean addUsuarioSiNoExiste(Usuario u) {
+        if (usuariosPorRut.putIfAbsent(u.getRut(), u) != null) return false;
+        indexar(u);
+        vigilar(u);
+        return true;
+    }
+
+    private void indexar(Usuario u) {
+        if (u instanceof Estudiante) indiceEstudiantes.agregar((Estudiante) u);
+    }
+    public void addConvenio(Convenio c) {
+        conveniosPorId.put(c.getId(), c);
+        indiceConvenios.agregar(c);
+        clasificar(c.getId());
+        vigilar(c);
+    }
+    public void addPrograma(Programa p) {
+        programasPorId.put(p.getId(), p);
+        vigilar(p);
+        p.getConvenios().forEach(c -> {
+            programaPorConvenio.put(c.getId(), p);
+            clasificar(c.getId());
+        });
+    }
+
+    /**
+     * Ubica al convenio en los agregados según su país, área y programa actuales.
+     */
+    private void clasificar(String idConvenio) {
+        String[] d = dimensiones(idConvenio);
+        agregados.clasificar(idConvenio, d[0], d[1], d[2]);
+    }
+
+    private String[] dimensiones(String idConvenio) {
+        Convenio c = conveniosPorId.get(idConvenio);
+        Programa p = programaPorConvenio.get(idConvenio);
+        return new String[]{c == null ? null : c.getPais(), c == null ? null : c.getArea(), p == null ? null : p.getNombre()};
+    }
+
+    /**
+     * Asocia un convenio a un programa, manteniendo el mapa inverso convenio -> programa.
+     * Si el programa ya tenía un convenio con el mismo ID, lo reemplaza.
+     */
+    public void asociarConvenio(Programa p, Convenio c) {
+        Programa anterior = programaPorConvenio.put(c.getId(), p);
+        if (anterior != null && anterior != p) anterior.quitarConvenio(c.getId());
+        p.reemplazarConvenio(c);
+        clasificar(c.getId());
+    }
+
+    public Programa getProgramaDeConvenio(String idConvenio) { return programaPorConvenio.get(idConvenio); }
+
+    /**
+     * Agrega (o reemplaza, si ya existe el ID) una postulación y la registra en los índices.
+     */
+    public void addPostulacion(Postulacion p) {
+        Postulacion anterior = postulacionesPorId.put(p.getId(), p);
+        if (anterior != null) {
+            desindexar(anterior);
+        }
+        postulacionesPorEstado.get(p.getEstado()).add(p);
+        postulacionesPorConvenio.computeIfAbsent(claveConvenio(p.getIdConvenio()), k -> ConcurrentHashMap.newKeySet()).add(p);
+        postulacionesPorRut.computeIfAbsent(p.getRutEstudiante(), k -> new CopyOnWriteArrayList<>()).add(p);
+        agregados.agregar(p);
+        if (!p.getEstado().esFinal()) rankear(p);
+        vigilar(p);
+    }
+
+    private void rankear(Postulacion p) {
+        Usuario u = usuariosPorRut.get(p.getRutEstudiante());
+        if (u instanceof Estudiante) {
+            Estudiante e = (Estudiante) u;
+            ranking.agregar(p, e.getPromedio(), e.getSemestresCursados());
+        } else {
+            ranking.agregar(p, 0, 0);
+        }
+    }
+
+    /**
+     * Cambia el estado de una postulación moviéndola entre los índices por estado.
+     * Todo cambio de estado debe pasar por aquí para que los índices no queden desfasados.
+     */
+    public void cambiarEstado(Postulacion p, EstadoPostulacion nuevoEstado) {
+        EstadoPostulacion actual = p.getEstado();
+        if (actual == nuevoEstado) return;
+        postulacionesPorEstado.get(actual).remove(p);
+        p.setEstado(nuevoEstado);
+        postulacionesPorEstado.get(nuevoEstado).add(p);
+        agregados.cambiarEstado(p.getIdConvenio(), actual, nuevoEstado);
+        // Las rechazadas y abandonadas ya no compiten por un cupo
+        if (nuevoEstado.esFinal()) {
+            ranking.quitar(p);
+        } else if (!ranking.contiene(p)) {
+            rankear(p);
+        }
+    }
+
+    /**
+     * Cambia el promedio y los semestres de un estudiante y lo reubica en el índice de
+     * estudiantes y a sus postulaciones en los rankings. Todo cambio de notas debe pasar
+     * por aquí para que los índices no queden desfasados.
+     */
+    public void actualizarDatosAcademicos(Estudiante e, double promedio, int semestres) {
+        e.setPromedio(promedio);
+        e.setSemestresCursados(semestres);
+        if (usuariosPorRut.get(e.getRut()) == e) indiceEstudiantes.agregar(e);
+        ranking.reordenar(getPostulacionesPorRut(e.getRut()), promedio, semestres);
+    }
+
+    /**
+     * Cambia la carrera de un estudiante y lo reubica en el índice de estudiantes, que lo
+     * agrupa por carrera normalizada.
+     */
+    public void actualizarCarrera(Estudiante e, String carrera) {
+        e.setCarrera(carrera);
+        if (usuariosPorRut.get(e.getRut()) == e) indiceEstudiantes.agregar(e);
+    }
+
+    private void desindexar(Postulacion p) {
+        ranking.quitar(p);
+        agregados.quitar(p);
+        postulacionesPorEstado.get(p.getEstado()).remove(p);
+        Set<Postulacion> porConvenio = postulacionesPorConvenio.get(claveConvenio(p.getIdConvenio()));
+        if (porConvenio != null) porConvenio.remove(p);
+        List<Postulacion> porRut = postulacionesPorRut.get(p.getRutEstudiante());
+        if (porRut != null) porRut.remove(p);
+    }
+
+    private static String claveConvenio(String idConvenio) {
+        return idConvenio == null ? "" : idConvenio.toUpperCase();
+    }
+
+    // Consultas sobre los índices secundarios (vistas de solo lectura)
+    public Collection<Postulacion> getPostulacionesPorEstado(EstadoPostulacion estado) {
+        return Collections.unmodifiableSet(postulacionesPorEstado.get(estado));
+    }
+
+    public Collection<Postulacion> getPostulacionesPorConvenio(String idConvenio) {
+        Set<Postulacion> xs = postulacionesPorConvenio.get(claveConvenio(idConvenio));
+        return xs == null ? Collections.emptySet() : Collections.unmodifiableSet(xs);
+    }
+
+    public List<Postulacion> getPostulacionesPorRut(String rut) {
+        List<Postulacion> xs = postulacionesPorRut.get(rut);
+        return xs == null ? Collections.emptyList() : Collections.unmodifiableList(xs);
+    }
+
+    /**
+     * Búsqueda de texto sobre el catálogo de convenios (universidad, país, área y requisitos).
+     * Tolera tildes, prefijos y un error de tipeo por término; ver {@link IndiceConvenios}.
+     */
+    public List<Convenio> buscarConvenios(String consulta) { return indiceConvenios.buscar(consulta); }
+
+    /**
+     * Los primeros {@code n} postulantes abiertos del convenio según el ranking; ver {@link RankingPostulantes}.
+     */
+    public List<Postulacion> getRankingConvenio(String idConvenio, int n) { return ranking.primeros(idConvenio, n); }
+
+    public int contarPostulantesEnRanking(String idConvenio) { return ranking.contar(idConvenio); }
+
+    /**
+     * Estudiantes con promedio y semestres mínimos, en una carrera (o prefijo de carrera) o en
+     * todas si es null; ver {@link IndiceEstudiantes}.
+     */
+    public List<Estudiante> buscarEstudiantes(String carrera, double promedioMinimo, int semestresMinimo) {
+        return indiceEstudiantes.buscar(carrera, promedioMinimo, semestresMinimo);
+    }
+
+    /**
+     * Igual que {@link #buscarEstudiantes(String, double, int)}, agregando al final de {@code destino}.
+     */
+    public void buscarEstudiantes(String carrera, double promedioMinimo, int semestresMinimo, List<Estudiante> destino) {
+        indiceEstudiantes.buscar(carrera, promedioMinimo, semestresMinimo, destino);
+    }
+
+    /**
+     * Los conteos materializados para los reportes del auditor; ver {@link AgregadosPostulaciones}.
+     */
+    public AgregadosPostulaciones getAgregados() { return agregados; }
+
+    /**
+     * Vuelve a calcular los agregados desde cero, en paralelo, sobre todas las postulaciones.
+     * Sirve para comprobar que los conteos mantenidos en línea no se desfasaron.
+     */
+    public AgregadosPostulaciones recalcularAgregados() {
+        Map<String, String[]> clasificacion = new HashMap<>();
+        for (String id : conveniosPorId.keySet()) clasificacion.put(id, dimensiones(id));
+        for (String id : programaPorConvenio.keySet()) clasificacion.putIfAbsent(id, dimensiones(id));
+        return AgregadosPostulaciones.recalcular(clasificacion, postulacionesPorId.values());
+    }
+
+    // Métodos para obtener todas las colecciones (vistas de solo lectura)
+    public Collection<Usuario> getUsuarios() { return Collections.unmodifiableCollection(usuariosPorRut.values()); }
+    public Collection<Convenio> getConvenios() { return Collections.unmodifiableCollection(conveniosPorId.values()); }
+    public Collection<Programa> getProgramas() { return Collections.unmodifiableCollection(programasPorId.values()); }
+    public Collection<Postulacion> getPostulaciones() { return Collections.unmodifiableCollection(postulacionesPorId.values()); }
+}
@@ -0,0 +1,107 @@
+package gestores;
+
+import enums.EstadoPostulacion;
+import enums.TipoEvento;
+import modelo.Convenio;
+import modelo.Interaccion;
+import modelo.Postulacion;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Un cambio en los datos del dominio, publicado por el gestor en su {@link BusEventos}.
+ * Según el tipo trae la postulación (creada, con cambio de estado o con una interacción
+ * nueva) o el convenio actualizado. Un convenio recién publicado trae además los RUT de
+ * los estudiantes que cumplen sus requisitos, a quienes va dirigido el aviso.
+ */
+public final class EventoDominio {
+    private final TipoEvento tipo;
+    private final Postulacion postulacion;
+    private final Convenio convenio;
+    private final EstadoPostulacion estadoAnterior;
+    private final EstadoPostulacion estadoNuevo;
+    private final Interaccion interaccion;
+    private final Set<String> destinatarios;
+    private final long instante;
+
+    private EventoDominio(TipoEvento tipo, Postulacion postulacion, Convenio convenio, EstadoPostulacion estadoAnterior,
+                          EstadoPostulacion estadoNuevo, Interaccion interaccion) {
+        this(tipo, postulacion, convenio, estadoAnterior, estadoNuevo, interaccion, Collections.emptySet());
+    }
+
+    private EventoDominio(TipoEvento tipo, Postulacion postulacion, Convenio convenio, EstadoPostulacion estadoAnterior,
+                          EstadoPostulacion estadoNuevo, Interaccion interaccion, Set<String> destinatarios) {
+        this.tipo = tipo;
+        this.postulacion = postulacion;
+        this.convenio = convenio;
+        this.estadoAnterior = estadoAnterior;
+        this.estadoNuevo = estadoNuevo;
+        this.interaccion = interaccion;
+        this.destinatarios = destinatarios;
+        this.instante = System.currentTimeMillis();
+    }
+
+    static EventoDominio postulacionCreada(Postulacion p) {
+        return new EventoDominio(TipoEvento.POSTULACION_CREADA, p, p.getConvenioSeleccionado(), null, p.getEstado(), null);
+    }
+
+    static EventoDominio estadoCambiado(Postulacion p, EstadoPostulacion anterior, EstadoPostulacion nuevo) {
+        return new EventoDominio(TipoEvento.ESTADO_CAMBIADO, p, p.getConvenioSeleccionado(), anterior, nuevo, null);
+    }
+
+    static EventoDominio interaccionAgregada(Postulacion p, Interaccion i) {
+        return new EventoDominio(TipoEvento.INTERACCION_AGREGADA, p, p.getConvenioSeleccionado(), null, null, i);
+    }
+
+    static EventoDominio convenioActualizado(Convenio c) {
+        return new EventoDominio(TipoEvento.CONVENIO_ACTUALIZADO, null, c, null, null, null);
+    }
+
+    static EventoDominio convenioPublicado(Convenio c, Set<String> rutsQueCalifican) {
+        return new EventoDominio(TipoEvento.CONVENIO_PUBLICADO, null, c, null, null, null,
+                Collections.unmodifiableSet(rutsQueCalifican));
+    }
+
+    /**
+     * Identifica la entidad afectada para agrupar eventos repetidos del mismo tipo.
+     */
+    String getClave() {
+        return postulacion == null ? tipo + ":" + convenio.getId() : tipo + ":" + postulacion.getId();
+    }
+
+    // Getters
+    public TipoEvento getTipo() { return tipo; }
+    public Postulacion getPostulacion() { return postulacion; }
+    public Convenio getConvenio() { return convenio; }
+    public EstadoPostulacion getEstadoAnterior() { return estadoAnterior; }
+    public EstadoPostulacion getEstadoNuevo() { return estadoNuevo; }
+    public Interaccion getInteraccion() { return interaccion; }
+    public long getInstante() { return instante; }
+    /** RUT de los estudiantes a quienes se dirige el aviso (vacío salvo en CONVENIO_PUBLICADO). */
+    public Set<String> getDestinatarios() { return destinatarios; }
+    public boolean esPara(String rut) { return destinatarios.contains(rut); }
+
+    /**
+     * RUT del estudiante dueño de la postulación, o null si el evento es de un convenio.
+     */
+    public String getRutEstudiante() { return postulacion != null ? postulacion.getRutEstudiante() : null; }
+
+    @Override
+    public String toString() {
+        switch (tipo) {
+            case POSTULACION_CREADA:
+                return "Postulación " + postulacion.getId() + " creada";
+            case ESTADO_CAMBIADO:
+                return "Postulación " + postulacion.getId() + ": " + estadoAnterior + " -> " + estadoNuevo;
+            case INTERACCION_AGREGADA:
+                return "Postulación " + postulacion.getId() + ": nueva interacción"
+                        + (interaccion != null ? " (" + interaccion.getTitulo() + ")" : "");
+            case CONVENIO_PUBLICADO:
+                return "Nuevo convenio " + convenio.getId() + " (" + convenio.getUniversidad() + ") para "
+                        + destinatarios.size() + " estudiantes que cumplen los requisitos";
+            default:
+                return "Convenio " + convenio.getId() + " actualizado";
+        }
+    }
+}
@@ -1,233 +1,1195 @@
 package gestores;
 
-import enums.EstadoConvenio;
 import enums.EstadoPostulacion;
+import enums.Rol;
+import metricas.Metricas;
+import metricas.Temporizador;
 import modelo.*;
-import java.io.BufferedReader;
-import java.io.FileReader;
+import persistencia.*;
+import reglas.CatalogoReglas;
+import reglas.Requisitos;
+import servicios.AgregadosPostulaciones;
+import servicios.LectorConvenios;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
+/**
+ * Punto de entrada de la lógica de negocio. Una misma instancia atiende a varias sesiones
+ * concurrentes: los datos viven en un DataStore concurrente, los IDs se asignan de forma
+ * atómica y las operaciones compuestas sobre un estudiante se serializan con un bloqueo
+ * por franjas (según el RUT), sin un candado global.
+ */
 public class GestorIntercambio {
-    private final Map<String, Usuario> usuarios;
-    private final Map<String, Programa> programas;
-    private final Map<String, Convenio> convenios;
-    private Usuario usuarioActual;
-    private int nextPostulacionId;
+    private static final String DB_URL = "jdbc:sqlite:gestion_intercambio.db";
+    private static final int ID_PROGRAMA_POR_DEFECTO = 1;
+    private static final int FRANJAS_BLOQUEO = 64;
+    private static final int MAX_INTENTOS_LOGIN = 3;
+    private static final long MINUTOS_VENTANA_LOGIN = Long.getLong("sia.login.ventana.minutos", 15);
+    private static final long MINUTOS_BLOQUEO = Long.getLong("sia.login.bloqueo.minutos", 15);
+    private static final int TAMANO_LOTE_IMPORTACION = 2000;
+    private static final int MAX_ERRORES_IMPORTACION = 1000;
+    private static final long SEGUNDOS_MAX_ESPERA = Long.getLong("sia.cierre.segundos", 5);
+    private static final long SEGUNDOS_MAX_ESPERA_IMPORTACION = Long.getLong("sia.importacion.segundos", 120);
+
+    private final DataStore dataStore;
+    private final ConexionBD conexion;
+    private final ColaEscritura colaEscritura;
+    private final RepositorioUsuarios repoUsuarios;
+    private final RepositorioProgramas repoProgramas;
+    private final RepositorioConvenios repoConvenios;
+    private final RepositorioPostulaciones repoPostulaciones;
+    private final RepositorioInteracciones repoInteracciones;
+    private final GuardadoIncremental guardado;
+    private final Map<String, Sesion> sesiones;
+    private final ControlAccesos controlAccesos;
+    private final Object[] bloqueos;
+    private final AtomicInteger nextPostulacionId;
+    private final CompletableFuture<Void> cargaInicial;
+    private final BusEventos eventos;
+    private final CatalogoReglas reglas;
+    private final Metricas metricas;
+    private final Temporizador tiempoLogin;
+    private final Temporizador tiempoRegistro;
+    private final Temporizador tiempoPostular;
+    private final Temporizador tiempoCambioEstado;
+    private final Temporizador tiempoDescartar;
+    private final Temporizador tiempoCambioMasivo;
+    private final Temporizador tiempoInteraccion;
+    private final Temporizador tiempoHistorial;
+    private final Temporizador tiempoConsultaPostulaciones;
+    private final Temporizador tiempoPostulacionesPorEstado;
+    private final Temporizador tiempoPostulacionesPorConvenio;
+    private final Temporizador tiempoProgramaDeConvenio;
+    private final Temporizador tiempoEstudiantePorPostulacion;
+    private final Temporizador tiempoAsignarCupos;
+    private final Temporizador tiempoDatosAcademicos;
+    private final Temporizador tiempoCarrera;
+    private final Temporizador tiempoBusquedaConvenios;
+    private final Temporizador tiempoRanking;
+    private final Temporizador tiempoAsignacion;
+    private final Temporizador tiempoEstudiantesQueCalifican;
+    private final Temporizador tiempoVerificarAgregados;
+    private final Temporizador tiempoImportacion;
+    private final Temporizador tiempoGuardado;
+    private final LongAdder loginsExitosos;
+    private final LongAdder loginsFallidos;
+    private final LongAdder postulacionesCreadas;
+    private final LongAdder postulacionesNoElegibles;
+    private final LongAdder avisosConvenios;
+    private final LongAdder cambiosEstado;
+    private final LongAdder interaccionesAgregadas;
+    private final LongAdder conveniosImportados;
 
     public GestorIntercambio() {
-        this.usuarios = new HashMap<>();
-        this.programas = new HashMap<>();
-        this.convenios = new HashMap<>();
-        this.nextPostulacionId = 1;
-        cargarDatosDesdeArchivos();
+        this(DB_URL);
+    }
+
+    public GestorIntercambio(String urlBaseDatos) {
+        this.dataStore = new DataStore();
+        this.reglas = new CatalogoReglas();
+        this.metricas = new Metricas();
+        this.conexion = new ConexionBD(urlBaseDatos);
+        this.colaEscritura = new ColaEscritura(conexion, metricas);
+        this.repoUsuarios = new RepositorioUsuarios(conexion, colaEscritura);
+        this.repoProgramas = new RepositorioProgramas(conexion, colaEscritura);
+        this.repoConvenios = new RepositorioConvenios(conexion, colaEscritura);
+        this.repoPostulaciones = new RepositorioPostulaciones(conexion, colaEscritura);
+        this.repoInteracciones = new RepositorioInteracciones(conexion, colaEscritura);
+        this.guardado = new GuardadoIncremental(this::guardarEntidad);
+        this.dataStore.setObservadorCambios(guardado::registrar);
+        this.sesiones = new ConcurrentHashMap<>();
+        this.controlAccesos = new ControlAccesos(MAX_INTENTOS_LOGIN, MINUTOS_VENTANA_LOGIN, MINUTOS_BLOQUEO, TimeUnit.MINUTES,
+                u -> cambiarBloqueo(u, true), u -> cambiarBloqueo(u, false));
+        this.bloqueos = new Object[FRANJAS_BLOQUEO];
+        for (int i = 0; i < bloqueos.length; i++) {
+            bloqueos[i] = new Object();
+        }
+        this.nextPostulacionId = new AtomicInteger(1);
+        this.cargaInicial = new CompletableFuture<>();
+        this.eventos = new BusEventos();
+
+        this.tiempoLogin = metricas.temporizador("gestor.iniciarSesion");
+        this.tiempoRegistro = metricas.temporizador("gestor.registrarEstudiante");
+        this.tiempoPostular = metricas.temporizador("gestor.postular");
+        this.tiempoCambioEstado = metricas.temporizador("gestor.cambiarEstadoPostulacion");
+        this.tiempoDescartar = metricas.temporizador("gestor.descartarOtrasPostulaciones");
+        this.tiempoCambioMasivo = metricas.temporizador("gestor.cambiarEstadoMasivo");
+        this.tiempoInteraccion = metricas.temporizador("gestor.agregarInteraccion");
+        this.tiempoHistorial = metricas.temporizador("gestor.getPaginaInteracciones");
+        this.tiempoConsultaPostulaciones = metricas.temporizador("gestor.getPostulaciones");
+        this.tiempoPostulacionesPorEstado = metricas.temporizador("gestor.getPostulacionesPorEstado");
+        this.tiempoPostulacionesPorConvenio = metricas.temporizador("gestor.getPostulacionesPorConvenio");
+        this.tiempoProgramaDeConvenio = metricas.temporizador("gestor.getProgramaDeConvenio");
+        this.tiempoEstudiantePorPostulacion = metricas.temporizador("gestor.buscarEstudiantePorPostulacion");
+        this.tiempoAsignarCupos = metricas.temporizador("gestor.asignarCupos");
+        this.tiempoDatosAcademicos = metricas.temporizador("gestor.actualizarDatosAcademicos");
+        this.tiempoCarrera = metricas.temporizador("gestor.actualizarCarrera");
+        this.tiempoBusquedaConvenios = metricas.temporizador("gestor.buscarConvenios");
+        this.tiempoRanking = metricas.temporizador("gestor.rankingConvenio");
+        this.tiempoAsignacion = metricas.temporizador("gestor.proponerAsignacion");
+        this.tiempoEstudiantesQueCalifican = metricas.temporizador("gestor.estudiantesQueCalifican");
+        this.tiempoVerificarAgregados = metricas.temporizador("gestor.verificarAgregados");
+        this.tiempoImportacion = metricas.temporizador("gestor.importarConvenios");
+        this.tiempoGuardado = metricas.temporizador("gestor.guardarDatos");
+        this.loginsExitosos = metricas.contador("login.exitosos");
+        this.loginsFallidos = metricas.contador("login.fallidos");
+        this.postulacionesCreadas = metricas.contador("postulaciones.creadas");
+        this.postulacionesNoElegibles = metricas.contador("postulaciones.no_elegibles");
+        this.avisosConvenios = metricas.contador("avisos.convenios_nuevos");
+        this.cambiosEstado = metricas.contador("postulaciones.cambios_estado");
+        this.interaccionesAgregadas = metricas.contador("interacciones.agregadas");
+        this.conveniosImportados = metricas.contador("convenios.importados");
+        metricas.medidor("entidades.usuarios", () -> dataStore.getUsuarios().size());
+        metricas.medidor("entidades.convenios", () -> dataStore.getConvenios().size());
+        metricas.medidor("entidades.programas", () -> dataStore.getProgramas().size());
+        metricas.medidor("entidades.postulaciones", () -> dataStore.getPostulaciones().size());
+        metricas.medidor("sesiones.activas", sesiones::size);
+        metricas.medidor("login.registros_activos", controlAccesos::getRegistrosActivos);
+        metricas.medidor("bd.cola.pendientes", colaEscritura::getPendientes);
+    }
+
+    /**
+     * Inicia la carga de datos en segundo plano: los datos de prueba y el archivo de convenios
+     * se leen al mismo tiempo que las tablas de la base, y al terminar todas las lecturas se
+     * enlazan las referencias (programa-convenio, estudiante-postulación). Registra en la salida
+     * estándar cuánto tardó cada fase.
+     * @return Un futuro que se completa cuando los datos están listos para usarse.
+     */
+    public CompletableFuture<Void> cargarDatos() {
+        cargar(true).whenComplete((r, e) -> {
+            if (e != null) cargaInicial.completeExceptionally(e);
+            else cargaInicial.complete(null);
+        });
+        return cargaInicial;
+    }
+
+    /**
+     * Futuro de la carga iniciada con {@link #cargarDatos()}; la interfaz lo usa para saber
+     * cuándo habilitar el inicio de sesión.
+     */
+    public CompletableFuture<Void> getCargaInicial() {
+        return cargaInicial;
     }
 
     public void cargarDatosDesdeArchivos() {
         System.out.println("Cargando datos...");
         cargarUsuariosDePrueba();
         cargarConveniosDesdeArchivo("src/main/resources/convenios.txt");
-        crearProgramaDePrueba();
-        System.out.println("Datos cargados. Usuarios: " + usuarios.size() + ", Convenios: " + convenios.size() + ", Programas: " + programas.size());
+        crearProgramaPorDefecto();
+        System.out.println("Datos cargados. Usuarios: " + dataStore.getUsuarios().size() + ", Convenios: " + dataStore.getConvenios().size() + ", Programas: " + dataStore.getProgramas().size());
     }
 
     private void cargarUsuariosDePrueba() {
         Estudiante est1 = new Estudiante("123", "Ivan Ferreira", "juan.perez@inst.cl", "123", "Ingenieria Civil", 5.8, 6);
-        Funcionario func1 = new Funcionario("456", "Maria Lopez", "m.lopez@inst.cl", "456");
-        Auditor aud1 = new Auditor("112233445", "Ana Torres", "a.torres@inst.cl", "audit123");
-        usuarios.put(est1.getRut(), est1);
-        usuarios.put(func1.getRut(), func1);
-        usuarios.put(aud1.getRut(), aud1);
+        Usuario func1 = new Usuario("456", "Maria Lopez", "m.lopez@inst.cl", "456", Rol.FUNCIONARIO);
+        Usuario aud1 = new Usuario("112233445", "Ana Torres", "a.torres@inst.cl", "audit123", Rol.AUDITOR);
+        dataStore.addUsuario(est1);
+        dataStore.addUsuario(func1);
+        dataStore.addUsuario(aud1);
     }
 
     private void cargarConveniosDesdeArchivo(String archivo) {
-        try (BufferedReader br = new BufferedReader(new FileReader(archivo))) {
-            String linea;
-            while ((linea = br.readLine()) != null) {
-                String[] datos = linea.split(";");
-                if (datos.length == 8) {
-                    String id = datos[0].trim();
-                    String universidad = datos[1].trim();
-                    String pais = datos[2].trim();
-                    String area = datos[3].trim();
-                    String requisitosAcademicos = datos[4].trim();
-                    String requisitosEconomicos = datos[5].trim();
-                    LocalDate fechaInicio = LocalDate.parse(datos[6].trim());
-                    LocalDate fechaFin = LocalDate.parse(datos[7].trim());
-                    Convenio convenio = new Convenio(id, universidad, pais, area,
-                            requisitosAcademicos, requisitosEconomicos,
-                            fechaInicio, fechaFin);
-                    if (convenio.estaVigente()) {
-                        convenio.setEstado(EstadoConvenio.VIGENTE);
-                    } else {
-                        convenio.setEstado(EstadoConvenio.VENCIDO);
-                    }
-                    convenios.put(id, convenio);
+        LectorConvenios lector = new LectorConvenios(ID_PROGRAMA_POR_DEFECTO);
+        try {
+            lector.leer(Paths.get(archivo), new LectorConvenios.Destino() {
+                @Override
+                public void convenio(Convenio c) { dataStore.addConvenio(c); }
+
+                @Override
+                public void error(long linea, String motivo) {
+                    System.err.println(archivo + ", línea " + linea + ": " + motivo);
                 }
-            }
+            });
         } catch (IOException e) {
             System.err.println("Error al leer el archivo de convenios. Asegúrate de que '" + archivo + "' exista en el directorio de trabajo. " + e.getMessage());
         }
     }
 
-    private void crearProgramaDePrueba() {
-        if (convenios.isEmpty()) {
-            System.err.println("La lista de convenios está vacía. No se puede crear el programa de prueba.");
+    /**
+     * Importa un catálogo de convenios (mismo formato que convenios.txt) leyéndolo en streaming.
+     * Los convenios se agregan o reemplazan por ID en el DataStore y en la base, en lotes;
+     * las filas mal formadas se informan con su número de línea y se omiten.
+     * Al terminar espera (hasta {@code sia.importacion.segundos}) a que sus propios lotes lleguen
+     * a la base, sin esperar por escrituras encoladas después, e imprime el rendimiento (filas
+     * por segundo) incluyendo esa escritura.
+     * @param archivo Ruta del catálogo.
+     * @return El resumen de la importación.
+     * @throws IOException Si el archivo no se puede leer.
+     */
+    public ResultadoImportacion importarConvenios(Path archivo) throws IOException {
+        long t0 = System.nanoTime();
+        try {
+            long inicio = System.nanoTime();
+            List<Convenio> lote = new ArrayList<>(TAMANO_LOTE_IMPORTACION);
+            List<CompletableFuture<Boolean>> escrituras = new ArrayList<>();
+            List<String> errores = new ArrayList<>();
+            int[] importados = {0};
+            int[] filasConError = {0};
+
+            long lineas = new LectorConvenios(ID_PROGRAMA_POR_DEFECTO).leer(archivo, new LectorConvenios.Destino() {
+                @Override
+                public void convenio(Convenio c) {
+                    lote.add(c);
+                    if (lote.size() == TAMANO_LOTE_IMPORTACION) {
+                        importados[0] += lote.size();
+                        escrituras.add(aplicarLoteConvenios(lote));
+                        lote.clear();
+                    }
+                }
+
+                @Override
+                public void error(long linea, String motivo) {
+                    filasConError[0]++;
+                    String mensaje = "Línea " + linea + ": " + motivo;
+                    System.err.println(mensaje);
+                    if (errores.size() < MAX_ERRORES_IMPORTACION) errores.add(mensaje);
+                }
+            });
+            if (!lote.isEmpty()) {
+                importados[0] += lote.size();
+                escrituras.add(aplicarLoteConvenios(lote));
+            }
+            int lotesGuardados = esperarLotes(escrituras);
+            if (lotesGuardados < escrituras.size()) {
+                System.err.println("La importación tiene " + (escrituras.size() - lotesGuardados) + " de " + escrituras.size()
+                        + " lotes sin confirmar en la base (fallaron o siguen en la cola tras " + SEGUNDOS_MAX_ESPERA_IMPORTACION + " s).");
+            }
+
+            ResultadoImportacion r = new ResultadoImportacion(lineas, importados[0], filasConError[0], errores,
+                    escrituras.size(), lotesGuardados, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+            System.out.println("Importación de " + archivo.getFileName() + ": " + r.getImportados() + " convenios de "
+                    + r.getLineas() + " líneas en " + r.getMilisegundos() + " ms (" + r.getFilasPorSegundo()
+                    + " filas/s), " + r.getFilasConError() + " filas con errores.");
+            return r;
+        } finally {
+            tiempoImportacion.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * Espera, con un solo plazo para todos, a que se resuelvan las escrituras de la importación.
+     * @return Cuántas quedaron confirmadas en la base.
+     */
+    private static int esperarLotes(List<CompletableFuture<Boolean>> escrituras) {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(SEGUNDOS_MAX_ESPERA_IMPORTACION);
+        int guardados = 0;
+        for (CompletableFuture<Boolean> f : escrituras) {
+            long restante = Math.max(0, limite - System.nanoTime());
+            if (ColaEscritura.esperar(f, restante, TimeUnit.NANOSECONDS) && f.join()) guardados++;
+        }
+        return guardados;
+    }
+
+    /**
+     * Agrega los convenios del lote al DataStore y encola su escritura.
+     * @return La escritura del lote (ver {@link RepositorioConvenios#guardarLote}).
+     */
+    private CompletableFuture<Boolean> aplicarLoteConvenios(List<Convenio> lote) {
+        for (Convenio c : lote) {
+            boolean nuevo = dataStore.getConvenioPorId(c.getId()) == null;
+            dataStore.addConvenio(c);
+            Programa p = dataStore.getProgramaPorId(c.getIdPrograma());
+            if (p != null) dataStore.asociarConvenio(p, c);
+            // Las postulaciones existentes pasan a apuntar a la versión importada
+            for (Postulacion post : dataStore.getPostulacionesPorConvenio(c.getId())) {
+                post.setConvenioSeleccionado(c);
+            }
+            eventos.publicar(EventoDominio.convenioActualizado(c));
+            if (nuevo) avisarConvenioNuevo(c);
+        }
+        conveniosImportados.add(lote.size());
+        return repoConvenios.guardarLote(lote);
+    }
+
+    /**
+     * Publica el aviso de un convenio nuevo dirigido a los estudiantes que cumplen sus requisitos.
+     */
+    private void avisarConvenioNuevo(Convenio c) {
+        List<Estudiante> califican = getEstudiantesQueCalifican(c);
+        if (califican.isEmpty()) return;
+        Set<String> ruts = new HashSet<>(califican.size() * 2);
+        for (Estudiante e : califican) ruts.add(e.getRut());
+        eventos.publicar(EventoDominio.convenioPublicado(c, ruts));
+        avisosConvenios.add(ruts.size());
+    }
+
+    /**
+     * Crea el programa general (si aún no existe) y le asocia los convenios cargados.
+     */
+    public void crearProgramaPorDefecto() {
+        if (dataStore.getConvenios().isEmpty()) {
+            System.err.println("La lista de convenios está vacía. No se puede crear el programa por defecto.");
             return;
         }
 
-        Programa prog2025 = new Programa("S1-2025", "Movilidad Semestral 2025", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 12, 31));        for (Convenio c : convenios.values()) {
-            prog2025.agregarConvenio(c);
+        Programa programa = dataStore.getProgramaPorId(ID_PROGRAMA_POR_DEFECTO);
+        if (programa == null) {
+            programa = new Programa(ID_PROGRAMA_POR_DEFECTO, "Programa General de Intercambio", LocalDate.of(2025, 1, 1), LocalDate.of(2027, 12, 31));
+            dataStore.addPrograma(programa);
+        }
+        for (Convenio c : dataStore.getConvenios()) {
+            if (c.getIdPrograma() == programa.getId() && !programa.contieneConvenio(c.getId())) {
+                dataStore.asociarConvenio(programa, c);
+            }
         }
-        programas.put(prog2025.getId(), prog2025);
     }
 
-    public ResultadoLogin iniciarSesion(String rut, String pass) {
-        Usuario usuario = usuarios.get(rut);
+    // ===== Persistencia (SQLite) =====
+
+    /**
+     * Carga desde la base de datos los programas, convenios, usuarios y postulaciones.
+     * De las interacciones solo se carga el resumen (cantidad y última); el historial se pide por páginas.
+     * Los registros de la base reemplazan a los de prueba que tengan el mismo identificador.
+     */
+    public void recargarDatos() {
+        try {
+            cargar(false).join();
+        } catch (CompletionException e) {
+            // el error ya quedó registrado
+        }
+    }
+
+    /**
+     * Lee en paralelo cada tabla (y opcionalmente los archivos) y, cuando todas las lecturas
+     * terminan, las aplica al DataStore en orden de dependencia.
+     */
+    private CompletableFuture<Void> cargar(boolean incluirArchivos) {
+        long inicio = System.nanoTime();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(4, r -> {
+            Thread t = new Thread(r, "carga-datos");
+            t.setDaemon(true);
+            return t;
+        });
+
+        CompletableFuture<Void> archivos = incluirArchivos
+                ? CompletableFuture.runAsync(() -> cronometrar("archivos", () -> {
+                    cargarDatosDesdeArchivos();
+                    return null;
+                }), ejecutor)
+                : CompletableFuture.completedFuture(null);
+        // Las tablas deben existir antes de leerlas (una base nueva parte vacía)
+        CompletableFuture<Void> esquema = CompletableFuture.runAsync(() -> cronometrar("esquema", () -> {
+            EsquemaBD.preparar(conexion);
+            return null;
+        }), ejecutor);
+        CompletableFuture<List<Programa>> programas = leerAsync("programas", esquema, repoProgramas::cargarTodos, ejecutor);
+        CompletableFuture<List<Convenio>> convenios = leerAsync("convenios", esquema, repoConvenios::cargarTodos, ejecutor);
+        CompletableFuture<List<Usuario>> usuarios = leerAsync("usuarios", esquema, repoUsuarios::cargarTodos, ejecutor);
+        CompletableFuture<List<Postulacion>> postulaciones = leerAsync("postulaciones", esquema, repoPostulaciones::cargarTodas, ejecutor);
+        // Los autores de las interacciones se resuelven contra los usuarios recién leídos
+        CompletableFuture<List<ResumenInteracciones>> resumenes = usuarios.thenApplyAsync(us -> {
+            Map<String, Usuario> porRut = new HashMap<>();
+            us.forEach(u -> porRut.put(u.getRut(), u));
+            return cronometrar("interacciones", () -> {
+                List<ResumenInteracciones> xs = new ArrayList<>();
+                repoInteracciones.cargarResumenes(
+                        rut -> porRut.containsKey(rut) ? porRut.get(rut) : dataStore.getUsuarioPorRut(rut),
+                        (id, cantidad, ultima) -> xs.add(new ResumenInteracciones(id, cantidad, ultima)));
+                return xs;
+            });
+        }, ejecutor);
+
+        return CompletableFuture.allOf(archivos, programas, convenios, usuarios, postulaciones, resumenes)
+                .thenRun(() -> cronometrar("enlazar", () -> {
+                    aplicarCarga(programas.join(), convenios.join(), usuarios.join(), postulaciones.join(), resumenes.join());
+                    return null;
+                }))
+                .whenComplete((r, e) -> {
+                    ejecutor.shutdown();
+                    if (e != null) {
+                        Throwable causa = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        System.err.println("Error al cargar datos desde la base de datos: " + causa.getMessage());
+                    }
+                    System.out.println("Datos recargados. Usuarios: " + dataStore.getUsuarios().size() + ", Convenios: " + dataStore.getConvenios().size()
+                            + ", Postulaciones: " + dataStore.getPostulaciones().size()
+                            + " (" + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) + " ms)");
+                });
+    }
+
+    private void aplicarCarga(List<Programa> programas, List<Convenio> convenios, List<Usuario> usuarios,
+                              List<Postulacion> postulaciones, List<ResumenInteracciones> resumenes) {
+        for (Programa p : programas) {
+            Programa anterior = dataStore.getProgramaPorId(p.getId());
+            if (anterior != null) {
+                anterior.getConvenios().forEach(p::agregarConvenio);
+            }
+            dataStore.addPrograma(p);
+        }
+        for (Convenio c : convenios) {
+            dataStore.addConvenio(c);
+            Programa p = dataStore.getProgramaPorId(c.getIdPrograma());
+            if (p != null) {
+                dataStore.asociarConvenio(p, c);
+            }
+        }
+        usuarios.forEach(dataStore::addUsuario);
+        postulaciones.forEach(this::registrarPostulacion);
+        for (ResumenInteracciones r : resumenes) {
+            Postulacion p = dataStore.getPostulacionPorId(r.idPostulacion);
+            if (p != null) p.setResumenInteracciones(r.cantidad, r.ultima);
+        }
+    }
 
-        if (usuario == null) {
-            return new ResultadoLogin("Usuario no encontrado.");
+    @FunctionalInterface
+    private interface Fase<T> {
+        T ejecutar() throws Exception;
+    }
+
+    private <T> CompletableFuture<T> leerAsync(String nombre, CompletableFuture<Void> previa, Fase<T> lectura,
+                                               ExecutorService ejecutor) {
+        return previa.thenApplyAsync(x -> cronometrar(nombre, lectura), ejecutor);
+    }
+
+    private <T> T cronometrar(String nombre, Fase<T> fase) {
+        long t0 = System.nanoTime();
+        try {
+            return fase.ejecutar();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        } finally {
+            long nanos = System.nanoTime() - t0;
+            metricas.temporizador("carga." + nombre).registrar(nanos);
+            System.out.println("[inicio] " + nombre + ": " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms");
         }
+    }
 
-        if (usuario.isBloqueado()) {
-            return new ResultadoLogin("Tu cuenta está bloqueada debido a múltiples intentos fallidos.");
+    private static class ResumenInteracciones {
+        final String idPostulacion;
+        final int cantidad;
+        final Interaccion ultima;
+
+        ResumenInteracciones(String idPostulacion, int cantidad, Interaccion ultima) {
+            this.idPostulacion = idPostulacion;
+            this.cantidad = cantidad;
+            this.ultima = ultima;
         }
+    }
+
+    /**
+     * Guarda las entidades modificadas desde el último guardado y espera, como máximo
+     * {@code sia.cierre.segundos} segundos, a que la cola de escritura las confirme.
+     * Las postulaciones nuevas, los cambios de estado y las interacciones ya se guardan al ocurrir.
+     */
+    public void guardarDatos() {
+        long t0 = System.nanoTime();
+        try {
+            int filas = guardado.guardarPendientes();
+            if (!colaEscritura.vaciar(SEGUNDOS_MAX_ESPERA, TimeUnit.SECONDS)) {
+                System.err.println("No se alcanzaron a guardar todos los cambios pendientes (" + colaEscritura.getPendientes() + ").");
+            } else if (filas > 0) {
+                System.out.println("Cambios guardados: " + filas + " filas.");
+            }
+        } finally {
+            tiempoGuardado.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * Inicia el guardado periódico de las entidades modificadas.
+     * @param segundos Intervalo entre guardados.
+     */
+    public void iniciarGuardadoPeriodico(long segundos) {
+        guardado.iniciar(segundos, TimeUnit.SECONDS);
+    }
 
-        if (usuario.validarCredenciales(pass)) {
-            usuario.setIntentosFallidos(0);
-            this.usuarioActual = usuario;
-            return new ResultadoLogin(usuario);
+    /**
+     * Encola la escritura de una entidad modificada, siempre que siga siendo la que está
+     * en el almacén (los datos de prueba pueden haber sido reemplazados por los de la base).
+     */
+    private boolean guardarEntidad(EntidadRastreable e) {
+        if (e instanceof Usuario) {
+            Usuario u = (Usuario) e;
+            if (dataStore.getUsuarioPorRut(u.getRut()) != u) return false;
+            repoUsuarios.guardar(u);
+        } else if (e instanceof Postulacion) {
+            Postulacion p = (Postulacion) e;
+            if (dataStore.getPostulacionPorId(p.getId()) != p) return false;
+            repoPostulaciones.guardar(p);
+        } else if (e instanceof Convenio) {
+            Convenio c = (Convenio) e;
+            if (dataStore.getConvenioPorId(c.getId()) != c) return false;
+            repoConvenios.guardar(c);
+        } else if (e instanceof Programa) {
+            Programa p = (Programa) e;
+            if (dataStore.getProgramaPorId(p.getId()) != p) return false;
+            repoProgramas.guardar(p);
         } else {
-            usuario.setIntentosFallidos(usuario.getIntentosFallidos() + 1);
-            String mensaje = "Contraseña incorrecta. Intentos restantes: " + (3 - usuario.getIntentosFallidos());
-            if (usuario.getIntentosFallidos() >= 3) {
-                usuario.setBloqueado(true);
-                mensaje += "\nTu cuenta ha sido bloqueada. Contacta a un administrador.";
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Bus donde el gestor publica los cambios del dominio (postulaciones creadas, cambios de
+     * estado, interacciones y convenios actualizados) para las vistas, menús y reportes.
+     */
+    public BusEventos getEventos() { return eventos; }
+
+    /**
+     * Métricas de las operaciones del gestor, la carga y la escritura en la base.
+     */
+    public Metricas getMetricas() { return metricas; }
+
+    /**
+     * Aplica las escrituras pendientes y libera las conexiones a la base.
+     */
+    public void cerrar() {
+        metricas.close();
+        eventos.close();
+        controlAccesos.close();
+        guardado.close();
+        colaEscritura.close();
+        conexion.close();
+    }
+
+    // ===== Sesión y usuarios =====
+
+    /**
+     * Devuelve el bloqueo de la franja que corresponde a un RUT. Dos RUT distintos pueden
+     * compartir franja, pero un mismo RUT siempre usa la misma.
+     */
+    private Object bloqueoDe(String rut) {
+        return bloqueos[(rut.hashCode() & 0x7fffffff) % bloqueos.length];
+    }
+
+    public ResultadoLogin iniciarSesion(String rut, String pass) {
+        long t0 = System.nanoTime();
+        try {
+            Usuario usuario = dataStore.getUsuarioPorRut(rut);
+
+            if (usuario == null) {
+                return new ResultadoLogin("Usuario no encontrado.");
+            }
+
+            if (controlAccesos.estaBloqueado(usuario)) {
+                return new ResultadoLogin("Tu cuenta está bloqueada debido a múltiples intentos fallidos. Intenta nuevamente en "
+                        + controlAccesos.minutosRestantes(rut) + " minutos.");
+            }
+
+            if (usuario.validarCredenciales(pass)) {
+                controlAccesos.registrarExito(rut);
+                loginsExitosos.increment();
+                Sesion sesion = new Sesion(usuario);
+                sesiones.put(sesion.getId(), sesion);
+                return new ResultadoLogin(sesion);
             }
-            return new ResultadoLogin(mensaje);
+
+            int restantes = controlAccesos.registrarFallo(usuario);
+            loginsFallidos.increment();
+            if (restantes > 0) {
+                return new ResultadoLogin("Contraseña incorrecta. Intentos restantes: " + restantes);
+            }
+            return new ResultadoLogin("Contraseña incorrecta.\nTu cuenta ha sido bloqueada por "
+                    + MINUTOS_BLOQUEO + " minutos.");
+        } finally {
+            tiempoLogin.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * Guarda solo la decisión de bloqueo; los intentos fallidos los lleva {@link ControlAccesos}.
+     */
+    private void cambiarBloqueo(Usuario u, boolean bloqueado) {
+        u.registrarBloqueo(bloqueado);
+        repoUsuarios.actualizarBloqueo(u.getRut(), bloqueado);
+    }
+
+    public void cerrarSesion(Sesion sesion) {
+        if (sesion != null) {
+            sesiones.remove(sesion.getId());
         }
     }
 
-    public void cerrarSesion() {
-        this.usuarioActual = null;
+    public Optional<Sesion> getSesion(String idSesion) {
+        return Optional.ofNullable(sesiones.get(idSesion));
     }
 
+    public int getCantidadSesionesActivas() { return sesiones.size(); }
+
+    /**
+     * Registra un nuevo estudiante.
+     * @throws IllegalArgumentException si ya existe un usuario con ese RUT.
+     */
     public void registrarEstudiante(String rut, String nombre, String email, String pass, String carrera, int semestres, double promedio) {
-        Estudiante nuevoEstudiante = new Estudiante(rut, nombre, email, pass, carrera, promedio, semestres);
-        usuarios.put(rut, nuevoEstudiante);
+        long t0 = System.nanoTime();
+        try {
+            Estudiante nuevoEstudiante = new Estudiante(rut, nombre, email, pass, carrera, promedio, semestres);
+            if (!dataStore.addUsuarioSiNoExiste(nuevoEstudiante)) {
+                throw new IllegalArgumentException("Ya existe un usuario con el RUT " + rut);
+            }
+            repoUsuarios.guardar(nuevoEstudiante);
+        } finally {
+            tiempoRegistro.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * Actualiza el promedio y los semestres cursados de un estudiante (por ejemplo, al cerrar
+     * un semestre) y reubica sus postulaciones en los rankings de cada convenio.
+     * @throws IllegalArgumentException si el RUT no es de un estudiante o los valores están fuera de rango.
+     */
+    public void actualizarDatosAcademicos(String rut, double promedio, int semestres) {
+        long t0 = System.nanoTime();
+        try {
+            Usuario u = dataStore.getUsuarioPorRut(rut);
+            if (!(u instanceof Estudiante)) {
+                throw new IllegalArgumentException("No existe un estudiante con el RUT " + rut);
+            }
+            if (promedio < 1.0 || promedio > 7.0 || semestres < 0) {
+                throw new IllegalArgumentException("Promedio (1.0-7.0) o semestres fuera de rango");
+            }
+            Estudiante e = (Estudiante) u;
+            synchronized (bloqueoDe(rut)) {
+                dataStore.actualizarDatosAcademicos(e, promedio, semestres);
+            }
+            repoUsuarios.guardar(e);
+        } finally {
+            tiempoDatosAcademicos.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * Cambia la carrera de un estudiante manteniendo al día el índice que usan los avisos de
+     * convenios nuevos y la búsqueda de estudiantes que califican.
+     * @throws IllegalArgumentException si el RUT no es de un estudiante o la carrera está vacía.
+     */
+    public void actualizarCarrera(String rut, String carrera) {
+        long t0 = System.nanoTime();
+        try {
+            Usuario u = dataStore.getUsuarioPorRut(rut);
+            if (!(u instanceof Estudiante)) {
+                throw new IllegalArgumentException("No existe un estudiante con el RUT " + rut);
+            }
+            if (carrera == null || carrera.trim().isEmpty()) {
+                throw new IllegalArgumentException("La carrera no puede estar vacía");
+            }
+            Estudiante e = (Estudiante) u;
+            synchronized (bloqueoDe(rut)) {
+                dataStore.actualizarCarrera(e, carrera.trim());
+            }
+            repoUsuarios.guardar(e);
+        } finally {
+            tiempoCarrera.registrarDesde(t0);
+        }
     }
 
     public boolean existeUsuario(String rut) {
-        return usuarios.containsKey(rut);
+        return dataStore.getUsuarioPorRut(rut) != null;
     }
 
     public List<Programa> getProgramasVigentes() {
-        return programas.values().stream()
+        return dataStore.getProgramas().stream()
                 .filter(Programa::estaVigente)
                 .collect(Collectors.toList());
     }
 
     public Optional<Convenio> buscarConvenio(String id) {
-        return Optional.ofNullable(convenios.get(id));
+        return Optional.ofNullable(dataStore.getConvenioPorId(id));
+    }
+
+    /**
+     * Busca en el catálogo por universidad, país, área o requisitos. Todos los términos
+     * deben coincidir; se ignoran mayúsculas y tildes, se aceptan prefijos y un error de tipeo.
+     */
+    public List<Convenio> buscarConvenios(String consulta) {
+        long t0 = System.nanoTime();
+        try {
+            return dataStore.buscarConvenios(consulta);
+        } finally {
+            tiempoBusquedaConvenios.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * Cambia los cupos de un convenio.
+     * @throws IllegalArgumentException si el convenio no existe o los cupos son negativos.
+     */
+    public void asignarCupos(String idConvenio, int cupos) {
+        long t0 = System.nanoTime();
+        try {
+            Convenio c = dataStore.getConvenioPorId(idConvenio);
+            if (c == null) throw new IllegalArgumentException("No existe el convenio " + idConvenio);
+            if (cupos < 0) throw new IllegalArgumentException("Los cupos no pueden ser negativos");
+            c.setCupos(cupos);
+            repoConvenios.guardar(c);
+            eventos.publicar(EventoDominio.convenioActualizado(c));
+        } finally {
+            tiempoAsignarCupos.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * Los mejores {@code n} postulantes de un convenio (promedio, luego semestres), entre sus
+     * postulaciones abiertas. El ranking se mantiene al día con cada cambio, así que la consulta
+     * solo recorre los {@code n} primeros.
+     */
+    public List<Postulacion> getRankingConvenio(String idConvenio, int n) {
+        long t0 = System.nanoTime();
+        try {
+            return dataStore.getRankingConvenio(idConvenio, n);
+        } finally {
+            tiempoRanking.registrarDesde(t0);
+        }
+    }
+
+    public int contarPostulantesEnRanking(String idConvenio) {
+        return dataStore.contarPostulantesEnRanking(idConvenio);
+    }
+
+    // ===== Elegibilidad =====
+
+    /**
+     * Requisitos del convenio compilados desde su texto; ver {@link reglas.CompiladorRequisitos}.
+     */
+    public Requisitos getRequisitos(Convenio convenio) {
+        return reglas.requisitosDe(convenio);
+    }
+
+    /**
+     * Los estudiantes que cumplen los requisitos académicos del convenio. Usa el índice de
+     * rangos del DataStore (por carrera, semestres y promedio), así que cuesta lo que el
+     * resultado y no recorre a todos los estudiantes.
+     */
+    public List<Estudiante> getEstudiantesQueCalifican(Convenio convenio) {
+        long t0 = System.nanoTime();
+        try {
+            Requisitos r = reglas.requisitosDe(convenio);
+            if (r.esImposible()) return Collections.emptyList();
+            List<Estudiante> xs = new ArrayList<>();
+            if (r.getCarreras() == null) {
+                dataStore.buscarEstudiantes(null, r.getPromedioMinimo(), r.getSemestresMinimo(), xs);
+            } else {
+                for (String carrera : r.getCarreras()) {
+                    dataStore.buscarEstudiantes(carrera, r.getPromedioMinimo(), r.getSemestresMinimo(), xs);
+                }
+                // Una carrera puede ser prefijo de otra ("ingenieria" e "ingenieria civil")
+                if (r.getCarreras().size() > 1) xs = new ArrayList<>(new LinkedHashSet<>(xs));
+            }
+            // El índice resuelve los mínimos; los máximos, si hay, se revisan sobre el resultado
+            if (r.getPromedioMaximo() != Double.POSITIVE_INFINITY || r.getSemestresMaximo() != Integer.MAX_VALUE) {
+                xs.removeIf(e -> !r.cumple(e));
+            }
+            return xs;
+        } finally {
+            tiempoEstudiantesQueCalifican.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * Estudiantes con promedio >= {@code promedioMinimo} y semestres >= {@code semestresMinimo},
+     * de la carrera indicada (o de todas si es null), sin recorrer a todos los estudiantes.
+     */
+    public List<Estudiante> buscarEstudiantes(String carrera, double promedioMinimo, int semestresMinimo) {
+        return dataStore.buscarEstudiantes(carrera, promedioMinimo, semestresMinimo);
     }
 
+    public boolean esElegible(Estudiante estudiante, Convenio convenio) {
+        return reglas.esElegible(estudiante, convenio);
+    }
+
+    /**
+     * Los convenios de la lista para los que califica el estudiante.
+     */
+    public List<Convenio> getConveniosElegibles(Estudiante estudiante, Collection<Convenio> convenios) {
+        return reglas.elegibles(estudiante, convenios);
+    }
+
+    /**
+     * Elegibilidad de todos los estudiantes frente a todos los convenios, en paralelo;
+     * ver {@link CatalogoReglas#evaluar}.
+     */
+    public BitSet[] evaluarElegibilidad(List<Estudiante> estudiantes, List<Convenio> convenios) {
+        return reglas.evaluar(estudiantes, convenios);
+    }
+
+    // ===== Postulaciones =====
+
+    /**
+     * Crea una postulación POR_REVISAR si el estudiante cumple los requisitos académicos del convenio.
+     * @return false si ya postuló a ese convenio.
+     * @throws IllegalArgumentException si no cumple los requisitos (el mensaje dice cuáles).
+     */
     public boolean postular(Estudiante estudiante, Convenio convenio) {
-        boolean yaExiste = estudiante.getPostulaciones().stream()
-                .anyMatch(p -> p.getConvenioSeleccionado().getId().equals(convenio.getId()));
-        if (!yaExiste) {
-            String idPostulacion = "P" + nextPostulacionId++;
-            Postulacion nuevaPostulacion = new Postulacion(idPostulacion, convenio, LocalDate.now(), EstadoPostulacion.POR_REVISAR);
-            estudiante.postular(nuevaPostulacion);
-            return true;
+        long t0 = System.nanoTime();
+        try {
+            Requisitos requisitos = reglas.requisitosDe(convenio);
+            if (!requisitos.cumple(estudiante)) {
+                postulacionesNoElegibles.increment();
+                throw new IllegalArgumentException("No cumples los requisitos del convenio: "
+                        + String.join(", ", requisitos.incumplidos(estudiante)));
+            }
+            synchronized (bloqueoDe(estudiante.getRut())) {
+                boolean yaExiste = dataStore.getPostulacionesPorRut(estudiante.getRut()).stream()
+                        .anyMatch(p -> p.getIdConvenio().equals(convenio.getId()));
+                if (yaExiste) {
+                    return false;
+                }
+                String idPostulacion = "P" + nextPostulacionId.getAndIncrement();
+                Postulacion nuevaPostulacion = new Postulacion(idPostulacion, estudiante.getRut(), convenio.getId(), LocalDate.now(), EstadoPostulacion.POR_REVISAR);
+                registrarPostulacion(nuevaPostulacion);
+                repoPostulaciones.guardar(nuevaPostulacion);
+                eventos.publicar(EventoDominio.postulacionCreada(nuevaPostulacion));
+                postulacionesCreadas.increment();
+                return true;
+            }
+        } finally {
+            tiempoPostular.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * Vincula una postulación con su convenio y su estudiante, y la registra en el DataStore.
+     */
+    private void registrarPostulacion(Postulacion p) {
+        p.setConvenioSeleccionado(dataStore.getConvenioPorId(p.getIdConvenio()));
+        Usuario u = dataStore.getUsuarioPorRut(p.getRutEstudiante());
+        if (u instanceof Estudiante) {
+            List<Postulacion> propias = ((Estudiante) u).getPostulaciones();
+            propias.removeIf(x -> x.getId().equals(p.getId()));
+            propias.add(p);
+        }
+        dataStore.addPostulacion(p);
+        actualizarSiguienteId(p.getId());
+    }
+
+    private void actualizarSiguienteId(String idPostulacion) {
+        if (idPostulacion == null || !idPostulacion.startsWith("P")) return;
+        try {
+            int n = Integer.parseInt(idPostulacion.substring(1));
+            nextPostulacionId.accumulateAndGet(n + 1, Math::max);
+        } catch (NumberFormatException ignored) {
+            // IDs con otro formato no afectan el correlativo
+        }
+    }
+
+    /**
+     * Cambia el estado de una postulación manteniendo los índices del DataStore. Igual que el
+     * cambio masivo, respeta {@link EstadoPostulacion#puedeCambiarA}: una postulación final no se
+     * reabre y una ACEPTADA solo puede abandonarse.
+     * @return true si cambió; false si ya tenía ese estado o la transición no está permitida.
+     */
+    public boolean cambiarEstadoPostulacion(Postulacion p, EstadoPostulacion nuevoEstado) {
+        long t0 = System.nanoTime();
+        try {
+            synchronized (bloqueoDe(p.getRutEstudiante())) {
+                EstadoPostulacion anterior = p.getEstado();
+                if (!anterior.puedeCambiarA(nuevoEstado)) return false;
+                dataStore.cambiarEstado(p, nuevoEstado);
+                repoPostulaciones.actualizarEstado(p);
+                eventos.publicar(EventoDominio.estadoCambiado(p, anterior, nuevoEstado));
+                cambiosEstado.increment();
+                return true;
+            }
+        } finally {
+            tiempoCambioEstado.registrarDesde(t0);
         }
-        return false;
     }
 
     public void agregarInteraccionAPostulacion(String idPostulacion, Interaccion interaccion) {
-        for (Usuario user : usuarios.values()) {
-            if (user instanceof Estudiante) {
-                Estudiante est = (Estudiante) user;
-                Optional<Postulacion> pOpt = est.getPostulaciones().stream()
-                        .filter(p -> p.getId().equals(idPostulacion))
-                        .findFirst();
-                if (pOpt.isPresent()) {
-                    pOpt.get().agregarInteraccion(interaccion);
-                    return;
-                }
+        long t0 = System.nanoTime();
+        try {
+            Postulacion p = dataStore.getPostulacionPorId(idPostulacion);
+            if (p != null) {
+                p.agregarInteraccion(interaccion);
+                repoInteracciones.insertar(idPostulacion, interaccion);
+                eventos.publicar(EventoDominio.interaccionAgregada(p, interaccion));
+                interaccionesAgregadas.increment();
             }
+        } finally {
+            tiempoInteraccion.registrarDesde(t0);
         }
     }
 
     /**
-     * Obtiene una lista de todas las postulaciones de todos los estudiantes.
-     * @return Una lista que contiene todas las postulaciones.
+     * Obtiene una página del historial de interacciones de una postulación, en orden cronológico.
+     * Si esa postulación tiene interacciones recién agregadas que aún no llegan a la base, antes
+     * de consultar espera a que se guarden (no espera por las escrituras de otras postulaciones).
+     * @param despuesDe Última interacción de la página anterior, o null para la primera página.
+     * @param limite Tamaño máximo de la página.
+     * @return La página (vacía si no hay más o si falló la lectura).
      */
-    public List<Postulacion> getTodasLasPostulaciones() {
-        List<Postulacion> todasLasPostulaciones = new ArrayList<>();
-        // Itera sobre cada usuario en el mapa de usuarios
-        for (Usuario user : usuarios.values()) {
-            // Si el usuario es un Estudiante, obtiene sus postulaciones
-            if (user instanceof Estudiante) {
-                Estudiante estudiante = (Estudiante) user;
-                todasLasPostulaciones.addAll(estudiante.getPostulaciones());
+    public List<Interaccion> getPaginaInteracciones(String idPostulacion, Interaccion despuesDe, int limite) {
+        long t0 = System.nanoTime();
+        try {
+            if (!repoInteracciones.esperarInserciones(idPostulacion, SEGUNDOS_MAX_ESPERA, TimeUnit.SECONDS)) {
+                System.err.println("El historial de " + idPostulacion + " puede no incluir las interacciones más recientes:"
+                        + " no se guardaron en " + SEGUNDOS_MAX_ESPERA + " s");
+            }
+            try {
+                return repoInteracciones.cargarPagina(idPostulacion, despuesDe, limite, dataStore::getUsuarioPorRut);
+            } catch (SQLException e) {
+                System.err.println("Error al leer el historial de " + idPostulacion + ": " + e.getMessage());
+                return Collections.emptyList();
             }
+        } finally {
+            tiempoHistorial.registrarDesde(t0);
         }
-        return todasLasPostulaciones;
+    }
+
+    /**
+     * Obtiene todas las postulaciones de todos los estudiantes.
+     * @return Una vista de solo lectura con todas las postulaciones.
+     */
+    public Collection<Postulacion> getTodasLasPostulaciones() {
+        return dataStore.getPostulaciones();
     }
 
     /**
      * Obtiene una lista de postulaciones filtradas por estado.
      * @param estado El estado por el que se desea filtrar.
-     * @return Una lista de postulaciones que coinciden con el estado.
+     * @return Una vista de solo lectura con las postulaciones que coinciden con el estado.
      */
-    public List<Postulacion> getPostulacionesPorEstado(EstadoPostulacion estado) {
-        return getTodasLasPostulaciones().stream()
-                .filter(p -> p.getEstado().equals(estado))
-                .collect(Collectors.toList());
+    public Collection<Postulacion> getPostulacionesPorEstado(EstadoPostulacion estado) {
+        long t0 = System.nanoTime();
+        try {
+            return dataStore.getPostulacionesPorEstado(estado);
+        } finally {
+            tiempoPostulacionesPorEstado.registrarDesde(t0);
+        }
     }
 
     /**
      * Obtiene una lista de postulaciones asociadas a un convenio específico.
      * @param convenioId El ID del convenio.
-     * @return Una lista de postulaciones asociadas a ese convenio.
+     * @return Una vista de solo lectura con las postulaciones asociadas a ese convenio.
      */
-    public List<Postulacion> getPostulacionesPorConvenio(String convenioId) {
-        return getTodasLasPostulaciones().stream()
-                .filter(p -> p.getConvenioSeleccionado().getId().equalsIgnoreCase(convenioId))
-                .collect(Collectors.toList());
+    public Collection<Postulacion> getPostulacionesPorConvenio(String convenioId) {
+        long t0 = System.nanoTime();
+        try {
+            return dataStore.getPostulacionesPorConvenio(convenioId);
+        } finally {
+            tiempoPostulacionesPorConvenio.registrarDesde(t0);
+        }
     }
 
-    public Programa getProgramaDeConvenio(Convenio convenio) {
-        for (Programa programa : programas.values()) {
-            if (programa.getConveniosVigentes().contains(convenio)) {
-                return programa;
+    /**
+     * Consulta genérica de postulaciones usada por los menús.
+     * @param filtro "todos", "rut", "estado" o "convenio".
+     * @param valor El valor a buscar (se ignora con "todos").
+     * @return Las postulaciones que cumplen el filtro.
+     */
+    public Collection<Postulacion> getPostulaciones(String filtro, String valor) {
+        long t0 = System.nanoTime();
+        try {
+            switch (filtro.toLowerCase()) {
+                case "rut":
+                    return dataStore.getPostulacionesPorRut(valor);
+                case "estado":
+                    return getPostulacionesPorEstado(EstadoPostulacion.valueOf(valor.toUpperCase()));
+                case "convenio":
+                    return getPostulacionesPorConvenio(valor);
+                default:
+                    return getTodasLasPostulaciones();
             }
+        } finally {
+            tiempoConsultaPostulaciones.registrarDesde(t0);
+        }
+    }
+
+    public Programa getProgramaDeConvenio(Convenio convenio) {
+        long t0 = System.nanoTime();
+        try {
+            if (convenio == null) return null;
+            Programa programa = dataStore.getProgramaDeConvenio(convenio.getId());
+            return (programa != null) ? programa : dataStore.getProgramaPorId(convenio.getIdPrograma());
+        } finally {
+            tiempoProgramaDeConvenio.registrarDesde(t0);
         }
-        return null;
     }
 
+    /**
+     * Busca al estudiante dueño de una postulación usando el índice por ID
+     * y el RUT que la propia postulación guarda.
+     */
     public Estudiante buscarEstudiantePorPostulacion(String idPostulacion) {
-        for (Usuario user : usuarios.values()) {
-            if (user instanceof Estudiante) {
-                Estudiante estudiante = (Estudiante) user;
-                boolean postulacionEncontrada = estudiante.getPostulaciones().stream()
-                        .anyMatch(p -> p.getId().equals(idPostulacion));
-                if (postulacionEncontrada) {
-                    return estudiante;
+        long t0 = System.nanoTime();
+        try {
+            Postulacion p = dataStore.getPostulacionPorId(idPostulacion);
+            if (p == null) return null;
+            Usuario u = dataStore.getUsuarioPorRut(p.getRutEstudiante());
+            return (u instanceof Estudiante) ? (Estudiante) u : null;
+        } finally {
+            tiempoEstudiantePorPostulacion.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * Deja ABANDONADA las demás postulaciones abiertas del estudiante cuya postulación fue aceptada.
+     * Los cambios se guardan juntos, en una sola transacción.
+     */
+    public void descartarOtrasPostulaciones(Estudiante estudiante, String idPostulacionAceptada) {
+        long t0 = System.nanoTime();
+        try {
+            List<Postulacion> cambiadas = new ArrayList<>();
+            synchronized (bloqueoDe(estudiante.getRut())) {
+                descartarOtras(estudiante.getRut(), idPostulacionAceptada, cambiadas);
+            }
+            repoPostulaciones.actualizarEstados(cambiadas);
+        } finally {
+            tiempoDescartar.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * Cambia el estado de muchas postulaciones a la vez (las decisiones de un funcionario sobre un convenio).
+     * <ul>
+     *   <li>Cada transición se valida con {@link EstadoPostulacion#puedeCambiarA}; las que no corresponden
+     *   se informan en el resultado y se omiten.</li>
+     *   <li>Al aceptar, un estudiante no puede quedar con dos postulaciones aceptadas, y sus demás
+     *   postulaciones abiertas quedan ABANDONADA (una sola vez por estudiante).</li>
+     *   <li>Se toma el bloqueo de cada estudiante una vez, y todos los cambios se guardan en una sola transacción.</li>
+     * </ul>
+     * @param idsPostulacion IDs de las postulaciones seleccionadas.
+     * @param destino Estado al que deben pasar.
+     * @return El resumen, con el motivo de cada postulación rechazada.
+     */
+    public ResultadoCambioMasivo cambiarEstadoMasivo(Collection<String> idsPostulacion, EstadoPostulacion destino) {
+        long t0 = System.nanoTime();
+        try {
+            List<String> rechazos = new ArrayList<>();
+            Map<String, List<Postulacion>> porEstudiante = new LinkedHashMap<>();
+            Set<String> solicitadas = new LinkedHashSet<>(idsPostulacion);
+            for (String id : solicitadas) {
+                Postulacion p = dataStore.getPostulacionPorId(id);
+                if (p == null) {
+                    rechazos.add(id + ": no existe");
+                    continue;
                 }
+                porEstudiante.computeIfAbsent(p.getRutEstudiante(), k -> new ArrayList<>()).add(p);
             }
+
+            List<Postulacion> cambiadas = new ArrayList<>();
+            int seleccionadasCambiadas = 0;
+            int sinCambios = 0;
+            int descartadas = 0;
+            for (Map.Entry<String, List<Postulacion>> e : porEstudiante.entrySet()) {
+                String rut = e.getKey();
+                synchronized (bloqueoDe(rut)) {
+                    Postulacion aceptada = null;
+                    for (Postulacion p : e.getValue()) {
+                        EstadoPostulacion actual = p.getEstado();
+                        if (actual == destino) {
+                            sinCambios++;
+                            continue;
+                        }
+                        if (!actual.puedeCambiarA(destino)) {
+                            rechazos.add(p.getId() + ": no puede pasar de " + actual + " a " + destino);
+                            continue;
+                        }
+                        if (destino == EstadoPostulacion.ACEPTADA) {
+                            Postulacion otra = buscarAceptada(rut, p);
+                            if (otra != null) {
+                                rechazos.add(p.getId() + ": el estudiante ya tiene aceptada la postulación " + otra.getId());
+                                continue;
+                            }
+                            aceptada = p;
+                        }
+                        aplicarCambio(p, destino, cambiadas);
+                        seleccionadasCambiadas++;
+                    }
+                    if (aceptada != null) {
+                        descartadas += descartarOtras(rut, aceptada.getId(), cambiadas);
+                    }
+                }
+            }
+            repoPostulaciones.actualizarEstados(cambiadas);
+            return new ResultadoCambioMasivo(destino, solicitadas.size(), seleccionadasCambiadas, sinCambios, descartadas, rechazos);
+        } finally {
+            tiempoCambioMasivo.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * Calcula una asignación estable de cupos para todas las postulaciones abiertas; ver
+     * {@link MotorAsignacion}. No cambia nada: la propuesta se aplica con {@link #aplicarAsignacion}.
+     */
+    public PropuestaAsignacion proponerAsignacion() {
+        long t0 = System.nanoTime();
+        try {
+            return new MotorAsignacion(dataStore).proponer();
+        } finally {
+            tiempoAsignacion.registrarDesde(t0);
+        }
+    }
+
+    /**
+     * Acepta las postulaciones de la propuesta con un cambio masivo (y descarta las demás de
+     * cada estudiante). Si algo cambió desde que se calculó, esas postulaciones se informan como rechazos.
+     */
+    public ResultadoCambioMasivo aplicarAsignacion(PropuestaAsignacion propuesta) {
+        List<String> ids = new ArrayList<>(propuesta.getAsignadas().size());
+        for (Postulacion p : propuesta.getAsignadas()) ids.add(p.getId());
+        return cambiarEstadoMasivo(ids, EstadoPostulacion.ACEPTADA);
+    }
+
+    private Postulacion buscarAceptada(String rut, Postulacion excepto) {
+        for (Postulacion p : dataStore.getPostulacionesPorRut(rut)) {
+            if (p != excepto && p.getEstado() == EstadoPostulacion.ACEPTADA) return p;
         }
         return null;
     }
 
-    public void descartarOtrasPostulaciones(Estudiante estudiante, String idPostulacionAceptada) {
-        estudiante.getPostulaciones().stream()
-                .filter(p -> !p.getId().equals(idPostulacionAceptada))
-                .forEach(p -> p.setEstado(EstadoPostulacion.ABANDONADA));
+    /**
+     * Pasa a ABANDONADA las postulaciones del estudiante que aún pueden cambiar, salvo la aceptada.
+     * Debe llamarse con el bloqueo del estudiante tomado; no guarda (los cambios quedan en {@code cambiadas}).
+     * @return Cuántas postulaciones se descartaron.
+     */
+    private int descartarOtras(String rut, String idAceptada, List<Postulacion> cambiadas) {
+        int n = 0;
+        for (Postulacion p : dataStore.getPostulacionesPorRut(rut)) {
+            if (!p.getId().equals(idAceptada) && p.getEstado().puedeCambiarA(EstadoPostulacion.ABANDONADA)) {
+                aplicarCambio(p, EstadoPostulacion.ABANDONADA, cambiadas);
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Cambia el estado en memoria y lo publica; guardarlo queda a cargo de quien llama.
+     */
+    private void aplicarCambio(Postulacion p, EstadoPostulacion nuevoEstado, List<Postulacion> cambiadas) {
+        EstadoPostulacion anterior = p.getEstado();
+        dataStore.cambiarEstado(p, nuevoEstado);
+        cambiadas.add(p);
+        eventos.publicar(EventoDominio.estadoCambiado(p, anterior, nuevoEstado));
+        cambiosEstado.increment();
     }
 
-    public Usuario getUsuarioActual() { return usuarioActual; }
-    public Map<String, Programa> getProgramas() { return programas; }
-}
\ No newline at end of file
+    public Collection<Programa> getProgramas() { return dataStore.getProgramas(); }
+
+    /**
+     * Conteos de postulaciones por estado, país, área, programa y convenio, mantenidos al día
+     * con cada cambio. Leerlos no recorre las postulaciones; ver {@link AgregadosPostulaciones}.
+     */
+    public AgregadosPostulaciones getAgregados() { return dataStore.getAgregados(); }
+
+    /**
+     * Recalcula los agregados desde cero (en paralelo) y los compara con los mantenidos en línea.
+     * Los cambios que ocurran mientras tanto pueden aparecer como diferencias pasajeras.
+     * @return Las diferencias encontradas, vacía si coinciden.
+     */
+    public List<String> verificarAgregados() {
+        long t0 = System.nanoTime();
+        try {
+            return dataStore.getAgregados().diferencias(dataStore.recalcularAgregados());
+        } finally {
+            tiempoVerificarAgregados.registrarDesde(t0);
+        }
+    }
+}
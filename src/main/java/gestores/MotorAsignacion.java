@@ -0,0 +1,273 @@
+package gestores;
+
+import enums.EstadoPostulacion;
+import modelo.Convenio;
+import modelo.Estudiante;
+import modelo.Postulacion;
+import modelo.Usuario;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * Asignación automática de cupos con aceptación diferida (Gale–Shapley con capacidades).
+ *
+ * Los estudiantes "proponen" a sus convenios en orden de preferencia; cada convenio retiene
+ * a los mejores según su ranking (promedio, luego semestres, como {@code RankingPostulantes})
+ * hasta llenar sus cupos y suelta al peor cuando llega alguien mejor, que pasa a su siguiente
+ * opción. El resultado es estable: ningún estudiante y convenio preferirían quedar juntos
+ * antes que con lo asignado.
+ *
+ * No hay un orden de preferencia explícito, así que se usa el orden en que el estudiante
+ * postuló (la primera postulación es su primera opción). Quien ya tiene una postulación
+ * ACEPTADA queda fijo y ocupa su cupo; las rechazadas y abandonadas no participan.
+ *
+ * Trabaja sobre arreglos de enteros. El orden de preferencias de cada estudiante y el
+ * ranking de cada convenio son independientes entre sí y se calculan en paralelo; la
+ * aceptación diferida corre después en un solo hilo, en O(P log cupos).
+ */
+final class MotorAsignacion {
+    private final DataStore dataStore;
+
+    // Foto de las postulaciones que participan (índice = posición en los arreglos)
+    private Postulacion[] postulaciones;
+    private int[] alumnoDe;
+    private int[] convenioDe;
+    private double[] promedios;
+    private int[] semestres;
+    private int n;
+
+    // Listas por estudiante (preferencias) y por convenio (ranking), en formato CSR
+    private int[] inicioAlumno;
+    private int[] preferencias;
+    private int[] inicioConvenio;
+    private int[] puestoEnConvenio;
+
+    MotorAsignacion(DataStore dataStore) {
+        this.dataStore = dataStore;
+    }
+
+    PropuestaAsignacion proponer() {
+        long t0 = System.nanoTime();
+
+        // Los estudiantes con una postulación aceptada quedan fijos y ocupan su cupo
+        Map<String, Integer> indiceConvenio = new HashMap<>();
+        List<String> idsConvenio = new ArrayList<>();
+        List<Convenio> conveniosPorIndice = new ArrayList<>(); // con su ID original, no la clave
+        Map<String, Integer> ocupados = new HashMap<>();
+        Set<String> fijos = new HashSet<>();
+        for (Postulacion p : dataStore.getPostulacionesPorEstado(EstadoPostulacion.ACEPTADA)) {
+            fijos.add(p.getRutEstudiante());
+            ocupados.merge(clave(p.getIdConvenio()), 1, Integer::sum);
+        }
+
+        Map<String, Integer> indiceAlumno = new HashMap<>();
+        List<String> ruts = new ArrayList<>();
+        int total = dataStore.getPostulaciones().size();
+        postulaciones = new Postulacion[total];
+        alumnoDe = new int[total];
+        convenioDe = new int[total];
+        promedios = new double[total];
+        semestres = new int[total];
+        n = 0;
+        for (Postulacion p : dataStore.getPostulaciones()) {
+            EstadoPostulacion estado = p.getEstado();
+            if (estado.esFinal() || estado == EstadoPostulacion.ACEPTADA || fijos.contains(p.getRutEstudiante())) continue;
+            if (n == postulaciones.length) crecer();
+            Integer a = indiceAlumno.get(p.getRutEstudiante());
+            if (a == null) {
+                a = ruts.size();
+                indiceAlumno.put(p.getRutEstudiante(), a);
+                ruts.add(p.getRutEstudiante());
+            }
+            String claveConvenio = clave(p.getIdConvenio());
+            Integer c = indiceConvenio.get(claveConvenio);
+            if (c == null) {
+                c = idsConvenio.size();
+                indiceConvenio.put(claveConvenio, c);
+                idsConvenio.add(claveConvenio);
+                Convenio conv = p.getConvenioSeleccionado();
+                conveniosPorIndice.add(conv != null ? conv : dataStore.getConvenioPorId(p.getIdConvenio()));
+            }
+            Usuario u = dataStore.getUsuarioPorRut(p.getRutEstudiante());
+            postulaciones[n] = p;
+            alumnoDe[n] = a;
+            convenioDe[n] = c;
+            promedios[n] = u instanceof Estudiante ? ((Estudiante) u).getPromedio() : 0;
+            semestres[n] = u instanceof Estudiante ? ((Estudiante) u).getSemestresCursados() : 0;
+            n++;
+        }
+
+        int alumnos = ruts.size();
+        int convenios = idsConvenio.size();
+        int[] cupos = new int[convenios];
+        for (int c = 0; c < convenios; c++) {
+            Convenio conv = conveniosPorIndice.get(c);
+            int libres = conv == null ? 0 : conv.getCupos() - ocupados.getOrDefault(idsConvenio.get(c), 0);
+            cupos[c] = Math.max(0, libres);
+        }
+
+        // Fases independientes: preferencias de cada estudiante y ranking de cada convenio
+        CompletableFuture<Void> fasePreferencias = CompletableFuture.runAsync(() -> ordenarPreferencias(alumnos));
+        CompletableFuture<Void> faseRanking = CompletableFuture.runAsync(() -> rankearConvenios(convenios));
+        CompletableFuture.allOf(fasePreferencias, faseRanking).join();
+
+        int[] retenida = aceptacionDiferida(alumnos, convenios, cupos);
+
+        List<Postulacion> asignadas = new ArrayList<>();
+        List<String> sinAsignar = new ArrayList<>();
+        Map<String, Integer> porConvenio = new LinkedHashMap<>();
+        for (int a = 0; a < alumnos; a++) {
+            int i = retenida[a];
+            if (i < 0) {
+                sinAsignar.add(ruts.get(a));
+            } else {
+                asignadas.add(postulaciones[i]);
+                porConvenio.merge(postulaciones[i].getIdConvenio(), 1, Integer::sum);
+            }
+        }
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+        return new PropuestaAsignacion(asignadas, sinAsignar, porConvenio, fijos.size(), n, ms);
+    }
+
+    private void crecer() {
+        int nuevo = Math.max(16, postulaciones.length * 2);
+        postulaciones = Arrays.copyOf(postulaciones, nuevo);
+        alumnoDe = Arrays.copyOf(alumnoDe, nuevo);
+        convenioDe = Arrays.copyOf(convenioDe, nuevo);
+        promedios = Arrays.copyOf(promedios, nuevo);
+        semestres = Arrays.copyOf(semestres, nuevo);
+    }
+
+    /**
+     * Agrupa las postulaciones por estudiante y ordena cada grupo por fecha de postulación.
+     */
+    private void ordenarPreferencias(int alumnos) {
+        inicioAlumno = agrupar(alumnoDe, alumnos);
+        preferencias = llenar(alumnoDe, inicioAlumno);
+        IntStream.range(0, alumnos).parallel().forEach(a -> {
+            // Cada estudiante tiene pocas postulaciones: basta con inserción
+            for (int i = inicioAlumno[a] + 1; i < inicioAlumno[a + 1]; i++) {
+                int x = preferencias[i];
+                int j = i - 1;
+                while (j >= inicioAlumno[a] && compararPreferencia(preferencias[j], x) > 0) {
+                    preferencias[j + 1] = preferencias[j];
+                    j--;
+                }
+                preferencias[j + 1] = x;
+            }
+        });
+    }
+
+    /**
+     * Agrupa las postulaciones por convenio, las ordena según el ranking y anota el puesto de cada una.
+     */
+    private void rankearConvenios(int convenios) {
+        inicioConvenio = agrupar(convenioDe, convenios);
+        int[] orden = llenar(convenioDe, inicioConvenio);
+        puestoEnConvenio = new int[n];
+        IntStream.range(0, convenios).parallel().forEach(c -> {
+            int desde = inicioConvenio[c];
+            int hasta = inicioConvenio[c + 1];
+            Integer[] grupo = new Integer[hasta - desde];
+            for (int i = desde; i < hasta; i++) grupo[i - desde] = orden[i];
+            Arrays.sort(grupo, this::compararRanking);
+            for (int k = 0; k < grupo.length; k++) puestoEnConvenio[grupo[k]] = k;
+        });
+    }
+
+    /**
+     * @return Por estudiante, la postulación con la que quedó (o -1 si no obtuvo cupo).
+     */
+    private int[] aceptacionDiferida(int alumnos, int convenios, int[] cupos) {
+        int[] siguiente = new int[alumnos];
+        int[] libres = new int[alumnos];
+        for (int a = 0; a < alumnos; a++) libres[a] = a;
+        int cantidadLibres = alumnos;
+
+        // En cada convenio, lo retenido con el peor puesto queda arriba para soltarlo primero
+        List<PriorityQueue<Integer>> retenidos = new ArrayList<>(convenios);
+        for (int c = 0; c < convenios; c++) {
+            retenidos.add(new PriorityQueue<>(Math.max(1, Math.min(cupos[c] + 1, 64)),
+                    (x, y) -> Integer.compare(puestoEnConvenio[y], puestoEnConvenio[x])));
+        }
+
+        while (cantidadLibres > 0) {
+            int a = libres[--cantidadLibres];
+            if (inicioAlumno[a] + siguiente[a] == inicioAlumno[a + 1]) continue; // agotó sus opciones
+            int i = preferencias[inicioAlumno[a] + siguiente[a]++];
+            int c = convenioDe[i];
+            if (cupos[c] == 0) {
+                libres[cantidadLibres++] = a;
+                continue;
+            }
+            PriorityQueue<Integer> xs = retenidos.get(c);
+            xs.add(i);
+            if (xs.size() > cupos[c]) {
+                libres[cantidadLibres++] = alumnoDe[xs.poll()];
+            }
+        }
+
+        int[] retenida = new int[alumnos];
+        Arrays.fill(retenida, -1);
+        for (PriorityQueue<Integer> xs : retenidos) {
+            for (int i : xs) retenida[alumnoDe[i]] = i;
+        }
+        return retenida;
+    }
+
+    /**
+     * Inicio de cada grupo en un arreglo ordenado por grupo (el último elemento es el total).
+     */
+    private int[] agrupar(int[] grupoDe, int grupos) {
+        int[] inicio = new int[grupos + 1];
+        for (int i = 0; i < n; i++) inicio[grupoDe[i] + 1]++;
+        for (int g = 0; g < grupos; g++) inicio[g + 1] += inicio[g];
+        return inicio;
+    }
+
+    private int[] llenar(int[] grupoDe, int[] inicio) {
+        int[] pos = Arrays.copyOf(inicio, inicio.length - 1);
+        int[] xs = new int[n];
+        for (int i = 0; i < n; i++) xs[pos[grupoDe[i]]++] = i;
+        return xs;
+    }
+
+    private int compararPreferencia(int x, int y) {
+        int r = compararFechas(postulaciones[x].getFechaPostulacion(), postulaciones[y].getFechaPostulacion());
+        return r != 0 ? r : compararIds(postulaciones[x].getId(), postulaciones[y].getId());
+    }
+
+    private int compararRanking(int x, int y) {
+        int r = Double.compare(promedios[y], promedios[x]);
+        if (r == 0) r = Integer.compare(semestres[y], semestres[x]);
+        if (r == 0) r = compararFechas(postulaciones[x].getFechaPostulacion(), postulaciones[y].getFechaPostulacion());
+        return r != 0 ? r : compararIds(postulaciones[x].getId(), postulaciones[y].getId());
+    }
+
+    private static int compararFechas(LocalDate a, LocalDate b) {
+        if (a == null || b == null) return a == null ? (b == null ? 0 : 1) : -1;
+        return a.compareTo(b);
+    }
+
+    /**
+     * Los IDs comparten prefijo ("P9" &lt; "P10"), así que el más corto va primero.
+     */
+    private static int compararIds(String a, String b) {
+        return a.length() != b.length() ? Integer.compare(a.length(), b.length()) : a.compareTo(b);
+    }
+
+    private static String clave(String idConvenio) {
+        return idConvenio == null ? "" : idConvenio.toUpperCase();
+    }
+}
@@ -0,0 +1,48 @@
+package gestores;
+
+import modelo.Postulacion;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de la asignación automática de cupos: una propuesta que el funcionario
+ * revisa antes de aplicarla (no cambia ningún estado por sí misma).
+ */
+public class PropuestaAsignacion {
+    private final List<Postulacion> asignadas;
+    private final List<String> sinAsignar;
+    private final Map<String, Integer> asignadasPorConvenio;
+    private final int yaAceptados;
+    private final int postulacionesConsideradas;
+    private final long milisegundos;
+
+    public PropuestaAsignacion(List<Postulacion> asignadas, List<String> sinAsignar, Map<String, Integer> asignadasPorConvenio,
+                               int yaAceptados, int postulacionesConsideradas, long milisegundos) {
+        this.asignadas = Collections.unmodifiableList(asignadas);
+        this.sinAsignar = Collections.unmodifiableList(sinAsignar);
+        this.asignadasPorConvenio = Collections.unmodifiableMap(asignadasPorConvenio);
+        this.yaAceptados = yaAceptados;
+        this.postulacionesConsideradas = postulacionesConsideradas;
+        this.milisegundos = milisegundos;
+    }
+
+    // Getters
+    /** Postulaciones que pasarían a ACEPTADA (una por estudiante asignado). */
+    public List<Postulacion> getAsignadas() { return asignadas; }
+    /** RUTs de los estudiantes que no obtuvieron cupo en ninguna de sus opciones. */
+    public List<String> getSinAsignar() { return sinAsignar; }
+    public Map<String, Integer> getAsignadasPorConvenio() { return asignadasPorConvenio; }
+    /** Estudiantes que ya tenían una postulación aceptada y no se movieron. */
+    public int getYaAceptados() { return yaAceptados; }
+    public int getPostulacionesConsideradas() { return postulacionesConsideradas; }
+    public long getMilisegundos() { return milisegundos; }
+
+    @Override
+    public String toString() {
+        return asignadas.size() + " estudiantes asignados en " + asignadasPorConvenio.size() + " convenios, "
+                + sinAsignar.size() + " sin cupo, " + yaAceptados + " ya aceptados ("
+                + postulacionesConsideradas + " postulaciones, " + milisegundos + " ms)";
+    }
+}
@@ -0,0 +1,48 @@
+package gestores;
+
+import enums.EstadoPostulacion;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resumen de un cambio de estado masivo.
+ */
+public class ResultadoCambioMasivo {
+    private final EstadoPostulacion destino;
+    private final int solicitadas;
+    private final int cambiadas;
+    private final int sinCambios;
+    private final int descartadas;
+    private final List<String> rechazos;
+
+    public ResultadoCambioMasivo(EstadoPostulacion destino, int solicitadas, int cambiadas, int sinCambios, int descartadas,
+                                 List<String> rechazos) {
+        this.destino = destino;
+        this.solicitadas = solicitadas;
+        this.cambiadas = cambiadas;
+        this.sinCambios = sinCambios;
+        this.descartadas = descartadas;
+        this.rechazos = Collections.unmodifiableList(rechazos);
+    }
+
+    // Getters
+    public EstadoPostulacion getDestino() { return destino; }
+    public int getSolicitadas() { return solicitadas; }
+    /** Postulaciones seleccionadas que pasaron al estado de destino. */
+    public int getCambiadas() { return cambiadas; }
+    /** Postulaciones seleccionadas que ya estaban en el estado de destino. */
+    public int getSinCambios() { return sinCambios; }
+    /** Otras postulaciones de los estudiantes aceptados que quedaron ABANDONADA. */
+    public int getDescartadas() { return descartadas; }
+    /** Motivo de cada postulación que no se pudo cambiar ("P3: ..."). */
+    public List<String> getRechazos() { return rechazos; }
+
+    @Override
+    public String toString() {
+        return cambiadas + " de " + solicitadas + " postulaciones pasaron a " + destino
+                + (sinCambios > 0 ? ", " + sinCambios + " ya lo estaban" : "")
+                + (descartadas > 0 ? ", " + descartadas + " otras quedaron ABANDONADA" : "")
+                + (rechazos.isEmpty() ? "" : ", " + rechazos.size() + " rechazadas");
+    }
+}
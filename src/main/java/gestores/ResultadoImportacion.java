@@ -0,0 +1,41 @@
+package gestores;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resumen de una importación de catálogo de convenios.
+ */
+public class ResultadoImportacion {
+    private final long lineas;
+    private final int importados;
+    private final int filasConError;
+    private final List<String> errores;
+    private final int lotes;
+    private final int lotesGuardados;
+    private final long milisegundos;
+
+    public ResultadoImportacion(long lineas, int importados, int filasConError, List<String> errores,
+                                int lotes, int lotesGuardados, long milisegundos) {
+        this.lineas = lineas;
+        this.importados = importados;
+        this.filasConError = filasConError;
+        this.errores = Collections.unmodifiableList(errores);
+        this.lotes = lotes;
+        this.lotesGuardados = lotesGuardados;
+        this.milisegundos = milisegundos;
+    }
+
+    // Getters
+    public long getLineas() { return lineas; }
+    public int getImportados() { return importados; }
+    public int getFilasConError() { return filasConError; }
+    /** Mensajes "Línea N: motivo" (se guardan solo los primeros). */
+    public List<String> getErrores() { return errores; }
+    /** Lotes de escritura en que se guardó la importación. */
+    public int getLotes() { return lotes; }
+    /** Lotes ya confirmados en la base al terminar (los demás fallaron o siguen en la cola). */
+    public int getLotesGuardados() { return lotesGuardados; }
+    public long getMilisegundos() { return milisegundos; }
+    public long getFilasPorSegundo() { return milisegundos == 0 ? lineas * 1000 : lineas * 1000 / milisegundos; }
+}
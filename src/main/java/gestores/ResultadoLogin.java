@@ -5,24 +5,25 @@ import modelo.Usuario;
 public class ResultadoLogin {
     private final boolean exito;
     private final String mensaje;
-    private final Usuario usuario;
+    private final Sesion sesion;
 
     // Constructor para éxito
-    public ResultadoLogin(Usuario usuario) {
+    public ResultadoLogin(Sesion sesion) {
         this.exito = true;
         this.mensaje = "Inicio de sesión exitoso.";
-        this.usuario = usuario;
+        this.sesion = sesion;
     }
 
     // Constructor para fracaso
     public ResultadoLogin(String mensaje) {
         this.exito = false;
         this.mensaje = mensaje;
-        this.usuario = null;
+        this.sesion = null;
     }
 
     // Getters
     public boolean isExito() { return exito; }
     public String getMensaje() { return mensaje; }
-    public Usuario getUsuario() { return usuario; }
+    public Sesion getSesion() { return sesion; }
+    public Usuario getUsuario() { return sesion != null ? sesion.getUsuario() : null; }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package gestores;
+
+import modelo.Usuario;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Contexto de una sesión iniciada. Cada cliente (ventana o consola) guarda su propia
+ * sesión, de modo que varios usuarios pueden trabajar a la vez sobre el mismo gestor.
+ */
+public class Sesion {
+    private final String id;
+    private final Usuario usuario;
+    private final LocalDateTime inicio;
+
+    Sesion(Usuario usuario) {
+        this.id = UUID.randomUUID().toString();
+        this.usuario = usuario;
+        this.inicio = LocalDateTime.now();
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public Usuario getUsuario() { return usuario; }
+    public LocalDateTime getInicio() { return inicio; }
+}
@@ -0,0 +1,419 @@
+package herramientas;
+
+import enums.EstadoPostulacion;
+import persistencia.ConexionBD;
+import persistencia.EsquemaBD;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generador de datos sintéticos para gestion_intercambio.db (u otra base con el mismo esquema).
+ *
+ * Los datos son reproducibles (misma semilla, mismos datos) y siguen distribuciones
+ * parecidas a las reales: los convenios se concentran en pocos países y áreas, unos pocos
+ * convenios reciben la mayoría de las postulaciones (Zipf), los promedios siguen una normal,
+ * cada estudiante postula solo a convenios cuyo promedio mínimo cumple (los que no califican
+ * para ninguno no postulan) y los estados de las postulaciones respetan las proporciones del proceso (un estudiante
+ * aceptado abandona sus otras postulaciones). Se escribe en transacciones grandes con
+ * sentencias por lotes.
+ *
+ * Uso:
+ * {@code mvn -q compile exec:java -Dexec.mainClass=herramientas.GeneradorDatos -Dexec.args="--estudiantes=100000 --postulaciones=1000000 --reemplazar"}
+ * Opciones: --bd=archivo.db, --estudiantes=N, --postulaciones=N, --convenios=N,
+ * --interacciones=promedio por postulación, --semilla=N, --reemplazar (borra los datos existentes).
+ */
+public class GeneradorDatos {
+    private static final int FILAS_POR_TRANSACCION = 50_000;
+    private static final int FILAS_POR_LOTE = 1_000;
+    private static final String PASS = "sia123";
+
+    // Pesos aproximados según la oferta de intercambio de una universidad chilena
+    private static final String[] PAISES = {"España", "Estados Unidos", "Alemania", "Francia", "Reino Unido", "México",
+            "Argentina", "Brasil", "Canadá", "Italia", "Australia", "Países Bajos", "Japón", "Corea del Sur", "Suecia",
+            "Colombia", "Portugal", "China", "Suiza", "Nueva Zelanda"};
+    private static final double[] PESOS_PAISES = {16, 13, 9, 8, 7, 7, 6, 5, 5, 5, 4, 3, 3, 2, 2, 2, 1, 1, 1, 0.5};
+    private static final String[] CIUDADES = {"Madrid", "Boston", "Berlín", "París", "Londres", "Ciudad de México",
+            "Buenos Aires", "São Paulo", "Toronto", "Bolonia", "Sídney", "Ámsterdam", "Tokio", "Seúl", "Estocolmo",
+            "Bogotá", "Lisboa", "Shanghái", "Zúrich", "Auckland"};
+    private static final String[] AREAS = {"Ingeniería", "Administración", "Ciencias de la Computación", "Medicina",
+            "Derecho", "Economía", "Arquitectura", "Psicología", "Educación", "Diseño", "Ciencias Políticas", "Física"};
+    private static final double[] PESOS_AREAS = {20, 14, 12, 9, 8, 8, 6, 6, 5, 5, 4, 3};
+    private static final String[] CARRERAS = {"Ingeniería Civil", "Ingeniería en Informática", "Ingeniería Comercial",
+            "Medicina", "Derecho", "Arquitectura", "Diseño", "Psicología", "Pedagogía", "Periodismo"};
+    private static final double[] PESOS_CARRERAS = {18, 16, 15, 9, 9, 8, 7, 7, 6, 5};
+    private static final String[] REQ_ECONOMICOS = {"Sin deuda vigente", "Carta aval", "Aval económico",
+            "Carta de recomendación", "Examen TOEFL", "Carta motivacional"};
+    private static final double[] PESOS_REQ_ECONOMICOS = {35, 30, 12, 10, 8, 5};
+    private static final String[] NOMBRES = {"Sofía", "Benjamín", "Isidora", "Vicente", "Florencia", "Martín",
+            "Josefa", "Agustín", "Emilia", "Tomás", "Antonia", "Matías", "Catalina", "Joaquín", "Valentina", "Lucas"};
+    private static final String[] APELLIDOS = {"González", "Muñoz", "Rojas", "Díaz", "Pérez", "Soto", "Contreras",
+            "Silva", "Martínez", "Sepúlveda", "Morales", "Rodríguez", "López", "Fuentes", "Hernández", "Torres"};
+    // Estados de una convocatoria en curso para quien aún no es aceptado: la mayoría sigue en revisión
+    private static final EstadoPostulacion[] ESTADOS = {EstadoPostulacion.POR_REVISAR, EstadoPostulacion.REVISADA,
+            EstadoPostulacion.PRESELECCIONADA, EstadoPostulacion.RECHAZADA, EstadoPostulacion.ABANDONADA};
+    private static final double[] PESOS_ESTADOS = {38, 22, 10, 20, 10};
+    // Fracción de estudiantes que ya tiene una postulación aceptada
+    private static final double PROBABILIDAD_ACEPTADO = 0.2;
+
+    private final Random rnd;
+    private final int estudiantes;
+    private final int postulaciones;
+    private final int convenios;
+    private final double interaccionesPorPostulacion;
+    private final int[] minimoConvenio;       // promedio exigido por cada convenio, en décimas
+    private final int[] promedioEstudiante;   // en décimas, como se guarda en estudiantes_info
+    // Por promedio (en décimas): los convenios que lo admiten y su popularidad acumulada
+    private final int[][] elegiblesPorPromedio = new int[71][];
+    private final double[][] acumuladoPorPromedio = new double[71][];
+    private final int funcionarios;
+
+    private Connection conn;
+    private int filasEnTransaccion;
+    private long filasTotales;
+
+    public GeneradorDatos(long semilla, int estudiantes, int postulaciones, int convenios, double interaccionesPorPostulacion) {
+        this.rnd = new Random(semilla);
+        this.estudiantes = estudiantes;
+        this.postulaciones = postulaciones;
+        this.convenios = convenios;
+        this.interaccionesPorPostulacion = interaccionesPorPostulacion;
+        this.funcionarios = Math.max(5, estudiantes / 500);
+        this.minimoConvenio = new int[convenios];
+        this.promedioEstudiante = new int[estudiantes];
+    }
+
+    public static void main(String[] args) throws SQLException {
+        String bd = "gestion_intercambio.db";
+        int estudiantes = 100_000;
+        int postulaciones = 1_000_000;
+        int convenios = 2_000;
+        double interacciones = 0.5;
+        long semilla = 42;
+        boolean reemplazar = false;
+        for (String a : args) {
+            String valor = a.contains("=") ? a.substring(a.indexOf('=') + 1) : "";
+            if (a.startsWith("--bd=")) bd = valor;
+            else if (a.startsWith("--estudiantes=")) estudiantes = Integer.parseInt(valor);
+            else if (a.startsWith("--postulaciones=")) postulaciones = Integer.parseInt(valor);
+            else if (a.startsWith("--convenios=")) convenios = Integer.parseInt(valor);
+            else if (a.startsWith("--interacciones=")) interacciones = Double.parseDouble(valor);
+            else if (a.startsWith("--semilla=")) semilla = Long.parseLong(valor);
+            else if (a.equals("--reemplazar")) reemplazar = true;
+            else {
+                System.err.println("Opción desconocida: " + a);
+                return;
+            }
+        }
+        if (estudiantes <= 0 || convenios <= 0 || postulaciones < estudiantes) {
+            System.err.println("Se necesitan estudiantes y convenios, y al menos una postulación por estudiante.");
+            return;
+        }
+
+        String url = "jdbc:sqlite:" + bd;
+        try (ConexionBD conexion = new ConexionBD(url)) {
+            EsquemaBD.preparar(conexion);
+        }
+        new GeneradorDatos(semilla, estudiantes, postulaciones, convenios, interacciones).generar(url, reemplazar);
+    }
+
+    /**
+     * Escribe el conjunto de datos completo en la base indicada.
+     * @param reemplazar Si es false y la base ya tiene usuarios, no se hace nada.
+     */
+    public void generar(String url, boolean reemplazar) throws SQLException {
+        long inicio = System.nanoTime();
+        try (Connection c = DriverManager.getConnection(url)) {
+            conn = c;
+            try (Statement st = conn.createStatement()) {
+                // Solo durante la generación: si se corta, basta con volver a generar
+                st.execute("PRAGMA journal_mode=WAL");
+                st.execute("PRAGMA synchronous=OFF");
+                st.execute("PRAGMA foreign_keys=OFF");
+                st.execute("PRAGMA locking_mode=EXCLUSIVE");
+                st.execute("PRAGMA temp_store=MEMORY");
+                // Las claves de texto (P1, P10, P2...) se insertan desordenadas: un caché grande evita releer páginas
+                st.execute("PRAGMA cache_size=-262144");
+                try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM usuarios")) {
+                    if (rs.next() && rs.getInt(1) > 0 && !reemplazar) {
+                        System.err.println("La base ya tiene datos. Use --reemplazar para borrarlos.");
+                        return;
+                    }
+                }
+                conn.setAutoCommit(false);
+                for (String tabla : new String[]{"interacciones", "postulaciones", "estudiantes_info", "usuarios", "convenios", "programas"}) {
+                    st.executeUpdate("DELETE FROM " + tabla);
+                }
+                st.executeUpdate("DELETE FROM sqlite_sequence WHERE name = 'interacciones'");
+                // Es más barato reconstruir el índice al final que mantenerlo fila a fila
+                st.execute("DROP INDEX IF EXISTS idx_interacciones_postulacion");
+            }
+
+            generarProgramasYConvenios();
+            generarUsuarios();
+            generarPostulaciones();
+            conn.commit();
+            conn.setAutoCommit(true);
+            EsquemaBD.preparar(conn);
+            try (Statement st = conn.createStatement()) {
+                st.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+            }
+        } finally {
+            conn = null;
+        }
+        long ms = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        System.out.println("Listo: " + filasTotales + " filas en " + ms + " ms (" + (filasTotales * 1000 / ms) + " filas/s).");
+        System.out.println("Todos los usuarios generados tienen la contraseña '" + PASS + "'.");
+    }
+
+    private void generarProgramasYConvenios() throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO programas (id_programa, nombre, fecha_inicio, fecha_fin) VALUES (?, ?, ?, ?)")) {
+            ps.setInt(1, 1);
+            ps.setString(2, "Programa General de Intercambio");
+            ps.setString(3, "2025-01-01");
+            ps.setString(4, "2027-12-31");
+            ps.executeUpdate();
+            contar(ps, false);
+        }
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO convenios (id_convenio, universidad, pais, "
+                + "area_estudios, requisitos_academicos, requisitos_economicos, id_programa) VALUES (?, ?, ?, ?, ?, ?, 1)")) {
+            for (int i = 0; i < convenios; i++) {
+                int pais = elegir(PESOS_PAISES);
+                String area = AREAS[elegir(PESOS_AREAS)];
+                // Los convenios más demandados suelen exigir más promedio
+                double minimo = 5.0 + Math.min(1.5, 1.5 * Math.pow(1.0 / (i + 1), 0.25)) + rnd.nextInt(3) / 10.0;
+                minimoConvenio[i] = (int) Math.round(Math.min(6.5, minimo) * 10);
+                ps.setString(1, idConvenio(i));
+                ps.setString(2, "Universidad de " + CIUDADES[pais] + " " + (i / PAISES.length + 1));
+                ps.setString(3, PAISES[pais]);
+                ps.setString(4, area);
+                ps.setString(5, String.format("Promedio >= %.1f", minimoConvenio[i] / 10.0).replace(',', '.'));
+                ps.setString(6, REQ_ECONOMICOS[elegir(PESOS_REQ_ECONOMICOS)]);
+                contar(ps, true);
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private void generarUsuarios() throws SQLException {
+        try (PreparedStatement pu = conn.prepareStatement("INSERT INTO usuarios (rut, nombre, email, pass, rol, bloqueado, "
+                + "intentos_fallidos) VALUES (?, ?, ?, ?, ?, 0, 0)");
+             PreparedStatement pe = conn.prepareStatement("INSERT INTO estudiantes_info (rut_estudiante, carrera, "
+                     + "promedio, semestres_cursados) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < estudiantes; i++) {
+                String rut = rutEstudiante(i);
+                usuario(pu, rut, i, "ESTUDIANTE");
+                pe.setString(1, rut);
+                pe.setString(2, CARRERAS[elegir(PESOS_CARRERAS)]);
+                double promedio = Math.max(4.0, Math.min(7.0, 5.4 + rnd.nextGaussian() * 0.6));
+                promedioEstudiante[i] = (int) Math.round(promedio * 10);
+                pe.setDouble(3, promedioEstudiante[i] / 10.0);
+                pe.setInt(4, 2 + (int) Math.min(10, Math.abs(rnd.nextGaussian() * 3.5)));
+                contar(pe, true);
+            }
+            for (int i = 0; i < funcionarios + 3; i++) {
+                usuario(pu, rutPersonal(i), estudiantes + i, i < funcionarios ? "FUNCIONARIO" : "AUDITOR");
+            }
+            pu.executeBatch();
+            pe.executeBatch();
+        }
+    }
+
+    private void usuario(PreparedStatement pu, String rut, int i, String rol) throws SQLException {
+        String nombre = NOMBRES[rnd.nextInt(NOMBRES.length)] + " " + APELLIDOS[rnd.nextInt(APELLIDOS.length)]
+                + " " + APELLIDOS[rnd.nextInt(APELLIDOS.length)];
+        pu.setString(1, rut);
+        pu.setString(2, nombre);
+        pu.setString(3, "usuario" + i + "@inst.cl");
+        pu.setString(4, PASS);
+        pu.setString(5, rol);
+        contar(pu, true);
+    }
+
+    private void generarPostulaciones() throws SQLException {
+        // Las postulaciones se reparten entre los estudiantes que califican para algún convenio
+        int postulantes = 0;
+        for (int e = 0; e < estudiantes; e++) {
+            if (elegibles(promedioEstudiante[e]).length > 0) postulantes++;
+        }
+        double promedioPorEstudiante = (double) postulaciones / Math.max(1, postulantes);
+        LocalDate inicioConvocatoria = LocalDate.of(2025, 3, 1);
+        int[] elegidos = new int[Math.min(convenios, 64)];
+        EstadoPostulacion[] estados = new EstadoPostulacion[elegidos.length];
+        int siguienteId = 1;
+
+        try (PreparedStatement pp = conn.prepareStatement("INSERT INTO postulaciones (id_postulacion, rut_estudiante, "
+                + "id_convenio, fecha_postulacion, estado) VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement pi = conn.prepareStatement("INSERT INTO interacciones (id_postulacion, rut_autor, tipo, "
+                     + "titulo, fecha_hora) VALUES (?, ?, ?, ?, ?)")) {
+            for (int e = 0; e < estudiantes; e++) {
+                String rut = rutEstudiante(e);
+                int promedio = promedioEstudiante[e];
+                int admitidos = elegibles(promedio).length;
+                if (admitidos == 0) continue;
+                int cuantas = Math.min(Math.min(elegidos.length, admitidos), 1 + poisson(promedioPorEstudiante - 1));
+                // Un estudiante aceptado tiene una sola postulación ACEPTADA; las que seguían
+                // abiertas quedan abandonadas (como en descartarOtrasPostulaciones)
+                int aceptada = rnd.nextDouble() < PROBABILIDAD_ACEPTADO ? rnd.nextInt(cuantas) : -1;
+                for (int k = 0; k < cuantas; k++) {
+                    int c;
+                    do {
+                        c = convenioZipf(promedio);
+                    } while (contiene(elegidos, k, c));
+                    elegidos[k] = c;
+                    if (k == aceptada) {
+                        estados[k] = EstadoPostulacion.ACEPTADA;
+                    } else if (aceptada >= 0) {
+                        estados[k] = rnd.nextInt(10) < 3 ? EstadoPostulacion.RECHAZADA : EstadoPostulacion.ABANDONADA;
+                    } else {
+                        estados[k] = ESTADOS[elegir(PESOS_ESTADOS)];
+                    }
+                }
+                for (int k = 0; k < cuantas; k++) {
+                    String id = "P" + siguienteId++;
+                    LocalDate fecha = inicioConvocatoria.plusDays(rnd.nextInt(120));
+                    pp.setString(1, id);
+                    pp.setString(2, rut);
+                    pp.setString(3, idConvenio(elegidos[k]));
+                    pp.setString(4, fecha.toString());
+                    pp.setString(5, estados[k].name());
+                    contar(pp, true);
+                    generarInteracciones(pi, id, rut, fecha, estados[k]);
+                }
+            }
+            pp.executeBatch();
+            pi.executeBatch();
+        }
+    }
+
+    private void generarInteracciones(PreparedStatement pi, String idPostulacion, String rut, LocalDate fecha,
+                                      EstadoPostulacion estado) throws SQLException {
+        // Las postulaciones sin revisar rara vez tienen movimiento
+        double media = estado == EstadoPostulacion.POR_REVISAR ? interaccionesPorPostulacion * 0.3 : interaccionesPorPostulacion * 1.5;
+        int n = poisson(media);
+        LocalDateTime momento = fecha.atTime(9, 0);
+        for (int i = 0; i < n; i++) {
+            momento = momento.plusMinutes(30 + rnd.nextInt(60 * 24 * 5));
+            boolean delEstudiante = rnd.nextInt(3) == 0;
+            pi.setString(1, idPostulacion);
+            pi.setString(2, delEstudiante ? rut : rutPersonal(rnd.nextInt(funcionarios)));
+            pi.setString(3, delEstudiante ? "DOCUMENTO" : "COMENTARIO");
+            pi.setString(4, delEstudiante ? "documento_" + (i + 1) + ".pdf" : "Revisión de antecedentes " + (i + 1));
+            pi.setString(5, momento.toString());
+            contar(pi, true);
+        }
+    }
+
+    // ===== util =====
+
+    /** Agrega la fila al lote y confirma la transacción cada FILAS_POR_TRANSACCION filas. */
+    private void contar(PreparedStatement ps, boolean lote) throws SQLException {
+        if (lote) {
+            ps.addBatch();
+            if (++filasEnTransaccion % FILAS_POR_LOTE == 0) ps.executeBatch();
+        } else {
+            filasEnTransaccion++;
+        }
+        filasTotales++;
+        if (filasEnTransaccion >= FILAS_POR_TRANSACCION) {
+            ps.executeBatch();
+            conn.commit();
+            filasEnTransaccion = 0;
+        }
+    }
+
+    private int elegir(double[] pesos) {
+        double total = 0;
+        for (double p : pesos) total += p;
+        double r = rnd.nextDouble() * total;
+        for (int i = 0; i < pesos.length; i++) {
+            r -= pesos[i];
+            if (r < 0) return i;
+        }
+        return pesos.length - 1;
+    }
+
+    /**
+     * Un convenio según su popularidad (Zipf con exponente 1), entre los que admiten el promedio.
+     * Quien llama debe comprobar antes que hay alguno.
+     */
+    private int convenioZipf(int promedio) {
+        elegibles(promedio);
+        double[] acumulado = acumuladoPorPromedio[promedio];
+        double r = rnd.nextDouble() * acumulado[acumulado.length - 1];
+        int i = Arrays.binarySearch(acumulado, r);
+        return elegiblesPorPromedio[promedio][i >= 0 ? i : -i - 1];
+    }
+
+    /** Convenios cuyo promedio mínimo es a lo más {@code promedio} (en décimas); se arman una vez por valor. */
+    private int[] elegibles(int promedio) {
+        if (elegiblesPorPromedio[promedio] == null) {
+            int[] xs = new int[convenios];
+            double[] acumulado = new double[convenios];
+            int n = 0;
+            double suma = 0;
+            for (int c = 0; c < convenios; c++) {
+                if (minimoConvenio[c] > promedio) continue;
+                suma += 1.0 / (c + 1);
+                xs[n] = c;
+                acumulado[n++] = suma;
+            }
+            elegiblesPorPromedio[promedio] = Arrays.copyOf(xs, n);
+            acumuladoPorPromedio[promedio] = Arrays.copyOf(acumulado, n);
+        }
+        return elegiblesPorPromedio[promedio];
+    }
+
+    private int poisson(double media) {
+        if (media <= 0) return 0;
+        double limite = Math.exp(-media);
+        double p = 1;
+        int k = 0;
+        do {
+            k++;
+            p *= rnd.nextDouble();
+        } while (p > limite);
+        return k - 1;
+    }
+
+    private static boolean contiene(int[] xs, int hasta, int x) {
+        for (int i = 0; i < hasta; i++) {
+            if (xs[i] == x) return true;
+        }
+        return false;
+    }
+
+    private static String idConvenio(int i) {
+        return String.format("C%05d", i + 1);
+    }
+
+    private static String rutEstudiante(int i) {
+        return rutConDv(20_000_000 + i);
+    }
+
+    private static String rutPersonal(int i) {
+        return rutConDv(10_000_000 + i);
+    }
+
+    /** RUT sin puntos ni guion con su dígito verificador (módulo 11), como lo normaliza el registro. */
+    private static String rutConDv(int numero) {
+        int suma = 0;
+        int factor = 2;
+        for (int n = numero; n > 0; n /= 10) {
+            suma += (n % 10) * factor;
+            factor = factor == 7 ? 2 : factor + 1;
+        }
+        int dv = 11 - suma % 11;
+        return numero + (dv == 11 ? "0" : dv == 10 ? "K" : String.valueOf(dv));
+    }
+}
@@ -1,14 +1,19 @@
 package menu;
 
 import gestores.GestorIntercambio;
+import gestores.ResultadoImportacion;
 import modelo.*;
 import servicios.VerificarInput;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.*;
 
 import static enums.Rol.FUNCIONARIO;
 
 public class MenuConvenios {
+    private static final int MAX_RESULTADOS_BUSQUEDA = 50;
+
     private final VerificarInput input;
     private final Usuario usuarioActual;
     private final GestorIntercambio gestor;
@@ -39,7 +44,7 @@ public class MenuConvenios {
             System.out.println("-------------------------------------------------------------------------------------------------------------------");
 
             // Ordenar la lista de convenios
-            List<Convenio> conveniosOrdenados = programaActual.getConvenios();
+            List<Convenio> conveniosOrdenados = new ArrayList<>(programaActual.getConvenios());
             conveniosOrdenados.sort(Comparator.comparing(Convenio::getId));
 
             for (Convenio c : conveniosOrdenados) {
@@ -52,7 +57,7 @@ public class MenuConvenios {
             }
             System.out.println("-------------------------------------------------------------------------------------------------------------------");
 
-            String prompt = "\n0) Volver | ID) Ver detalle";
+            String prompt = "\n0) Volver | B) Buscar | ID) Ver detalle";
             if (usuarioActual instanceof Estudiante) {
                 prompt += " y postular";
             } else if (usuarioActual.getRol().equals(FUNCIONARIO)) {
@@ -62,6 +67,10 @@ public class MenuConvenios {
             String op = input.leerLinea(prompt + "\nOpción: ");
 
             if (op.equalsIgnoreCase("0")) return;
+            if (op.equalsIgnoreCase("B")) {
+                buscarEnCatalogo();
+                continue;
+            }
 
             String idNormalizado = op.toUpperCase();
             if (!idNormalizado.startsWith("C")) {
@@ -79,13 +88,21 @@ public class MenuConvenios {
                 System.out.println("Requisitos Económicos: " + convenio.getRequisitosEconomicos());
 
                 if (usuarioActual instanceof Estudiante) {
+                    List<String> incumplidos = gestor.getRequisitos(convenio).incumplidos((Estudiante) usuarioActual);
+                    System.out.println(incumplidos.isEmpty()
+                            ? "Cumples los requisitos académicos."
+                            : "No cumples: " + String.join(", ", incumplidos));
                     // Lógica para estudiantes: postular
                     String postularOpcion = input.leerLinea("\n1) Postular | 0) Volver\nOpción: ");
                     if (postularOpcion.equals("1")) {
-                        if (gestor.postular((Estudiante) usuarioActual, convenio)) {
-                            System.out.println("¡Postulación exitosa!");
-                        } else {
-                            System.out.println("No se pudo postular. Ya tienes una postulación activa para este convenio.");
+                        try {
+                            if (gestor.postular((Estudiante) usuarioActual, convenio)) {
+                                System.out.println("¡Postulación exitosa!");
+                            } else {
+                                System.out.println("No se pudo postular. Ya tienes una postulación activa para este convenio.");
+                            }
+                        } catch (IllegalArgumentException e) {
+                            System.out.println(e.getMessage());
                         }
                     }
                 } else if (usuarioActual.getRol().equals(FUNCIONARIO)) {
@@ -116,7 +133,7 @@ public class MenuConvenios {
             System.out.printf("| %-5s | %-40s | %-20s | %-25s |%n", "ID", "UNIVERSIDAD", "PAÍS", "REQUISITOS ACADÉMICOS");
             System.out.println("-------------------------------------------------------------------------------------------------------------------");
 
-            List<Convenio> conveniosOrdenados = programaActual.getConvenios();
+            List<Convenio> conveniosOrdenados = new ArrayList<>(programaActual.getConvenios());
             conveniosOrdenados.sort(Comparator.comparing(Convenio::getId));
 
             for (Convenio c : conveniosOrdenados) {
@@ -129,10 +146,22 @@ public class MenuConvenios {
             }
             System.out.println("-------------------------------------------------------------------------------------------------------------------");
 
-            System.out.println("\n0) Volver | Ingrese ID para ver postulaciones asociadas");
+            System.out.println("\n0) Volver | B) Buscar | I) Importar catálogo | R) Ranking y cupos | Ingrese ID para ver postulaciones asociadas");
             String op = input.leerLinea("Opción: ");
 
             if (op.equalsIgnoreCase("0")) return;
+            if (op.equalsIgnoreCase("B")) {
+                buscarEnCatalogo();
+                continue;
+            }
+            if (op.equalsIgnoreCase("I")) {
+                importarCatalogo();
+                continue;
+            }
+            if (op.equalsIgnoreCase("R")) {
+                verRanking();
+                continue;
+            }
 
             String idNormalizado = op.toUpperCase();
             if (!idNormalizado.startsWith("C")) {
@@ -151,4 +180,95 @@ public class MenuConvenios {
             }
         }
     }
-}
\ No newline at end of file
+
+    private void buscarEnCatalogo() {
+        String consulta = input.leerLinea("Buscar (universidad, país, área o requisito): ");
+        if (consulta.isEmpty()) return;
+
+        List<Convenio> resultados = new ArrayList<>(gestor.buscarConvenios(consulta));
+        if (resultados.isEmpty()) {
+            System.out.println("No se encontraron convenios para \"" + consulta + "\".");
+            input.pausaEnter("[Enter] para continuar...");
+            return;
+        }
+        resultados.sort(Comparator.comparing(Convenio::getId));
+
+        System.out.println("\n" + resultados.size() + " convenio(s) encontrados:");
+        System.out.println("-------------------------------------------------------------------------------------------------------------------");
+        System.out.printf("| %-5s | %-40s | %-20s | %-25s |%n", "ID", "UNIVERSIDAD", "PAÍS", "REQUISITOS ACADÉMICOS");
+        System.out.println("-------------------------------------------------------------------------------------------------------------------");
+        int mostrados = 0;
+        for (Convenio c : resultados) {
+            if (mostrados++ == MAX_RESULTADOS_BUSQUEDA) {
+                System.out.println("| ... y " + (resultados.size() - MAX_RESULTADOS_BUSQUEDA) + " más; refine la búsqueda.");
+                break;
+            }
+            String uni = c.getUniversidad().length() > 37 ? c.getUniversidad().substring(0, 37) + "..." : c.getUniversidad();
+            String pais = c.getPais().length() > 17 ? c.getPais().substring(0, 17) + "..." : c.getPais();
+            String req = c.getRequisitosAcademicos().length() > 22 ? c.getRequisitosAcademicos().substring(0, 22) + "..." : c.getRequisitosAcademicos();
+
+            System.out.printf("| %-5s | %-40s | %-20s | %-25s |%n",
+                    c.getId(), uni, pais, req);
+        }
+        System.out.println("-------------------------------------------------------------------------------------------------------------------");
+        input.pausaEnter("[Enter] para continuar...");
+    }
+
+    /**
+     * Muestra los mejores postulantes de un convenio (por defecto, tantos como cupos tiene)
+     * y permite cambiar sus cupos.
+     */
+    private void verRanking() {
+        String id = input.leerLinea("ID del convenio: ").toUpperCase();
+        if (!id.isEmpty() && !id.startsWith("C")) id = "C" + id;
+        Optional<Convenio> convenioOpt = gestor.buscarConvenio(id);
+        if (!convenioOpt.isPresent()) {
+            System.out.println("ID de convenio inválido.");
+            input.pausaEnter("[Enter] para continuar...");
+            return;
+        }
+        Convenio c = convenioOpt.get();
+        int total = gestor.contarPostulantesEnRanking(c.getId());
+        int n = input.leerEntero("¿Cuántos mostrar? [" + Math.max(c.getCupos(), 1) + "]: ", Math.max(c.getCupos(), 1));
+
+        System.out.println("\n" + c.getUniversidad() + " - " + c.getCupos() + " cupo(s), " + total + " postulante(s) en carrera");
+        System.out.println("----------------------------------------------------------------------------------------");
+        System.out.printf("| %-4s | %-6s | %-30s | %-8s | %-9s | %-15s |%n", "#", "ID", "ESTUDIANTE", "PROMEDIO", "SEMESTRES", "ESTADO");
+        System.out.println("----------------------------------------------------------------------------------------");
+        int puesto = 0;
+        for (Postulacion p : gestor.getRankingConvenio(c.getId(), n)) {
+            puesto++;
+            Estudiante e = gestor.buscarEstudiantePorPostulacion(p.getId());
+            String nombre = e != null ? e.getNombreCompleto() : p.getRutEstudiante();
+            if (nombre.length() > 30) nombre = nombre.substring(0, 27) + "...";
+            System.out.printf("| %-4s | %-6s | %-30s | %-8s | %-9s | %-15s |%n",
+                    puesto + (puesto <= c.getCupos() ? "*" : ""), p.getId(), nombre,
+                    e != null ? String.format("%.1f", e.getPromedio()) : "-",
+                    e != null ? String.valueOf(e.getSemestresCursados()) : "-", p.getEstado());
+        }
+        System.out.println("----------------------------------------------------------------------------------------");
+        System.out.println("(*) dentro de los cupos");
+
+        int cupos = input.leerEntero("Nuevos cupos [" + c.getCupos() + "]: ", c.getCupos());
+        if (cupos != c.getCupos()) {
+            try {
+                gestor.asignarCupos(c.getId(), cupos);
+                System.out.println("Cupos actualizados.");
+            } catch (IllegalArgumentException ex) {
+                System.out.println(ex.getMessage());
+            }
+        }
+    }
+
+    private void importarCatalogo() {
+        String ruta = input.leerLinea("Ruta del archivo (id;universidad;pais;area;reqAcad;reqEcon[;inicio;fin]): ");
+        if (ruta.isEmpty()) return;
+        try {
+            ResultadoImportacion r = gestor.importarConvenios(Paths.get(ruta));
+            System.out.println(r.getImportados() + " convenios importados, " + r.getFilasConError() + " filas omitidas.");
+        } catch (IOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getMessage());
+        }
+        input.pausaEnter("[Enter] para continuar...");
+    }
+}
@@ -1,9 +1,16 @@
     package menu;
 
+    import gestores.EventoDominio;
     import gestores.GestorIntercambio;
     import modelo.Usuario;
     import servicios.VerificarInput;
     import enums.Rol;
+    import enums.TipoEvento;
+
+    import java.util.List;
+    import java.util.Queue;
+    import java.util.concurrent.ConcurrentLinkedQueue;
+    import java.util.function.Consumer;
 
     public class MenuFunciones {
 
@@ -13,6 +20,8 @@
         private final MenuConvenios menuConvenios;
         private final MenuPostulaciones menuPostulaciones;
         private final MenuPerfil menuPerfil;
+        private final Queue<String> novedades = new ConcurrentLinkedQueue<>();
+        private final Consumer<List<EventoDominio>> oyenteEventos = this::registrarNovedades;
 
         public MenuFunciones(VerificarInput input, GestorIntercambio gestor, Usuario usuarioActual,
                              MenuConvenios menuConvenios, MenuPostulaciones menuPostulaciones, MenuPerfil menuPerfil) {
@@ -25,7 +34,46 @@
         }
 
         public void ejecutarMenu() {
+            gestor.getEventos().suscribirAgrupado(oyenteEventos);
+            try {
+                mostrarMenu();
+            } finally {
+                gestor.getEventos().desuscribir(oyenteEventos);
+            }
+        }
+
+        /**
+         * Guarda los avisos que le interesan al usuario para mostrarlos antes del próximo menú:
+         * al estudiante, los cambios en sus postulaciones y los convenios nuevos para los que
+         * califica; al funcionario, las postulaciones nuevas.
+         */
+        private void registrarNovedades(List<EventoDominio> lote) {
+            for (EventoDominio e : lote) {
+                if (usuarioActual.getRol() == Rol.ESTUDIANTE) {
+                    if (usuarioActual.getRut().equals(e.getRutEstudiante()) && e.getTipo() != TipoEvento.POSTULACION_CREADA) {
+                        novedades.add(e.toString());
+                    } else if (e.getTipo() == TipoEvento.CONVENIO_PUBLICADO && e.esPara(usuarioActual.getRut())) {
+                        novedades.add("Nuevo convenio para el que calificas: " + e.getConvenio().getId() + " - "
+                                + e.getConvenio().getUniversidad() + " (" + e.getConvenio().getPais() + ")");
+                    }
+                } else if (usuarioActual.getRol() == Rol.FUNCIONARIO && e.getTipo() == TipoEvento.POSTULACION_CREADA) {
+                    novedades.add(e + " (RUT " + e.getRutEstudiante() + ")");
+                }
+            }
+        }
+
+        private void mostrarNovedades() {
+            if (novedades.isEmpty()) return;
+            System.out.println("\n--- Novedades ---");
+            String n;
+            while ((n = novedades.poll()) != null) {
+                System.out.println("* " + n);
+            }
+        }
+
+        private void mostrarMenu() {
             while (true) {
+                mostrarNovedades();
                 System.out.println("\n=== Menú de " + usuarioActual.getRol() + " ===");
                 int op = -1;
 
@@ -67,6 +115,7 @@
         private void mostrarOpcionesAuditor() {
             System.out.println("1) Ver todos los convenios");
             System.out.println("2) Ver todas las postulaciones");
+            System.out.println("3) Reportes de postulaciones");
             System.out.println("0) Cerrar sesión");
         }
 
@@ -110,6 +159,9 @@
                 case 2:
                     this.menuPostulaciones.ejecutarMenuFuncionario();
                     break;
+                case 3:
+                    this.menuPostulaciones.ejecutarReportesAuditor();
+                    break;
                 default:
                     System.out.println("Opción inválida.");
             }
@@ -46,9 +46,12 @@ public class MenuPerfil {
                     break;
                 case 4:
                     if (usuarioActual instanceof Estudiante) {
-                        Estudiante est = (Estudiante) usuarioActual;
-                        est.setCarrera(input.leerLinea("Nueva carrera: "));
-                        System.out.println("Carrera actualizada.");
+                        try {
+                            gestor.actualizarCarrera(usuarioActual.getRut(), input.leerLinea("Nueva carrera: "));
+                            System.out.println("Carrera actualizada.");
+                        } catch (IllegalArgumentException e) {
+                            System.out.println(e.getMessage());
+                        }
                     }
                     break;
                 case 0:
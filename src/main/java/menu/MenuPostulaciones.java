@@ -2,16 +2,24 @@ package menu;
 
 import enums.*;
 import gestores.GestorIntercambio;
+import gestores.PropuestaAsignacion;
+import gestores.ResultadoCambioMasivo;
 import modelo.*;
+import servicios.AgregadosPostulaciones;
 import servicios.VerificarInput;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class MenuPostulaciones {
     private final VerificarInput input;
     private final Usuario usuarioActual;
     private final GestorIntercambio gestor;
+    private static final int TAMANO_PAGINA_HISTORIAL = 10;
 
     public MenuPostulaciones(VerificarInput input, GestorIntercambio gestor, Usuario usuarioActual) {
         this.input = input;
@@ -23,7 +31,7 @@ public class MenuPostulaciones {
         while (true) {
             System.out.println("\n--- Mis Postulaciones ---");
             Estudiante estudiante = (Estudiante) usuarioActual;
-            List<Postulacion> postulaciones = gestor.getPostulaciones("rut", estudiante.getRut());
+            Collection<Postulacion> postulaciones = gestor.getPostulaciones("rut", estudiante.getRut());
             if (mostrarListaYPermitirSeleccion(postulaciones)) {
                 return;
             }
@@ -35,10 +43,12 @@ public class MenuPostulaciones {
             System.out.println("\n--- Menú de Postulaciones (Funcionario) ---");
             System.out.println("1) Ver todas las postulaciones");
             System.out.println("2) Ver postulaciones 'POR REVISAR'");
+            System.out.println("3) Cambio de estado masivo");
+            System.out.println("4) Asignación automática de cupos");
             System.out.println("0) Volver");
 
             int sel = input.leerEntero("Opción: ", -1);
-            List<Postulacion> postulacionesAMostrar;
+            Collection<Postulacion> postulacionesAMostrar;
 
             if (sel == 1) {
                 postulacionesAMostrar = gestor.getPostulaciones("todos", "");
@@ -50,6 +60,10 @@ public class MenuPostulaciones {
                 if (mostrarListaYPermitirSeleccion(postulacionesAMostrar)) {
                     return;
                 }
+            } else if (sel == 3) {
+                cambiarEstadoMasivo();
+            } else if (sel == 4) {
+                asignarCupos();
             } else if (sel == 0) {
                 return;
             } else {
@@ -58,13 +72,167 @@ public class MenuPostulaciones {
         }
     }
 
+    /**
+     * Cambia de estado varias postulaciones a la vez, indicadas por sus IDs separados por comas.
+     */
+    private void cambiarEstadoMasivo() {
+        System.out.println("\n--- Cambio de Estado Masivo ---");
+        String linea = input.leerLinea("IDs de las postulaciones (separados por comas): ");
+        List<String> ids = new ArrayList<>();
+        for (String id : linea.split(",")) {
+            if (!id.trim().isEmpty()) ids.add(id.trim().toUpperCase());
+        }
+        if (ids.isEmpty()) {
+            System.out.println("No se ingresaron IDs.");
+            return;
+        }
+        EstadoPostulacion destino = elegirEstadoDestino();
+        if (destino == null) return;
+
+        String conf = input.leerLinea("¿Cambiar " + ids.size() + " postulación(es) a " + destino + "? (s/n): ");
+        if (!conf.trim().equalsIgnoreCase("s")) {
+            System.out.println("Operación cancelada.");
+            return;
+        }
+        imprimirResultado(gestor.cambiarEstadoMasivo(ids, destino));
+        input.pausaEnter("[Enter] para continuar...");
+    }
+
+    /**
+     * Calcula la asignación estable de cupos, muestra la propuesta y la aplica si el funcionario confirma.
+     */
+    private void asignarCupos() {
+        System.out.println("\nCalculando asignación...");
+        PropuestaAsignacion propuesta = gestor.proponerAsignacion();
+        System.out.println(propuesta + ".");
+        if (propuesta.getAsignadas().isEmpty()) {
+            input.pausaEnter("[Enter] para continuar...");
+            return;
+        }
+        System.out.println("Asignados por convenio:");
+        propuesta.getAsignadasPorConvenio().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> System.out.println("  " + e.getKey() + ": " + e.getValue()));
+
+        String conf = input.leerLinea("¿Aceptar las " + propuesta.getAsignadas().size()
+                + " postulaciones asignadas? Las demás de cada estudiante quedarán ABANDONADA (s/n): ");
+        if (!conf.trim().equalsIgnoreCase("s")) {
+            System.out.println("Operación cancelada.");
+            return;
+        }
+        imprimirResultado(gestor.aplicarAsignacion(propuesta));
+        input.pausaEnter("[Enter] para continuar...");
+    }
+
+    /**
+     * Reportes del auditor sobre los conteos materializados (no recorren las postulaciones).
+     */
+    public void ejecutarReportesAuditor() {
+        while (true) {
+            System.out.println("\n--- Reportes de Postulaciones (Auditor) ---");
+            System.out.println("1) Por país, área y programa");
+            System.out.println("2) Totales por país");
+            System.out.println("3) Totales por área");
+            System.out.println("4) Totales por programa");
+            System.out.println("5) Tasa de aceptación por convenio");
+            System.out.println("6) Verificar conteos (recálculo completo)");
+            System.out.println("0) Volver");
+
+            AgregadosPostulaciones agregados = gestor.getAgregados();
+            switch (input.leerEntero("Opción: ", -1)) {
+                case 1: imprimirFilas(agregados.getFilas()); break;
+                case 2: imprimirFilas(agregados.getSubtotales(true, false, false)); break;
+                case 3: imprimirFilas(agregados.getSubtotales(false, true, false)); break;
+                case 4: imprimirFilas(agregados.getSubtotales(false, false, true)); break;
+                case 5: imprimirTasasPorConvenio(agregados); break;
+                case 6: verificarConteos(); break;
+                case 0: return;
+                default: System.out.println("Opción inválida.");
+            }
+        }
+    }
+
+    private void imprimirFilas(List<AgregadosPostulaciones.Fila> filas) {
+        String linea = "-".repeat(44 + 13 * (EstadoPostulacion.values().length + 1));
+        System.out.println(linea);
+        StringBuilder encabezado = new StringBuilder(String.format("| %-40s |", "PAÍS / ÁREA / PROGRAMA"));
+        for (EstadoPostulacion e : EstadoPostulacion.values()) encabezado.append(String.format(" %10.10s |", e));
+        System.out.println(encabezado.append(String.format(" %10s |", "TOTAL")));
+        System.out.println(linea);
+        for (AgregadosPostulaciones.Fila f : filas) {
+            String grupo = f.getPais() + " / " + f.getArea() + " / " + f.getPrograma();
+            if (grupo.length() > 40) grupo = grupo.substring(0, 37) + "...";
+            StringBuilder sb = new StringBuilder(String.format("| %-40s |", grupo));
+            for (EstadoPostulacion e : EstadoPostulacion.values()) sb.append(String.format(" %10d |", f.contar(e)));
+            System.out.println(sb.append(String.format(" %10d |", f.getTotal())));
+        }
+        System.out.println(linea);
+        System.out.println("(" + AgregadosPostulaciones.TODOS + " = todos)");
+        input.pausaEnter("[Enter] para continuar...");
+    }
+
+    private void imprimirTasasPorConvenio(AgregadosPostulaciones agregados) {
+        List<AgregadosPostulaciones.Fila> filas = agregados.getFilasPorConvenio();
+        int n = input.leerEntero("¿Cuántos convenios mostrar? [20]: ", 20);
+        System.out.println("\nTotal: " + agregados.contar(null, null, null, null) + " postulaciones, "
+                + agregados.contar(EstadoPostulacion.ACEPTADA, null, null, null) + " aceptadas");
+        System.out.println("------------------------------------------------------------------------------");
+        System.out.printf("| %-8s | %-30s | %-10s | %-10s | %-7s |%n", "ID", "UNIVERSIDAD", "ACEPTADAS", "TOTAL", "TASA");
+        System.out.println("------------------------------------------------------------------------------");
+        for (AgregadosPostulaciones.Fila f : filas.subList(0, Math.min(Math.max(n, 0), filas.size()))) {
+            String universidad = gestor.buscarConvenio(f.getIdConvenio()).map(Convenio::getUniversidad).orElse("-");
+            if (universidad.length() > 30) universidad = universidad.substring(0, 27) + "...";
+            System.out.printf("| %-8s | %-30s | %-10d | %-10d | %6.1f%% |%n", f.getIdConvenio(), universidad,
+                    f.contar(EstadoPostulacion.ACEPTADA), f.getTotal(), 100 * f.getTasaAceptacion());
+        }
+        System.out.println("------------------------------------------------------------------------------");
+        input.pausaEnter("[Enter] para continuar...");
+    }
+
+    private void verificarConteos() {
+        System.out.println("\nRecalculando sobre todas las postulaciones...");
+        long inicio = System.nanoTime();
+        List<String> diferencias = gestor.verificarAgregados();
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        if (diferencias.isEmpty()) {
+            System.out.println("Los conteos coinciden con el recálculo (" + ms + " ms).");
+        } else {
+            System.out.println(diferencias.size() + " diferencia(s) (" + ms + " ms):");
+            diferencias.stream().limit(20).forEach(d -> System.out.println("  " + d));
+        }
+        input.pausaEnter("[Enter] para continuar...");
+    }
+
+    private EstadoPostulacion elegirEstadoDestino() {
+        System.out.println("1) PRESELECCIONADA");
+        System.out.println("2) ACEPTADA (las demás postulaciones del estudiante quedan ABANDONADA)");
+        System.out.println("3) RECHAZADA");
+        System.out.println("0) Volver");
+        switch (input.leerEntero("Seleccione el nuevo estado: ", -1)) {
+            case 1: return EstadoPostulacion.PRESELECCIONADA;
+            case 2: return EstadoPostulacion.ACEPTADA;
+            case 3: return EstadoPostulacion.RECHAZADA;
+            case 0: return null;
+            default:
+                System.out.println("Opción inválida.");
+                return null;
+        }
+    }
+
+    private static void imprimirResultado(ResultadoCambioMasivo r) {
+        System.out.println(r + ".");
+        for (String rechazo : r.getRechazos()) {
+            System.out.println("  - " + rechazo);
+        }
+    }
+
     public void mostrarPostulacionesPorConvenio(String convenioId) {
         System.out.println("\n>>> Postulaciones para el Convenio " + convenioId);
-        List<Postulacion> postulaciones = gestor.getPostulaciones("convenio", convenioId);
+        Collection<Postulacion> postulaciones = gestor.getPostulaciones("convenio", convenioId);
         mostrarListaYPermitirSeleccion(postulaciones);
     }
 
-    private boolean mostrarListaYPermitirSeleccion(List<Postulacion> postulaciones) {
+    private boolean mostrarListaYPermitirSeleccion(Collection<Postulacion> postulaciones) {
         if (postulaciones.isEmpty()) {
             System.out.println("No hay postulaciones registradas en esta lista.");
             input.pausaEnter("[Enter] para volver...");
@@ -113,7 +281,7 @@ public class MenuPostulaciones {
         return false;
     }
 
-    private void manejarSeleccionPostulacion(String op, List<Postulacion> postulaciones) {
+    private void manejarSeleccionPostulacion(String op, Collection<Postulacion> postulaciones) {
         String idNormalizado = op.toUpperCase().startsWith("P") ? op.toUpperCase() : "P" + op.toUpperCase();
 
         Optional<Postulacion> postulacionOpt = postulaciones.stream()
@@ -167,41 +335,11 @@ public class MenuPostulaciones {
     private void gestionarEstado(Postulacion p) {
         System.out.println("\n--- Cambiar Estado de Postulación ---");
         System.out.println("Estado actual: " + p.getEstado());
-        System.out.println("1) PRESELECCIONADA");
-        System.out.println("2) ACEPTADA");
-        System.out.println("3) RECHAZADA");
-        System.out.println("0) Volver");
-
-        int sel = input.leerEntero("Seleccione el nuevo estado: ", -1);
-        EstadoPostulacion nuevoEstado = p.getEstado();
-
-        switch (sel) {
-            case 1:
-                nuevoEstado = EstadoPostulacion.PRESELECCIONADA;
-                System.out.println("Estado actualizado a PRESELECCIONADA.");
-                break;
-            case 2:
-                nuevoEstado = EstadoPostulacion.ACEPTADA;
-                Estudiante postulante = gestor.buscarEstudiantePorPostulacion(p.getId());
-                if (postulante != null) {
-                    gestor.descartarOtrasPostulaciones(postulante, p.getId());
-                    System.out.println("El estudiante ha sido aceptado. Las demás postulaciones han sido marcadas como RECHAZADA.");
-                }
-                break;
-            case 3:
-                nuevoEstado = EstadoPostulacion.RECHAZADA;
-                System.out.println("Postulación RECHAZADA.");
-                break;
-            case 0:
-                return;
-            default:
-                System.out.println("Opción inválida.");
-                return;
-        }
+        EstadoPostulacion nuevoEstado = elegirEstadoDestino();
+        if (nuevoEstado == null || nuevoEstado == p.getEstado()) return;
 
-        if (nuevoEstado != p.getEstado()) {
-            p.setEstado(nuevoEstado);
-        }
+        // Mismo camino que el cambio masivo: valida la transición y, al aceptar, descarta las demás
+        imprimirResultado(gestor.cambiarEstadoMasivo(Collections.singletonList(p.getId()), nuevoEstado));
     }
 
     private void mostrarDetallesPostulacion(Postulacion p) {
@@ -229,9 +367,8 @@ public class MenuPostulaciones {
             System.out.println("\n--- Subir Documento ---");
             String titulo = input.leerLinea("Título del documento (ej: 'PASAPORTE.pdf'): ");
             Interaccion interaccion = new Interaccion(usuarioActual, TipoInteraccion.DOCUMENTO, titulo, LocalDateTime.now(), null);
-            p.agregarInteraccion(interaccion);
-            if (p.getEstado() != EstadoPostulacion.POR_REVISAR) {
-                p.setEstado(EstadoPostulacion.POR_REVISAR);
+            gestor.agregarInteraccionAPostulacion(p.getId(), interaccion);
+            if (gestor.cambiarEstadoPostulacion(p, EstadoPostulacion.POR_REVISAR)) {
                 System.out.println("Documento agregado exitosamente. El estado de la postulación ha sido cambiado a 'POR REVISAR'.");
             } else {
                 System.out.println("Documento agregado exitosamente.");
@@ -240,29 +377,45 @@ public class MenuPostulaciones {
             System.out.println("\n--- Agregar Comentario ---");
             String titulo = input.leerLinea("Ingrese su comentario: ");
             Interaccion interaccion = new Interaccion(usuarioActual, TipoInteraccion.COMENTARIO, titulo, LocalDateTime.now(), null);
-            p.agregarInteraccion(interaccion);
-            p.setEstado(EstadoPostulacion.REVISADA);
-            System.out.println("Comentario agregado y estado de postulación cambiado a 'REVISADA'.");
+            gestor.agregarInteraccionAPostulacion(p.getId(), interaccion);
+            if (gestor.cambiarEstadoPostulacion(p, EstadoPostulacion.REVISADA)) {
+                System.out.println("Comentario agregado y estado de postulación cambiado a 'REVISADA'.");
+            } else {
+                System.out.println("Comentario agregado. La postulación se mantiene en '" + p.getEstado() + "'.");
+            }
         }
     }
 
     private void verHistorialInteracciones(Postulacion p) {
         System.out.println("\n--- Historial de Interacciones ---");
-        if (p.getInteracciones().isEmpty()) {
+        if (p.getCantidadInteracciones() == 0) {
             System.out.println("No hay interacciones registradas.");
-        } else {
-            System.out.println("---------------------------------------------------------------------------------------------------");
-            System.out.printf("| %-12s | %-25s | %-50s |%n", "FECHA", "AGREGADO POR", "ARCHIVO / COMENTARIO");
-            System.out.println("---------------------------------------------------------------------------------------------------");
-            for (Interaccion i : p.getInteracciones()) {
+            input.pausaEnter("\n[Enter] para continuar...");
+            return;
+        }
+        System.out.println("---------------------------------------------------------------------------------------------------");
+        System.out.printf("| %-12s | %-25s | %-50s |%n", "FECHA", "AGREGADO POR", "ARCHIVO / COMENTARIO");
+        System.out.println("---------------------------------------------------------------------------------------------------");
+        // El historial se lee por páginas; se pide la siguiente solo si el usuario quiere seguir
+        Interaccion ultima = null;
+        int mostradas = 0;
+        while (true) {
+            List<Interaccion> pagina = gestor.getPaginaInteracciones(p.getId(), ultima, TAMANO_PAGINA_HISTORIAL);
+            for (Interaccion i : pagina) {
                 String tituloFormato = i.getTitulo().length() > 47 ? i.getTitulo().substring(0, 44) + "..." : i.getTitulo();
                 System.out.printf("| %-12s | %-25s | %-50s |%n",
                         i.getFechaHora().toLocalDate(),
-                        i.getAutor().getNombreCompleto(),
+                        i.getAutor() != null ? i.getAutor().getNombreCompleto() : "-",
                         tituloFormato);
             }
+            mostradas += pagina.size();
+            if (pagina.size() < TAMANO_PAGINA_HISTORIAL) break;
+            ultima = pagina.get(pagina.size() - 1);
             System.out.println("---------------------------------------------------------------------------------------------------");
+            System.out.println("Mostrando " + mostradas + " de " + p.getCantidadInteracciones() + ". [Enter] para ver más, 0 para terminar.");
+            if (input.leerLinea().trim().equals("0")) break;
         }
+        System.out.println("---------------------------------------------------------------------------------------------------");
         input.pausaEnter("\n[Enter] para continuar...");
     }
 }
\ No newline at end of file
@@ -50,6 +50,7 @@ public class MenuPrincipal {
         if (resultado.isExito()) {
             System.out.println("\nBienvenido, " + resultado.getUsuario().getNombreCompleto());
             redirigirUsuario(resultado.getUsuario());
+            gestor.cerrarSesion(resultado.getSesion());
         } else {
             System.out.println(resultado.getMensaje());
         }
@@ -84,7 +85,6 @@ public class MenuPrincipal {
         MenuFunciones menuFunciones = new MenuFunciones(input, gestor, usuario, menuConvenios, menuPostulaciones, menuPerfil);
 
         menuFunciones.ejecutarMenu();
-        gestor.cerrarSesion();
     }
 
     private static boolean validarRut(String rut) {
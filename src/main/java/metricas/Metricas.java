@@ -0,0 +1,156 @@
+package metricas;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Registro de métricas de la aplicación: contadores, medidores (valores que se leen al
+ * consultar, como la cantidad de entidades) y temporizadores de latencia.
+ *
+ * Quien mide debería pedir el contador o temporizador una vez y guardarlo en un campo;
+ * así registrar una medición no pasa por el mapa. Se puede publicar como MXBean de la
+ * plataforma y volcar periódicamente a un archivo de texto.
+ */
+public class Metricas implements MetricasMXBean, AutoCloseable {
+    public static final String NOMBRE_JMX = "sia:type=Metricas";
+
+    private final Map<String, LongAdder> contadores = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> medidores = new ConcurrentHashMap<>();
+    private final Map<String, Temporizador> temporizadores = new ConcurrentHashMap<>();
+    private ScheduledExecutorService volcado;
+    private ObjectName nombreRegistrado;
+
+    public LongAdder contador(String nombre) {
+        return contadores.computeIfAbsent(nombre, k -> new LongAdder());
+    }
+
+    public Temporizador temporizador(String nombre) {
+        return temporizadores.computeIfAbsent(nombre, k -> new Temporizador());
+    }
+
+    public void medidor(String nombre, LongSupplier valor) {
+        medidores.put(nombre, valor);
+    }
+
+    @Override
+    public Map<String, Long> getContadores() {
+        Map<String, Long> xs = new TreeMap<>();
+        contadores.forEach((k, v) -> xs.put(k, v.sum()));
+        return xs;
+    }
+
+    @Override
+    public Map<String, Long> getMedidores() {
+        Map<String, Long> xs = new TreeMap<>();
+        medidores.forEach((k, v) -> {
+            try {
+                xs.put(k, v.getAsLong());
+            } catch (RuntimeException e) {
+                xs.put(k, -1L);
+            }
+        });
+        return xs;
+    }
+
+    @Override
+    public Map<String, ResumenTemporizador> getTemporizadores() {
+        Map<String, ResumenTemporizador> xs = new TreeMap<>();
+        temporizadores.forEach((k, v) -> xs.put(k, v.resumen()));
+        return xs;
+    }
+
+    @Override
+    public String getReporte() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# Métricas ").append(LocalDateTime.now().withNano(0)).append('\n');
+        sb.append("## Contadores\n");
+        getContadores().forEach((k, v) -> sb.append(k).append(" = ").append(v).append('\n'));
+        sb.append("## Medidores\n");
+        getMedidores().forEach((k, v) -> sb.append(k).append(" = ").append(v).append('\n'));
+        sb.append("## Temporizadores\n");
+        getTemporizadores().forEach((k, v) -> sb.append(k).append(": ").append(v).append('\n'));
+        return sb.toString();
+    }
+
+    @Override
+    public void reiniciar() {
+        contadores.values().forEach(LongAdder::reset);
+        temporizadores.values().forEach(Temporizador::reiniciar);
+    }
+
+    /**
+     * Publica estas métricas en el servidor de MBeans de la plataforma con {@link #NOMBRE_JMX}.
+     * Si ya hay otras registradas con ese nombre, no hace nada.
+     */
+    public synchronized void registrarEnJmx() {
+        if (nombreRegistrado != null) return;
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nombre = new ObjectName(NOMBRE_JMX);
+            if (servidor.isRegistered(nombre)) {
+                System.err.println("Ya hay métricas registradas como " + NOMBRE_JMX + ".");
+                return;
+            }
+            servidor.registerMBean(this, nombre);
+            nombreRegistrado = nombre;
+        } catch (JMException e) {
+            System.err.println("No se pudieron publicar las métricas por JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Escribe el reporte en {@code archivo} cada {@code segundos}, reemplazando el anterior
+     * (se escribe a un temporal y se mueve, así quien lo lee nunca ve un archivo a medias).
+     */
+    public synchronized void iniciarVolcado(Path archivo, long segundos) {
+        if (volcado != null) return;
+        volcado = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "volcado-metricas");
+            t.setDaemon(true);
+            return t;
+        });
+        volcado.scheduleAtFixedRate(() -> volcar(archivo), segundos, segundos, TimeUnit.SECONDS);
+    }
+
+    public void volcar(Path archivo) {
+        try {
+            Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+            Files.write(temporal, getReporte().getBytes(StandardCharsets.UTF_8));
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("No se pudieron volcar las métricas a " + archivo + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (volcado != null) {
+            volcado.shutdownNow();
+            volcado = null;
+        }
+        if (nombreRegistrado != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(nombreRegistrado);
+            } catch (JMException e) {
+                // la JVM se está cerrando o ya no estaba registrado
+            }
+            nombreRegistrado = null;
+        }
+    }
+}
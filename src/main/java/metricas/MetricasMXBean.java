@@ -0,0 +1,18 @@
+package metricas;
+
+import java.util.Map;
+
+/**
+ * Vista JMX de las métricas (visible en JConsole o VisualVM bajo "sia:type=Metricas").
+ */
+public interface MetricasMXBean {
+    Map<String, Long> getContadores();
+
+    Map<String, Long> getMedidores();
+
+    Map<String, ResumenTemporizador> getTemporizadores();
+
+    String getReporte();
+
+    void reiniciar();
+}
@@ -0,0 +1,37 @@
+package metricas;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Foto de un temporizador, en microsegundos. Los percentiles son aproximados
+ * (cota superior de su cubeta).
+ */
+public class ResumenTemporizador {
+    private final long cantidad;
+    private final double promedioMicros;
+    private final long maximoMicros;
+    private final long p50Micros;
+    private final long p99Micros;
+
+    @ConstructorProperties({"cantidad", "promedioMicros", "maximoMicros", "p50Micros", "p99Micros"})
+    public ResumenTemporizador(long cantidad, double promedioMicros, long maximoMicros, long p50Micros, long p99Micros) {
+        this.cantidad = cantidad;
+        this.promedioMicros = promedioMicros;
+        this.maximoMicros = maximoMicros;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+    }
+
+    // Getters
+    public long getCantidad() { return cantidad; }
+    public double getPromedioMicros() { return promedioMicros; }
+    public long getMaximoMicros() { return maximoMicros; }
+    public long getP50Micros() { return p50Micros; }
+    public long getP99Micros() { return p99Micros; }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d prom=%.1fus p50<=%dus p99<=%dus max=%dus",
+                cantidad, promedioMicros, p50Micros, p99Micros, maximoMicros);
+    }
+}
@@ -0,0 +1,64 @@
+package metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mide duraciones con poco costo: la suma en un LongAdder, el máximo y un histograma de
+ * cubetas en potencias de 2 para estimar percentiles; la cantidad es la suma de las cubetas.
+ * La cubeta i cuenta las duraciones entre 2^i y 2^(i+1) nanosegundos. Las cubetas son un
+ * AtomicLongArray compartido, así que dos hilos que registran duraciones parecidas a la vez
+ * compiten por la misma celda.
+ */
+public final class Temporizador {
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maximoNanos = new AtomicLong();
+    private final AtomicLongArray cubetas = new AtomicLongArray(64);
+
+    /**
+     * Registra el tiempo transcurrido desde {@code inicioNanos} (un valor de System.nanoTime()).
+     */
+    public void registrarDesde(long inicioNanos) {
+        registrar(System.nanoTime() - inicioNanos);
+    }
+
+    public void registrar(long nanos) {
+        if (nanos < 1) nanos = 1;
+        totalNanos.add(nanos);
+        if (nanos > maximoNanos.get()) maximoNanos.accumulateAndGet(nanos, Math::max);
+        cubetas.incrementAndGet(63 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    public ResumenTemporizador resumen() {
+        long[] conteos = new long[cubetas.length()];
+        long n = 0;
+        for (int i = 0; i < conteos.length; i++) {
+            conteos[i] = cubetas.get(i);
+            n += conteos[i];
+        }
+        long total = totalNanos.sum();
+        return new ResumenTemporizador(n, n == 0 ? 0 : total / n / 1000.0, maximoNanos.get() / 1000,
+                percentilMicros(conteos, n, 0.50), percentilMicros(conteos, n, 0.99));
+    }
+
+    /**
+     * Cota superior de la cubeta donde cae el percentil (a lo más el doble del valor real).
+     */
+    private static long percentilMicros(long[] conteos, long n, double p) {
+        if (n == 0) return 0;
+        long objetivo = (long) Math.ceil(n * p);
+        long acumulado = 0;
+        for (int i = 0; i < conteos.length; i++) {
+            acumulado += conteos[i];
+            if (acumulado >= objetivo) return i >= 62 ? Long.MAX_VALUE / 1000 : ((1L << (i + 1)) + 999) / 1000;
+        }
+        return 0;
+    }
+
+    void reiniciar() {
+        totalNanos.reset();
+        maximoNanos.set(0);
+        for (int i = 0; i < cubetas.length(); i++) cubetas.set(i, 0);
+    }
+}
@@ -1,6 +1,9 @@
 package modelo;
 
-public class Convenio {
+public class Convenio extends EntidadRastreable {
+    /** Cupos de un convenio cuando el catálogo no los indica (también es el valor por defecto de la columna). */
+    public static final int CUPOS_POR_DEFECTO = 2;
+
     private String id;
     private String universidad;
     private String pais;
@@ -8,8 +11,13 @@ public class Convenio {
     private String requisitosAcademicos;
     private String requisitosEconomicos;
     private int idPrograma;
+    private int cupos;
 
     public Convenio(String id, String universidad, String pais, String area, String requisitosAcademicos, String requisitosEconomicos, int idPrograma) {
+        this(id, universidad, pais, area, requisitosAcademicos, requisitosEconomicos, idPrograma, CUPOS_POR_DEFECTO);
+    }
+
+    public Convenio(String id, String universidad, String pais, String area, String requisitosAcademicos, String requisitosEconomicos, int idPrograma, int cupos) {
         this.id = id;
         this.universidad = universidad;
         this.pais = pais;
@@ -17,6 +25,7 @@ public class Convenio {
         this.requisitosAcademicos = requisitosAcademicos;
         this.requisitosEconomicos = requisitosEconomicos;
         this.idPrograma = idPrograma;
+        this.cupos = cupos;
     }
     // Getters y Setters...
     public String getId() { return id; }
@@ -26,4 +35,6 @@ public class Convenio {
     public String getRequisitosAcademicos() { return requisitosAcademicos; }
     public String getRequisitosEconomicos() { return requisitosEconomicos; }
     public int getIdPrograma() { return idPrograma; }
+    public int getCupos() { return cupos; }
+    public void setCupos(int cupos) { this.cupos = cupos; marcarModificado(); }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package modelo;
+
+import java.util.function.Consumer;
+
+/**
+ * Base de las entidades que se guardan en la base de datos con seguimiento de cambios.
+ * Los setters marcan la entidad como modificada y avisan (una sola vez, hasta que se
+ * guarde) al observador registrado, que lleva la lista de filas por guardar.
+ * Una entidad recién creada se considera modificada hasta que se guarda o se carga.
+ */
+public abstract class EntidadRastreable {
+    private transient volatile boolean modificado = true;
+    private transient volatile Consumer<EntidadRastreable> observador;
+
+    protected void marcarModificado() {
+        if (!modificado) {
+            modificado = true;
+            Consumer<EntidadRastreable> obs = observador;
+            if (obs != null) obs.accept(this);
+        }
+    }
+
+    public boolean isModificado() { return modificado; }
+
+    /**
+     * Vuelve a marcar la entidad como modificada (por ejemplo, si su escritura falló),
+     * para que el próximo guardado la incluya.
+     */
+    public void marcarPendiente() { marcarModificado(); }
+
+    /**
+     * Marca la entidad como guardada. Debe llamarse antes de leer los valores a guardar,
+     * para que un cambio concurrente vuelva a marcarla.
+     */
+    public void limpiarModificado() { this.modificado = false; }
+
+    public void setObservador(Consumer<EntidadRastreable> observador) {
+        this.observador = observador;
+        if (modificado && observador != null) observador.accept(this);
+    }
+}
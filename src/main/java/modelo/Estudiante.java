@@ -2,8 +2,8 @@ package modelo;
 
 import enums.Rol;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Estudiante extends Usuario {
     private String carrera;
@@ -16,7 +16,7 @@ public class Estudiante extends Usuario {
         this.carrera = carrera;
         this.promedio = promedio;
         this.semestresCursados = semestresCursados;
-        this.postulaciones = new ArrayList<>();
+        this.postulaciones = new CopyOnWriteArrayList<>();
     }
 
     public void agregarPostulacion(Postulacion postulacion) {
@@ -25,13 +25,13 @@ public class Estudiante extends Usuario {
 
     // Getters y Setters
     public String getCarrera() { return carrera; }
-    public void setCarrera(String carrera) { this.carrera = carrera; }
+    public void setCarrera(String carrera) { this.carrera = carrera; marcarModificado(); }
 
     public double getPromedio() { return promedio; }
-    public void setPromedio(double promedio) { this.promedio = promedio; }
+    public void setPromedio(double promedio) { this.promedio = promedio; marcarModificado(); }
 
     public int getSemestresCursados() { return semestresCursados; }
-    public void setSemestresCursados(int semestresCursados) { this.semestresCursados = semestresCursados; }
+    public void setSemestresCursados(int semestresCursados) { this.semestresCursados = semestresCursados; marcarModificado(); }
 
     public List<Postulacion> getPostulaciones() {
         return postulaciones;
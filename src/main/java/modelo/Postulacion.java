@@ -2,17 +2,17 @@ package modelo;
 
 import enums.*;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
 
-public class Postulacion {
+public class Postulacion extends EntidadRastreable {
     private String id;
     private String rutEstudiante;
     private String idConvenio;
     private Convenio convenioSeleccionado;
     private LocalDate fechaPostulacion;
-    private EstadoPostulacion estado;
-    private List<Interaccion> interacciones;
+    private volatile EstadoPostulacion estado;
+    // El historial completo se consulta por páginas en la base; en memoria queda solo el resumen
+    private int cantidadInteracciones;
+    private Interaccion ultimaInteraccion;
 
     // Constructor para la creación de postulaciones
     public Postulacion(String id, String rutEstudiante, String idConvenio, LocalDate fechaPostulacion, EstadoPostulacion estado) {
@@ -21,7 +21,6 @@ public class Postulacion {
         this.idConvenio = idConvenio;
         this.fechaPostulacion = fechaPostulacion;
         this.estado = estado;
-        this.interacciones = new ArrayList<>();
     }
 
     // Getters, Setters y métodos para agregar interacciones
@@ -32,7 +31,25 @@ public class Postulacion {
     public void setConvenioSeleccionado(Convenio convenioSeleccionado) { this.convenioSeleccionado = convenioSeleccionado; }
     public LocalDate getFechaPostulacion() { return fechaPostulacion; }
     public EstadoPostulacion getEstado() { return estado; }
-    public List<Interaccion> getInteracciones() { return interacciones; }
-    public void agregarInteraccion(Interaccion interaccion) { this.interacciones.add(interaccion); }
-    public void setEstado(EstadoPostulacion estadoPostulacion) { this.estado = estadoPostulacion; }
+    public synchronized int getCantidadInteracciones() { return cantidadInteracciones; }
+    public synchronized Interaccion getUltimaInteraccion() { return ultimaInteraccion; }
+
+    /**
+     * Registra una interacción nueva en el resumen (cantidad y última).
+     */
+    public synchronized void agregarInteraccion(Interaccion interaccion) {
+        cantidadInteracciones++;
+        if (ultimaInteraccion == null || !interaccion.getFechaHora().isBefore(ultimaInteraccion.getFechaHora())) {
+            ultimaInteraccion = interaccion;
+        }
+    }
+
+    /**
+     * Fija el resumen de interacciones leído desde la base.
+     */
+    public synchronized void setResumenInteracciones(int cantidad, Interaccion ultima) {
+        this.cantidadInteracciones = cantidad;
+        this.ultimaInteraccion = ultima;
+    }
+    public void setEstado(EstadoPostulacion estadoPostulacion) { this.estado = estadoPostulacion; marcarModificado(); }
 }
\ No newline at end of file
@@ -3,34 +3,43 @@ package modelo;
 import java.time.LocalDate;
 import java.util.*;
 
-public class Programa {
+public class Programa extends EntidadRastreable {
     private int id;
     private String nombre;
     private LocalDate fechaInicio;
     private LocalDate fechaFin;
-    private List<Convenio> convenios;
+    // Por ID, en orden de inserción. Las importaciones lo modifican mientras otras sesiones lo
+    // leen: se accede con el monitor del programa y getConvenios entrega una copia.
+    private final Map<String, Convenio> convenios;
 
     public Programa(int id, String nombre, LocalDate fechaInicio, LocalDate fechaFin) {
         this.id = id;
         this.nombre = nombre;
         this.fechaInicio = fechaInicio;
         this.fechaFin = fechaFin;
-        this.convenios = new ArrayList<>();
+        this.convenios = new LinkedHashMap<>();
     }
     // Getters, Setters y otros métodos...
     public int getId() { return id; }
-    public void setId(int id) { this.id = id; }
+    public void setId(int id) { this.id = id; marcarModificado(); }
     public String getNombre() { return nombre; }
     public LocalDate getFechaInicio() { return fechaInicio; }
     public LocalDate getFechaFin() { return fechaFin; }
-    public List<Convenio> getConvenios() { return convenios; }
-    public boolean agregarConvenio(Convenio conv) {
-        if (convenios.contains(conv)) {
+    public synchronized Collection<Convenio> getConvenios() { return Collections.unmodifiableList(new ArrayList<>(convenios.values())); }
+    public synchronized boolean contieneConvenio(String idConvenio) { return convenios.containsKey(idConvenio); }
+    public synchronized boolean agregarConvenio(Convenio conv) {
+        if (convenios.containsKey(conv.getId())) {
             return false;
         }
-        convenios.add(conv);
+        convenios.put(conv.getId(), conv);
         return true;
     }
+    /** Agrega el convenio al final, reemplazando en un solo paso al que tenga el mismo ID. */
+    public synchronized void reemplazarConvenio(Convenio conv) {
+        convenios.remove(conv.getId());
+        convenios.put(conv.getId(), conv);
+    }
+    public synchronized Convenio quitarConvenio(String idConvenio) { return convenios.remove(idConvenio); }
     public boolean estaVigente() {
         LocalDate hoy = LocalDate.now();
         return !hoy.isBefore(this.fechaInicio) && !hoy.isAfter(this.fechaFin);
@@ -2,13 +2,13 @@ package modelo;
 
 import enums.*;
 
-public class Usuario {
+public class Usuario extends EntidadRastreable {
     protected String rut;
     protected String nombreCompleto;
     protected String email;
     protected String pass;
-    protected boolean bloqueado;
-    protected int intentosFallidos;
+    protected volatile boolean bloqueado;
+    protected volatile int intentosFallidos;
     protected Rol rol;
 
     public Usuario(String rut, String nombreCompleto, String email, String pass, Rol rol) {
@@ -28,26 +28,34 @@ public class Usuario {
 
     // Getters y Setters
     public String getRut() { return rut; }
-    public void setRut(String rut) { this.rut = rut; }
+    public void setRut(String rut) { this.rut = rut; marcarModificado(); }
 
     public String getNombreCompleto() { return nombreCompleto; }
-    public void setNombreCompleto(String nombreCompleto) { this.nombreCompleto = nombreCompleto; }
+    public void setNombreCompleto(String nombreCompleto) { this.nombreCompleto = nombreCompleto; marcarModificado(); }
 
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public void setEmail(String email) { this.email = email; marcarModificado(); }
 
     public String getPass() { return pass; }
-    public void setPass(String pass) { this.pass = pass; }
+    public void setPass(String pass) { this.pass = pass; marcarModificado(); }
 
     public boolean isBloqueado() { return bloqueado; }
-    public void setBloqueado(boolean bloqueado) { this.bloqueado = bloqueado; }
+    public void setBloqueado(boolean bloqueado) { this.bloqueado = bloqueado; marcarModificado(); }
+    /**
+     * Refleja un cambio de bloqueo que se guarda aparte (solo esas columnas), sin marcar
+     * al usuario como modificado: así no se reescribe la fila completa.
+     */
+    public void registrarBloqueo(boolean bloqueado) {
+        this.bloqueado = bloqueado;
+        this.intentosFallidos = 0;
+    }
 
     public int getIntentosFallidos() { return intentosFallidos; }
     // todo sobrecarga
-    public void setIntentosFallidos(int intentosFallidos) { this.intentosFallidos = intentosFallidos; }
-    public void setIntentosFallidos() { this.intentosFallidos += 1; }
+    public void setIntentosFallidos(int intentosFallidos) { this.intentosFallidos = intentosFallidos; marcarModificado(); }
+    public void setIntentosFallidos() { this.intentosFallidos += 1; marcarModificado(); }
     public Rol getRol() { return rol; }
-    public void setRol(Rol rol) { this.rol = rol; }
+    public void setRol(Rol rol) { this.rol = rol; marcarModificado(); }
 /*
 public class Funcionario extends Usuario {
     public Funcionario(String rut, String nombreCompleto, String email, String pass) {
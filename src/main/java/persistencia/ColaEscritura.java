@@ -0,0 +1,275 @@
+package persistencia;
+
+import metricas.Metricas;
+import metricas.Temporizador;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cola de escritura diferida (write-behind).
+ * Las operaciones se encolan sin bloquear al usuario y un único hilo escritor las aplica
+ * en lotes: todo lo acumulado se ejecuta en una sola transacción (group commit), con
+ * sentencias preparadas que se reutilizan entre lotes.
+ *
+ * Si una operación falla, el lote se deshace y se vuelve a aplicar de a una operación por
+ * transacción: solo se pierde la que falló, y se avisa a quien la encoló para que pueda
+ * marcar la entidad como pendiente otra vez.
+ *
+ * Cada operación encolada devuelve un futuro que se completa cuando queda resuelta (confirmada
+ * en la base o descartada), para que quien lo necesite espere solo por sus propias escrituras.
+ */
+public class ColaEscritura implements AutoCloseable {
+    private static final int MAX_POR_LOTE = 1000;
+
+    private final ConexionBD conexion;
+    private final BlockingQueue<Pendiente> cola;
+    private final Map<String, PreparedStatement> sentencias;
+    private final Thread escritor;
+    private volatile boolean activa;
+    private final Temporizador tiempoLote;
+    private final LongAdder operaciones;
+    private final LongAdder lotesFallidos;
+    private final LongAdder operacionesFallidas;
+
+    /**
+     * Una escritura a aplicar dentro de la transacción del lote.
+     */
+    @FunctionalInterface
+    public interface OperacionEscritura {
+        void aplicar(Sentencias s) throws SQLException;
+    }
+
+    private static final class Pendiente {
+        final OperacionEscritura op;
+        final Runnable siFalla;
+        final CompletableFuture<Boolean> resuelta = new CompletableFuture<>();
+
+        Pendiente(OperacionEscritura op, Runnable siFalla) {
+            this.op = op;
+            this.siFalla = siFalla;
+        }
+    }
+
+    /**
+     * Acceso a las sentencias preparadas cacheadas de la conexión de escritura.
+     */
+    public interface Sentencias {
+        PreparedStatement get(String sql) throws SQLException;
+    }
+
+    public ColaEscritura(ConexionBD conexion) {
+        this(conexion, new Metricas());
+    }
+
+    /**
+     * @param metricas Dónde registrar el tiempo de cada lote ("bd.lote"), las operaciones
+     *                 aplicadas, los lotes que fallaron y las operaciones descartadas.
+     */
+    public ColaEscritura(ConexionBD conexion, Metricas metricas) {
+        this.conexion = conexion;
+        this.tiempoLote = metricas.temporizador("bd.lote");
+        this.operaciones = metricas.contador("bd.operaciones");
+        this.lotesFallidos = metricas.contador("bd.lotes_fallidos");
+        this.operacionesFallidas = metricas.contador("bd.operaciones_fallidas");
+        this.cola = new LinkedBlockingQueue<>();
+        this.sentencias = new HashMap<>();
+        this.activa = true;
+        this.escritor = new Thread(this::procesar, "escritor-bd");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    public CompletableFuture<Boolean> encolar(OperacionEscritura op) {
+        return encolar(op, null);
+    }
+
+    /**
+     * @param siFalla Se ejecuta en el hilo escritor si la operación no se pudo guardar
+     *                (por ejemplo, para volver a marcar la entidad como modificada); puede ser null.
+     * @return Se completa con true cuando la operación queda confirmada en la base, o con
+     *         false si se descartó.
+     */
+    public CompletableFuture<Boolean> encolar(OperacionEscritura op, Runnable siFalla) {
+        if (!activa) {
+            throw new IllegalStateException("La cola de escritura está cerrada");
+        }
+        Pendiente p = new Pendiente(op, siFalla);
+        cola.add(p);
+        return p.resuelta;
+    }
+
+    /**
+     * Espera hasta que todo lo encolado antes de esta llamada quede confirmado en la base.
+     * @return false si se agotó el tiempo de espera.
+     */
+    public boolean vaciar(long timeout, TimeUnit unidad) {
+        if (!escritor.isAlive()) return cola.isEmpty();
+        Pendiente marca = new Pendiente(s -> { }, null);
+        cola.add(marca);
+        return esperar(marca.resuelta, timeout, unidad);
+    }
+
+    /**
+     * Espera a que se resuelva una operación devuelta por {@link #encolar}.
+     * @return false si se agotó el tiempo de espera (o se interrumpió la espera).
+     */
+    public static boolean esperar(CompletableFuture<Boolean> resuelta, long timeout, TimeUnit unidad) {
+        try {
+            resuelta.get(timeout, unidad);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    public int getPendientes() { return cola.size(); }
+
+    private void procesar() {
+        List<Pendiente> lote = new ArrayList<>();
+        while (activa || !cola.isEmpty()) {
+            try {
+                Pendiente primera = cola.poll(200, TimeUnit.MILLISECONDS);
+                if (primera == null) continue;
+                lote.add(primera);
+                cola.drainTo(lote, MAX_POR_LOTE - 1);
+                aplicarLote(lote);
+            } catch (InterruptedException e) {
+                // close() interrumpe para despertar al escritor; se sigue vaciando la cola
+            } finally {
+                lote.clear();
+            }
+        }
+        cerrarSentencias();
+    }
+
+    private void aplicarLote(List<Pendiente> lote) {
+        Connection conn;
+        try {
+            conn = conexion.getEscritura();
+        } catch (SQLException e) {
+            System.err.println("No se pudo abrir la conexión de escritura: " + e.getMessage());
+            for (Pendiente p : lote) descartar(p);
+            return;
+        }
+        Sentencias s = this::sentencia;
+        long t0 = System.nanoTime();
+        try {
+            for (Pendiente p : lote) {
+                p.op.aplicar(s);
+            }
+            conn.commit();
+            tiempoLote.registrarDesde(t0);
+            operaciones.add(lote.size());
+            for (Pendiente p : lote) p.resuelta.complete(true);
+        } catch (SQLException | RuntimeException e) {
+            lotesFallidos.increment();
+            System.err.println("Error al guardar un lote de " + lote.size() + " cambios, se aplican de a uno: " + e.getMessage());
+            deshacer(conn);
+            if (lote.size() == 1) {
+                descartar(lote.get(0));
+            } else {
+                aplicarDeAUno(conn, lote);
+            }
+        }
+    }
+
+    /**
+     * Vuelve a aplicar un lote fallido con una transacción por operación, para que solo se
+     * pierdan las operaciones que fallan.
+     */
+    private void aplicarDeAUno(Connection conn, List<Pendiente> lote) {
+        Sentencias s = this::sentencia;
+        for (Pendiente p : lote) {
+            try {
+                p.op.aplicar(s);
+                conn.commit();
+                operaciones.increment();
+                p.resuelta.complete(true);
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Error al guardar un cambio: " + e.getMessage());
+                deshacer(conn);
+                descartar(p);
+            }
+        }
+    }
+
+    private void descartar(Pendiente p) {
+        operacionesFallidas.increment();
+        try {
+            if (p.siFalla != null) p.siFalla.run();
+        } catch (RuntimeException e) {
+            System.err.println("Error al avisar de un cambio no guardado: " + e.getMessage());
+        } finally {
+            p.resuelta.complete(false);
+        }
+    }
+
+    /**
+     * Deshace la transacción en curso y descarta las sentencias por lotes a medio armar,
+     * para que no se cuelen en la siguiente.
+     */
+    private void deshacer(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException ex) {
+            System.err.println("Error al deshacer el lote: " + ex.getMessage());
+        }
+        for (PreparedStatement ps : sentencias.values()) {
+            try {
+                ps.clearBatch();
+            } catch (SQLException ignored) {
+                // si quedó inservible, su próxima operación fallará y se informará
+            }
+        }
+    }
+
+    private PreparedStatement sentencia(String sql) throws SQLException {
+        PreparedStatement ps = sentencias.get(sql);
+        if (ps == null) {
+            ps = conexion.getEscritura().prepareStatement(sql);
+            sentencias.put(sql, ps);
+        }
+        return ps;
+    }
+
+    private void cerrarSentencias() {
+        for (PreparedStatement ps : sentencias.values()) {
+            try {
+                ps.close();
+            } catch (SQLException ignored) {
+                // la conexión se cierra de todas formas
+            }
+        }
+        sentencias.clear();
+    }
+
+    /**
+     * Deja de aceptar operaciones, aplica las pendientes y detiene el hilo escritor.
+     */
+    @Override
+    public void close() {
+        activa = false;
+        escritor.interrupt();
+        try {
+            escritor.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
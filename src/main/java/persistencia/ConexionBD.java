@@ -0,0 +1,104 @@
+package persistencia;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Conexiones de larga duración a la base SQLite.
+ * Mantiene un pequeño pool de conexiones de lectura y una única conexión de escritura,
+ * que usa exclusivamente la ColaEscritura (SQLite admite un solo escritor a la vez).
+ */
+public class ConexionBD implements AutoCloseable {
+    private static final int CONEXIONES_LECTURA = 4;
+
+    private final String url;
+    private final BlockingQueue<Connection> lecturas;
+    private final List<Connection> todas;
+    private Connection escritura;
+
+    @FunctionalInterface
+    public interface Lectura<T> {
+        T ejecutar(Connection conn) throws SQLException;
+    }
+
+    public ConexionBD(String url) {
+        this.url = url;
+        this.lecturas = new ArrayBlockingQueue<>(CONEXIONES_LECTURA);
+        this.todas = new ArrayList<>();
+    }
+
+    /**
+     * Ejecuta una lectura con una conexión del pool y la devuelve al terminar.
+     */
+    public <T> T leer(Lectura<T> lectura) throws SQLException {
+        Connection conn = lecturas.poll();
+        if (conn == null) {
+            conn = abrirLecturaSiHayCupo();
+        }
+        if (conn == null) {
+            try {
+                conn = lecturas.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrumpido esperando una conexión", e);
+            }
+        }
+        try {
+            return lectura.ejecutar(conn);
+        } finally {
+            lecturas.offer(conn);
+        }
+    }
+
+    private synchronized Connection abrirLecturaSiHayCupo() throws SQLException {
+        if (todas.size() - (escritura != null ? 1 : 0) >= CONEXIONES_LECTURA) {
+            return null;
+        }
+        Connection conn = abrir();
+        todas.add(conn);
+        return conn;
+    }
+
+    /**
+     * Conexión de escritura (sin autocommit). Solo debe usarla el hilo de la cola de escritura.
+     */
+    synchronized Connection getEscritura() throws SQLException {
+        if (escritura == null) {
+            escritura = abrir();
+            escritura.setAutoCommit(false);
+            todas.add(escritura);
+        }
+        return escritura;
+    }
+
+    private Connection abrir() throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement st = conn.createStatement()) {
+            // WAL permite leer mientras el escritor confirma; NORMAL evita un fsync por transacción en WAL
+            st.execute("PRAGMA journal_mode=WAL");
+            st.execute("PRAGMA synchronous=NORMAL");
+            st.execute("PRAGMA busy_timeout=5000");
+        }
+        return conn;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Connection conn : todas) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                System.err.println("Error al cerrar una conexión: " + e.getMessage());
+            }
+        }
+        todas.clear();
+        lecturas.clear();
+        escritura = null;
+    }
+}
@@ -0,0 +1,112 @@
+package persistencia;
+
+import modelo.Convenio;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Definición del esquema de la base SQLite. Permite partir desde un archivo vacío
+ * (por ejemplo, al generar datos sintéticos o en los benchmarks) y agrega a una base
+ * existente los índices y las columnas que faltan.
+ */
+public final class EsquemaBD {
+    private static final String[] SENTENCIAS = {
+            "CREATE TABLE IF NOT EXISTS usuarios ("
+                    + " rut TEXT PRIMARY KEY,"
+                    + " nombre TEXT NOT NULL,"
+                    + " email TEXT NOT NULL,"
+                    + " pass TEXT NOT NULL,"
+                    + " rol TEXT NOT NULL CHECK( rol IN ('ESTUDIANTE', 'FUNCIONARIO', 'AUDITOR') ),"
+                    + " bloqueado INTEGER NOT NULL DEFAULT 0,"
+                    + " intentos_fallidos INTEGER NOT NULL DEFAULT 0)",
+            "CREATE TABLE IF NOT EXISTS estudiantes_info ("
+                    + " rut_estudiante TEXT PRIMARY KEY,"
+                    + " carrera TEXT NOT NULL,"
+                    + " promedio REAL NOT NULL,"
+                    + " semestres_cursados INTEGER NOT NULL,"
+                    + " FOREIGN KEY (rut_estudiante) REFERENCES usuarios(rut))",
+            "CREATE TABLE IF NOT EXISTS programas ("
+                    + " id_programa INTEGER PRIMARY KEY,"
+                    + " nombre TEXT NOT NULL,"
+                    + " fecha_inicio TEXT NOT NULL,"
+                    + " fecha_fin TEXT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS convenios ("
+                    + " id_convenio TEXT PRIMARY KEY,"
+                    + " universidad TEXT NOT NULL,"
+                    + " pais TEXT NOT NULL,"
+                    + " area_estudios TEXT NOT NULL,"
+                    + " requisitos_academicos TEXT NOT NULL,"
+                    + " requisitos_economicos TEXT NOT NULL,"
+                    + " id_programa INTEGER NOT NULL,"
+                    + " cupos INTEGER NOT NULL DEFAULT " + Convenio.CUPOS_POR_DEFECTO + ","
+                    + " FOREIGN KEY (id_programa) REFERENCES programas(id_programa))",
+            "CREATE TABLE IF NOT EXISTS postulaciones ("
+                    + " id_postulacion TEXT PRIMARY KEY,"
+                    + " rut_estudiante TEXT NOT NULL,"
+                    + " id_convenio TEXT NOT NULL,"
+                    + " fecha_postulacion TEXT NOT NULL,"
+                    + " estado TEXT NOT NULL CHECK( estado IN ('POR_REVISAR', 'REVISADA', 'PRESELECCIONADA', 'ACEPTADA', 'RECHAZADA', 'ABANDONADA') ),"
+                    + " FOREIGN KEY (rut_estudiante) REFERENCES usuarios(rut),"
+                    + " FOREIGN KEY (id_convenio) REFERENCES convenios(id_convenio))",
+            "CREATE TABLE IF NOT EXISTS interacciones ("
+                    + " id_interaccion INTEGER PRIMARY KEY AUTOINCREMENT,"
+                    + " id_postulacion TEXT NOT NULL,"
+                    + " rut_autor TEXT NOT NULL,"
+                    + " tipo TEXT NOT NULL CHECK( tipo IN ('COMENTARIO', 'DOCUMENTO') ),"
+                    + " titulo TEXT NOT NULL,"
+                    + " fecha_hora TEXT NOT NULL,"
+                    + " FOREIGN KEY (id_postulacion) REFERENCES postulaciones(id_postulacion),"
+                    + " FOREIGN KEY (rut_autor) REFERENCES usuarios(rut))",
+            // Paginación por clave del historial de interacciones
+            "CREATE INDEX IF NOT EXISTS idx_interacciones_postulacion ON interacciones (id_postulacion, fecha_hora, id_interaccion)"
+    };
+
+    /**
+     * Columnas agregadas después de la primera versión: tabla, columna y definición.
+     * Se agregan con ALTER TABLE a las bases que no las tengan.
+     */
+    private static final String[][] COLUMNAS_NUEVAS = {
+            {"convenios", "cupos", "INTEGER NOT NULL DEFAULT " + Convenio.CUPOS_POR_DEFECTO}
+    };
+
+    private EsquemaBD() {
+    }
+
+    /**
+     * Crea las tablas, índices y columnas que no existan.
+     */
+    public static void preparar(ConexionBD conexion) throws SQLException {
+        conexion.leer(conn -> {
+            preparar(conn);
+            return null;
+        });
+    }
+
+    /**
+     * Igual que {@link #preparar(ConexionBD)}, sobre una conexión ya abierta.
+     */
+    public static void preparar(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            for (String sql : SENTENCIAS) {
+                st.execute(sql);
+            }
+            for (String[] columna : COLUMNAS_NUEVAS) {
+                if (!existeColumna(st, columna[0], columna[1])) {
+                    st.execute("ALTER TABLE " + columna[0] + " ADD COLUMN " + columna[1] + " " + columna[2]);
+                }
+            }
+        }
+    }
+
+    private static boolean existeColumna(Statement st, String tabla, String columna) throws SQLException {
+        try (ResultSet rs = st.executeQuery("PRAGMA table_info(" + tabla + ")")) {
+            while (rs.next()) {
+                if (columna.equalsIgnoreCase(rs.getString("name"))) return true;
+            }
+        }
+        return false;
+    }
+}
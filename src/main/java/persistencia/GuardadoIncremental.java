@@ -0,0 +1,79 @@
+package persistencia;
+
+import modelo.EntidadRastreable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Guardado incremental (checkpoints). Recibe las entidades que se marcan como modificadas
+ * y, cada cierto intervalo, entrega a la cola de escritura solo esas filas.
+ * Al cerrar la aplicación basta con guardar lo que quede pendiente.
+ */
+public class GuardadoIncremental implements AutoCloseable {
+    private final Queue<EntidadRastreable> pendientes;
+    private final Predicate<EntidadRastreable> guardar;
+    private ScheduledExecutorService programador;
+
+    /**
+     * @param guardar Encola la escritura de una entidad (debe limpiar su marca antes de leerla)
+     *                y devuelve false si la descartó.
+     */
+    public GuardadoIncremental(Predicate<EntidadRastreable> guardar) {
+        this.pendientes = new ConcurrentLinkedQueue<>();
+        this.guardar = guardar;
+    }
+
+    /**
+     * Observador para EntidadRastreable: anota la entidad como pendiente de guardar.
+     */
+    public void registrar(EntidadRastreable entidad) {
+        pendientes.add(entidad);
+    }
+
+    /**
+     * Encola la escritura de todas las entidades modificadas hasta ahora.
+     * @return Cantidad de filas enviadas a la cola de escritura.
+     */
+    public int guardarPendientes() {
+        int n = 0;
+        EntidadRastreable e;
+        while ((e = pendientes.poll()) != null) {
+            // Puede haberse guardado ya por otra vía (por ejemplo, al cambiar el estado)
+            if (e.isModificado() && guardar.test(e)) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    public int getPendientes() { return pendientes.size(); }
+
+    public synchronized void iniciar(long intervalo, TimeUnit unidad) {
+        if (programador != null) return;
+        programador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "guardado-incremental");
+            t.setDaemon(true);
+            return t;
+        });
+        programador.scheduleWithFixedDelay(() -> {
+            try {
+                guardarPendientes();
+            } catch (RuntimeException ex) {
+                System.err.println("Error en el guardado incremental: " + ex.getMessage());
+            }
+        }, intervalo, intervalo, unidad);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (programador != null) {
+            programador.shutdownNow();
+            programador = null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package persistencia;
+
+import modelo.Convenio;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class RepositorioConvenios {
+    private static final String SQL_TODOS =
+            "SELECT id_convenio, universidad, pais, area_estudios, requisitos_academicos, requisitos_economicos, id_programa, cupos FROM convenios";
+    private static final String SQL_GUARDAR =
+            "INSERT OR REPLACE INTO convenios (id_convenio, universidad, pais, area_estudios, requisitos_academicos, requisitos_economicos, id_programa, cupos) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ConexionBD conexion;
+    private final ColaEscritura cola;
+
+    public RepositorioConvenios(ConexionBD conexion, ColaEscritura cola) {
+        this.conexion = conexion;
+        this.cola = cola;
+    }
+
+    public List<Convenio> cargarTodos() throws SQLException {
+        return conexion.leer(conn -> {
+            List<Convenio> convenios = new ArrayList<>();
+            try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(SQL_TODOS)) {
+                while (rs.next()) {
+                    Convenio c = new Convenio(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                            rs.getString(5), rs.getString(6), rs.getInt(7), rs.getInt(8));
+                    c.limpiarModificado();
+                    convenios.add(c);
+                }
+            }
+            return convenios;
+        });
+    }
+
+    /**
+     * Los valores de un convenio copiados al encolar, para guardar una foto consistente
+     * aunque el convenio cambie antes de que el escritor lo procese.
+     */
+    private static final class Fila {
+        final String id;
+        final String universidad;
+        final String pais;
+        final String area;
+        final String requisitosAcademicos;
+        final String requisitosEconomicos;
+        final int idPrograma;
+        final int cupos;
+
+        Fila(Convenio c) {
+            c.limpiarModificado();
+            this.id = c.getId();
+            this.universidad = c.getUniversidad();
+            this.pais = c.getPais();
+            this.area = c.getArea();
+            this.requisitosAcademicos = c.getRequisitosAcademicos();
+            this.requisitosEconomicos = c.getRequisitosEconomicos();
+            this.idPrograma = c.getIdPrograma();
+            this.cupos = c.getCupos();
+        }
+
+        void asignar(PreparedStatement ps) throws SQLException {
+            ps.setString(1, id);
+            ps.setString(2, universidad);
+            ps.setString(3, pais);
+            ps.setString(4, area);
+            ps.setString(5, requisitosAcademicos);
+            ps.setString(6, requisitosEconomicos);
+            ps.setInt(7, idPrograma);
+            ps.setInt(8, cupos);
+        }
+    }
+
+    public void guardar(Convenio c) {
+        Fila fila = new Fila(c);
+        cola.encolar(s -> {
+            PreparedStatement ps = s.get(SQL_GUARDAR);
+            fila.asignar(ps);
+            ps.executeUpdate();
+        }, c::marcarPendiente);
+    }
+
+    /**
+     * Guarda (inserta o reemplaza) un lote de convenios con una sola sentencia por lotes.
+     * @return Se completa con true cuando el lote queda en la base, o con false si se descartó.
+     */
+    public CompletableFuture<Boolean> guardarLote(List<Convenio> lote) {
+        List<Convenio> copia = new ArrayList<>(lote);
+        List<Fila> filas = new ArrayList<>(copia.size());
+        for (Convenio c : copia) filas.add(new Fila(c));
+        return cola.encolar(s -> {
+            PreparedStatement ps = s.get(SQL_GUARDAR);
+            for (Fila fila : filas) {
+                fila.asignar(ps);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }, () -> copia.forEach(Convenio::marcarPendiente));
+    }
+}
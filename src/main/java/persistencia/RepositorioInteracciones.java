@@ -0,0 +1,136 @@
+package persistencia;
+
+import enums.TipoInteraccion;
+import modelo.Interaccion;
+import modelo.Usuario;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Acceso a la tabla interacciones. El historial no se carga completo: al iniciar solo se lee
+ * un resumen por postulación y las páginas se piden por demanda con paginación por clave
+ * (fecha_hora, id_interaccion), que no degrada como OFFSET en historiales largos
+ * (el índice que la respalda lo crea EsquemaBD).
+ */
+public class RepositorioInteracciones {
+    // SQLite devuelve las columnas sueltas de la fila que alcanza el MAX() del grupo
+    private static final String SQL_RESUMEN =
+            "SELECT id_interaccion, id_postulacion, rut_autor, tipo, titulo, MAX(fecha_hora), COUNT(*) FROM interacciones GROUP BY id_postulacion";
+    private static final String SQL_PRIMERA_PAGINA =
+            "SELECT id_interaccion, rut_autor, tipo, titulo, fecha_hora FROM interacciones WHERE id_postulacion = ? "
+                    + "ORDER BY fecha_hora, id_interaccion LIMIT ?";
+    private static final String SQL_PAGINA_SIGUIENTE =
+            "SELECT id_interaccion, rut_autor, tipo, titulo, fecha_hora FROM interacciones WHERE id_postulacion = ? "
+                    + "AND (fecha_hora > ? OR (fecha_hora = ? AND id_interaccion > ?)) "
+                    + "ORDER BY fecha_hora, id_interaccion LIMIT ?";
+    private static final String SQL_INSERTAR =
+            "INSERT INTO interacciones (id_postulacion, rut_autor, tipo, titulo, fecha_hora) VALUES (?, ?, ?, ?, ?)";
+
+    private final ConexionBD conexion;
+    private final ColaEscritura cola;
+    /** Última inserción aún sin resolver de cada postulación (la cola las aplica en orden). */
+    private final Map<String, CompletableFuture<Boolean>> ultimaInsercion = new ConcurrentHashMap<>();
+
+    /**
+     * Resumen del historial de una postulación: cuántas interacciones tiene y cuál es la última.
+     */
+    public interface DestinoResumen {
+        void aceptar(String idPostulacion, int cantidad, Interaccion ultima);
+    }
+
+    public RepositorioInteracciones(ConexionBD conexion, ColaEscritura cola) {
+        this.conexion = conexion;
+        this.cola = cola;
+    }
+
+    /**
+     * Entrega la cantidad de interacciones y la más reciente de cada postulación.
+     * @param autores Resuelve el autor a partir de su RUT.
+     */
+    public void cargarResumenes(Function<String, Usuario> autores, DestinoResumen destino) throws SQLException {
+        conexion.leer(conn -> {
+            try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(SQL_RESUMEN)) {
+                while (rs.next()) {
+                    Interaccion ultima = new Interaccion(rs.getString(1), autores.apply(rs.getString(3)),
+                            TipoInteraccion.valueOf(rs.getString(4)), rs.getString(5),
+                            LocalDateTime.parse(rs.getString(6)), null);
+                    destino.aceptar(rs.getString(2), rs.getInt(7), ultima);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Lee una página del historial de una postulación, en orden cronológico.
+     * @param despuesDe Última interacción de la página anterior (leída desde la base), o null para la primera.
+     * @param limite Tamaño máximo de la página.
+     */
+    public List<Interaccion> cargarPagina(String idPostulacion, Interaccion despuesDe, int limite,
+                                          Function<String, Usuario> autores) throws SQLException {
+        return conexion.leer(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(despuesDe == null ? SQL_PRIMERA_PAGINA : SQL_PAGINA_SIGUIENTE)) {
+                ps.setString(1, idPostulacion);
+                if (despuesDe == null) {
+                    ps.setInt(2, limite);
+                } else {
+                    String fecha = despuesDe.getFechaHora().toString();
+                    ps.setString(2, fecha);
+                    ps.setString(3, fecha);
+                    ps.setLong(4, Long.parseLong(despuesDe.getId()));
+                    ps.setInt(5, limite);
+                }
+                List<Interaccion> pagina = new ArrayList<>();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        pagina.add(new Interaccion(rs.getString(1), autores.apply(rs.getString(2)),
+                                TipoInteraccion.valueOf(rs.getString(3)), rs.getString(4),
+                                LocalDateTime.parse(rs.getString(5)), null));
+                    }
+                }
+                return pagina;
+            }
+        });
+    }
+
+    public void insertar(String idPostulacion, Interaccion i) {
+        // El esquema solo admite comentarios y documentos
+        if (i.getTipo() == TipoInteraccion.NOTIFICACION || i.getAutor() == null) return;
+        String rut = i.getAutor().getRut();
+        String tipo = i.getTipo().name();
+        String titulo = i.getTitulo();
+        String fecha = i.getFechaHora().toString();
+        CompletableFuture<Boolean> resuelta = cola.encolar(s -> {
+            PreparedStatement ps = s.get(SQL_INSERTAR);
+            ps.setString(1, idPostulacion);
+            ps.setString(2, rut);
+            ps.setString(3, tipo);
+            ps.setString(4, titulo);
+            ps.setString(5, fecha);
+            ps.executeUpdate();
+        });
+        ultimaInsercion.put(idPostulacion, resuelta);
+        resuelta.whenComplete((ok, ex) -> ultimaInsercion.remove(idPostulacion, resuelta));
+    }
+
+    /**
+     * Espera a que las interacciones encoladas para la postulación lleguen a la base.
+     * Si la postulación no tiene ninguna pendiente, vuelve de inmediato.
+     * @return false si se agotó el tiempo de espera.
+     */
+    public boolean esperarInserciones(String idPostulacion, long timeout, TimeUnit unidad) {
+        CompletableFuture<Boolean> resuelta = ultimaInsercion.get(idPostulacion);
+        return resuelta == null || ColaEscritura.esperar(resuelta, timeout, unidad);
+    }
+}
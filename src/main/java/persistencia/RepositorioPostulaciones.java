@@ -0,0 +1,100 @@
+package persistencia;
+
+import enums.EstadoPostulacion;
+import modelo.Postulacion;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RepositorioPostulaciones {
+    private static final String SQL_TODAS =
+            "SELECT id_postulacion, rut_estudiante, id_convenio, fecha_postulacion, estado FROM postulaciones";
+    private static final String SQL_GUARDAR =
+            "INSERT OR REPLACE INTO postulaciones (id_postulacion, rut_estudiante, id_convenio, fecha_postulacion, estado) VALUES (?, ?, ?, ?, ?)";
+    private static final String SQL_ACTUALIZAR_ESTADO =
+            "UPDATE postulaciones SET estado = ? WHERE id_postulacion = ?";
+
+    private final ConexionBD conexion;
+    private final ColaEscritura cola;
+
+    public RepositorioPostulaciones(ConexionBD conexion, ColaEscritura cola) {
+        this.conexion = conexion;
+        this.cola = cola;
+    }
+
+    public List<Postulacion> cargarTodas() throws SQLException {
+        return conexion.leer(conn -> {
+            List<Postulacion> postulaciones = new ArrayList<>();
+            try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(SQL_TODAS)) {
+                while (rs.next()) {
+                    Postulacion p = new Postulacion(rs.getString(1), rs.getString(2), rs.getString(3),
+                            LocalDate.parse(rs.getString(4)), EstadoPostulacion.valueOf(rs.getString(5)));
+                    p.limpiarModificado();
+                    postulaciones.add(p);
+                }
+            }
+            return postulaciones;
+        });
+    }
+
+    public void guardar(Postulacion p) {
+        p.limpiarModificado();
+        String id = p.getId();
+        String rut = p.getRutEstudiante();
+        String convenio = p.getIdConvenio();
+        String fecha = p.getFechaPostulacion().toString();
+        String estado = p.getEstado().name();
+        cola.encolar(s -> {
+            PreparedStatement ps = s.get(SQL_GUARDAR);
+            ps.setString(1, id);
+            ps.setString(2, rut);
+            ps.setString(3, convenio);
+            ps.setString(4, fecha);
+            ps.setString(5, estado);
+            ps.executeUpdate();
+        }, p::marcarPendiente);
+    }
+
+    public void actualizarEstado(Postulacion p) {
+        p.limpiarModificado();
+        String id = p.getId();
+        String estado = p.getEstado().name();
+        cola.encolar(s -> {
+            PreparedStatement ps = s.get(SQL_ACTUALIZAR_ESTADO);
+            ps.setString(1, estado);
+            ps.setString(2, id);
+            ps.executeUpdate();
+        }, p::marcarPendiente);
+    }
+
+    /**
+     * Guarda el estado de varias postulaciones en una sola operación de la cola, con una
+     * sentencia por lotes: todas quedan en la misma transacción.
+     */
+    public void actualizarEstados(List<Postulacion> postulaciones) {
+        if (postulaciones.isEmpty()) return;
+        List<Postulacion> copia = new ArrayList<>(postulaciones);
+        String[] ids = new String[postulaciones.size()];
+        String[] estados = new String[postulaciones.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Postulacion p = copia.get(i);
+            p.limpiarModificado();
+            ids[i] = p.getId();
+            estados[i] = p.getEstado().name();
+        }
+        cola.encolar(s -> {
+            PreparedStatement ps = s.get(SQL_ACTUALIZAR_ESTADO);
+            for (int i = 0; i < ids.length; i++) {
+                ps.setString(1, estados[i]);
+                ps.setString(2, ids[i]);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }, () -> copia.forEach(Postulacion::marcarPendiente));
+    }
+}
@@ -0,0 +1,57 @@
+package persistencia;
+
+import modelo.Programa;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RepositorioProgramas {
+    private static final String SQL_TODOS =
+            "SELECT id_programa, nombre, fecha_inicio, fecha_fin FROM programas";
+    private static final String SQL_GUARDAR =
+            "INSERT OR REPLACE INTO programas (id_programa, nombre, fecha_inicio, fecha_fin) VALUES (?, ?, ?, ?)";
+
+    private final ConexionBD conexion;
+    private final ColaEscritura cola;
+
+    public RepositorioProgramas(ConexionBD conexion, ColaEscritura cola) {
+        this.conexion = conexion;
+        this.cola = cola;
+    }
+
+    public List<Programa> cargarTodos() throws SQLException {
+        return conexion.leer(conn -> {
+            List<Programa> programas = new ArrayList<>();
+            try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(SQL_TODOS)) {
+                while (rs.next()) {
+                    Programa p = new Programa(rs.getInt(1), rs.getString(2),
+                            LocalDate.parse(rs.getString(3)), LocalDate.parse(rs.getString(4)));
+                    p.limpiarModificado();
+                    programas.add(p);
+                }
+            }
+            return programas;
+        });
+    }
+
+    public void guardar(Programa p) {
+        p.limpiarModificado();
+        int id = p.getId();
+        String nombre = p.getNombre();
+        String inicio = p.getFechaInicio().toString();
+        String fin = p.getFechaFin().toString();
+        cola.encolar(s -> {
+            PreparedStatement ps = s.get(SQL_GUARDAR);
+            ps.setInt(1, id);
+            ps.setString(2, nombre);
+            ps.setString(3, inicio);
+            ps.setString(4, fin);
+            ps.executeUpdate();
+        }, p::marcarPendiente);
+    }
+}
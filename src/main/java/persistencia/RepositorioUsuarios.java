@@ -0,0 +1,109 @@
+package persistencia;
+
+import enums.Rol;
+import modelo.Estudiante;
+import modelo.Usuario;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RepositorioUsuarios {
+    private static final String SQL_TODOS =
+            "SELECT u.rut, u.nombre, u.email, u.pass, u.rol, u.bloqueado, u.intentos_fallidos, "
+            + "e.carrera, e.promedio, e.semestres_cursados "
+            + "FROM usuarios u LEFT JOIN estudiantes_info e ON e.rut_estudiante = u.rut";
+    private static final String SQL_GUARDAR =
+            "INSERT OR REPLACE INTO usuarios (rut, nombre, email, pass, rol, bloqueado, intentos_fallidos) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_ACTUALIZAR_BLOQUEO =
+            "UPDATE usuarios SET bloqueado = ?, intentos_fallidos = 0 WHERE rut = ?";
+    private static final String SQL_GUARDAR_ESTUDIANTE =
+            "INSERT OR REPLACE INTO estudiantes_info (rut_estudiante, carrera, promedio, semestres_cursados) VALUES (?, ?, ?, ?)";
+
+    private final ConexionBD conexion;
+    private final ColaEscritura cola;
+
+    public RepositorioUsuarios(ConexionBD conexion, ColaEscritura cola) {
+        this.conexion = conexion;
+        this.cola = cola;
+    }
+
+    public List<Usuario> cargarTodos() throws SQLException {
+        return conexion.leer(conn -> {
+            List<Usuario> usuarios = new ArrayList<>();
+            try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(SQL_TODOS)) {
+                while (rs.next()) {
+                    Rol rol = Rol.valueOf(rs.getString(5));
+                    Usuario u;
+                    if (rol == Rol.ESTUDIANTE) {
+                        u = new Estudiante(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                                rs.getString(8), rs.getDouble(9), rs.getInt(10));
+                    } else {
+                        u = new Usuario(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4), rol);
+                    }
+                    u.setBloqueado(rs.getInt(6) != 0);
+                    u.setIntentosFallidos(rs.getInt(7));
+                    u.limpiarModificado();
+                    usuarios.add(u);
+                }
+            }
+            return usuarios;
+        });
+    }
+
+    /**
+     * Inserta o actualiza el usuario (y sus datos de estudiante, si corresponde).
+     * Los valores se copian al encolar para guardar una foto consistente.
+     */
+    public void guardar(Usuario u) {
+        if (u.getRol() == Rol.ADMIN) return; // el esquema no contempla administradores
+        u.limpiarModificado();
+        String rut = u.getRut();
+        String nombre = u.getNombreCompleto();
+        String email = u.getEmail();
+        String pass = u.getPass();
+        String rol = u.getRol().name();
+        int bloqueado = u.isBloqueado() ? 1 : 0;
+        int intentos = u.getIntentosFallidos();
+        Estudiante e = (u instanceof Estudiante) ? (Estudiante) u : null;
+        String carrera = e != null ? e.getCarrera() : null;
+        double promedio = e != null ? e.getPromedio() : 0;
+        int semestres = e != null ? e.getSemestresCursados() : 0;
+
+        cola.encolar(s -> {
+            PreparedStatement ps = s.get(SQL_GUARDAR);
+            ps.setString(1, rut);
+            ps.setString(2, nombre);
+            ps.setString(3, email);
+            ps.setString(4, pass);
+            ps.setString(5, rol);
+            ps.setInt(6, bloqueado);
+            ps.setInt(7, intentos);
+            ps.executeUpdate();
+            if (e != null) {
+                PreparedStatement pe = s.get(SQL_GUARDAR_ESTUDIANTE);
+                pe.setString(1, rut);
+                pe.setString(2, carrera);
+                pe.setDouble(3, promedio);
+                pe.setInt(4, semestres);
+                pe.executeUpdate();
+            }
+        }, u::marcarPendiente);
+    }
+
+    /**
+     * Guarda solo la decisión de bloqueo o desbloqueo de una cuenta.
+     * Los intentos fallidos no se guardan (los lleva ControlAccesos en memoria).
+     */
+    public void actualizarBloqueo(String rut, boolean bloqueado) {
+        cola.encolar(s -> {
+            PreparedStatement ps = s.get(SQL_ACTUALIZAR_BLOQUEO);
+            ps.setInt(1, bloqueado ? 1 : 0);
+            ps.setString(2, rut);
+            ps.executeUpdate();
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package reglas;
+
+import modelo.Convenio;
+import modelo.Estudiante;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Requisitos compilados de cada convenio. El texto se compila la primera vez que se pide
+ * y queda en caché; solo se vuelve a compilar si el convenio cambió sus requisitos (por
+ * ejemplo, al reimportar el catálogo).
+ */
+public class CatalogoReglas {
+    private final Map<String, Compilado> porConvenio = new ConcurrentHashMap<>();
+
+    private static final class Compilado {
+        final String academicos;
+        final String economicos;
+        final Requisitos requisitos;
+
+        Compilado(String academicos, String economicos) {
+            this.academicos = academicos;
+            this.economicos = economicos;
+            this.requisitos = CompiladorRequisitos.compilar(academicos, economicos);
+        }
+
+        boolean vigente(Convenio c) {
+            return Objects.equals(academicos, c.getRequisitosAcademicos()) && Objects.equals(economicos, c.getRequisitosEconomicos());
+        }
+    }
+
+    public Requisitos requisitosDe(Convenio c) {
+        Compilado x = porConvenio.get(c.getId());
+        if (x == null || !x.vigente(c)) {
+            x = new Compilado(c.getRequisitosAcademicos(), c.getRequisitosEconomicos());
+            porConvenio.put(c.getId(), x);
+        }
+        return x.requisitos;
+    }
+
+    public boolean esElegible(Estudiante e, Convenio c) {
+        return requisitosDe(c).cumple(e);
+    }
+
+    /**
+     * Los convenios para los que califica el estudiante, en el orden recibido.
+     */
+    public List<Convenio> elegibles(Estudiante e, Collection<Convenio> convenios) {
+        List<Convenio> xs = new ArrayList<>();
+        String carrera = Requisitos.normalizarCarrera(e.getCarrera());
+        for (Convenio c : convenios) {
+            Requisitos r = requisitosDe(c);
+            if (r.cumplePromedioYSemestres(e.getPromedio(), e.getSemestresCursados()) && r.admiteCarrera(carrera)) xs.add(c);
+        }
+        return xs;
+    }
+
+    /**
+     * Evalúa a todos los estudiantes contra todos los convenios.
+     *
+     * Los requisitos se compilan una vez y las carreras se comparan una vez por carrera
+     * distinta (no por estudiante); después cada par es un par de comparaciones numéricas.
+     * Los estudiantes se reparten entre los núcleos.
+     *
+     * @return Para cada estudiante (mismo índice), los índices de los convenios para los que califica.
+     */
+    public BitSet[] evaluar(List<Estudiante> estudiantes, List<Convenio> convenios) {
+        int nc = convenios.size();
+        Requisitos[] reglas = new Requisitos[nc];
+        for (int j = 0; j < nc; j++) reglas[j] = requisitosDe(convenios.get(j));
+
+        // Carreras distintas y, para cada una, los convenios que la admiten
+        Map<String, Integer> idCarrera = new HashMap<>();
+        int[] carreraDe = new int[estudiantes.size()];
+        List<BitSet> admitePorCarrera = new ArrayList<>();
+        for (int i = 0; i < carreraDe.length; i++) {
+            String carrera = Requisitos.normalizarCarrera(estudiantes.get(i).getCarrera());
+            Integer id = idCarrera.get(carrera);
+            if (id == null) {
+                id = admitePorCarrera.size();
+                idCarrera.put(carrera, id);
+                BitSet admite = new BitSet(nc);
+                for (int j = 0; j < nc; j++) {
+                    if (reglas[j].admiteCarrera(carrera)) admite.set(j);
+                }
+                admitePorCarrera.add(admite);
+            }
+            carreraDe[i] = id;
+        }
+
+        BitSet[] resultado = new BitSet[estudiantes.size()];
+        IntStream.range(0, resultado.length).parallel().forEach(i -> {
+            Estudiante e = estudiantes.get(i);
+            double promedio = e.getPromedio();
+            int semestres = e.getSemestresCursados();
+            BitSet admite = admitePorCarrera.get(carreraDe[i]);
+            BitSet fila = new BitSet(nc);
+            for (int j = admite.nextSetBit(0); j >= 0; j = admite.nextSetBit(j + 1)) {
+                if (reglas[j].cumplePromedioYSemestres(promedio, semestres)) fila.set(j);
+            }
+            resultado[i] = fila;
+        });
+        return resultado;
+    }
+
+    public int getCompilados() { return porConvenio.size(); }
+}
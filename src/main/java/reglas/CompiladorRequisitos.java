@@ -0,0 +1,159 @@
+package reglas;
+
+import servicios.IndiceConvenios;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Traduce el texto libre de los requisitos de un convenio a {@link Requisitos}.
+ *
+ * El texto se separa en cláusulas (por comas, puntos y coma o " y "); cada una se lee
+ * sin tildes ni mayúsculas. Dentro de una cláusula de carrera, " y " agrega otra carrera
+ * admitida ("Carrera: Ingeniería y Derecho") hasta la siguiente cláusula reconocida. Se reconocen:
+ * <ul>
+ *   <li>Promedio: "Promedio >= 6.0", "Promedio mínimo 5,5", "Nota > 5".</li>
+ *   <li>Semestres: "Semestres >= 4", "Semestres cursados mínimo 6", "Al menos 4 semestres".</li>
+ *   <li>Carrera: "Carrera: Ingeniería Civil o Derecho", "Carrera = Medicina".</li>
+ * </ul>
+ * Varias condiciones sobre el mismo dato se intersectan. Cualquier otra cláusula se guarda
+ * como documento (ver {@link Requisitos#getDocumentos()}).
+ */
+public final class CompiladorRequisitos {
+    // La coma entre dígitos es decimal ("Promedio mínimo 5,5"), no separa cláusulas
+    private static final Pattern SEPARADOR = Pattern.compile("\\s*(?:;|(?<!\\d),|,(?!\\d))\\s*");
+    private static final Pattern CONJUNCION = Pattern.compile("\\s+y\\s+");
+    private static final String OPERADOR = "(>=|=>|≥|<=|=<|≤|>|<|=|:|minimo(?: de)?|maximo(?: de)?|al menos|hasta)?";
+    private static final String NUMERO = "(\\d+(?:[.,]\\d+)?)";
+    private static final Pattern PROMEDIO = Pattern.compile("^(?:promedio|nota|pga|gpa)(?: general| ponderado)?\\s*" + OPERADOR + "\\s*" + NUMERO + "$");
+    private static final Pattern SEMESTRES = Pattern.compile("^semestres?(?: cursados| aprobados)?\\s*" + OPERADOR + "\\s*" + NUMERO + "$");
+    private static final Pattern SEMESTRES_AL_REVES = Pattern.compile("^" + OPERADOR + "\\s*" + NUMERO + "\\s*semestres?(?: cursados| aprobados)?$");
+    // "en" y "de" solo como palabras sueltas: "Carrera Enfermería" no es "en" + "fermería"
+    private static final Pattern CARRERA = Pattern.compile("^carreras?(?:\\s*[=:]\\s*|\\s+(?:en|de)\\s+|\\s+)(.+)$");
+    private static final Pattern ALTERNATIVAS = Pattern.compile("\\s*(?:\\s+o\\s+|/|\\|)\\s*");
+
+    private CompiladorRequisitos() {
+    }
+
+    public static Requisitos compilar(String academicos, String economicos) {
+        Constructor c = new Constructor();
+        c.leer(academicos);
+        c.leer(economicos);
+        return c.construir();
+    }
+
+    private static final class Constructor {
+        double promedioMinimo = Double.NEGATIVE_INFINITY;
+        double promedioMaximo = Double.POSITIVE_INFINITY;
+        int semestresMinimo = Integer.MIN_VALUE;
+        int semestresMaximo = Integer.MAX_VALUE;
+        Set<String> carreras;
+        final List<String> documentos = new ArrayList<>();
+
+        void leer(String texto) {
+            if (texto == null || texto.trim().isEmpty()) return;
+            for (String parte : SEPARADOR.split(texto.trim())) {
+                String carrera = null; // cláusula de carrera en curso, con las carreras unidas por " o "
+                for (String original : CONJUNCION.split(parte)) {
+                    if (original.isEmpty()) continue;
+                    String clausula = IndiceConvenios.normalizar(original).replaceAll("\\s+", " ");
+                    boolean esCarrera = CARRERA.matcher(clausula).matches();
+                    if (carrera != null && !esCarrera && !PROMEDIO.matcher(clausula).matches()
+                            && !esSemestres(clausula)) {
+                        carrera += " o " + clausula;
+                        continue;
+                    }
+                    if (carrera != null) leerCarrera(carrera);
+                    carrera = esCarrera ? clausula : null;
+                    if (!esCarrera && !leerPromedio(clausula) && !leerSemestres(clausula)) {
+                        documentos.add(original);
+                    }
+                }
+                if (carrera != null) leerCarrera(carrera);
+            }
+        }
+
+        static boolean esSemestres(String clausula) {
+            return SEMESTRES.matcher(clausula).matches() || SEMESTRES_AL_REVES.matcher(clausula).matches();
+        }
+
+        boolean leerPromedio(String clausula) {
+            Matcher m = PROMEDIO.matcher(clausula);
+            if (!m.matches()) return false;
+            double valor = Double.parseDouble(m.group(2).replace(',', '.'));
+            switch (sentido(m.group(1))) {
+                case 1: promedioMinimo = Math.max(promedioMinimo, valor); break;
+                case 2: promedioMinimo = Math.max(promedioMinimo, Math.nextUp(valor)); break;
+                case -1: promedioMaximo = Math.min(promedioMaximo, valor); break;
+                case -2: promedioMaximo = Math.min(promedioMaximo, Math.nextDown(valor)); break;
+                default:
+                    promedioMinimo = Math.max(promedioMinimo, valor);
+                    promedioMaximo = Math.min(promedioMaximo, valor);
+            }
+            return true;
+        }
+
+        boolean leerSemestres(String clausula) {
+            Matcher m = SEMESTRES.matcher(clausula);
+            if (!m.matches()) {
+                m = SEMESTRES_AL_REVES.matcher(clausula);
+                if (!m.matches()) return false;
+            }
+            String numero = m.group(2);
+            if (numero.indexOf('.') >= 0 || numero.indexOf(',') >= 0) return false;
+            int valor = Integer.parseInt(numero);
+            switch (sentido(m.group(1))) {
+                case 1: semestresMinimo = Math.max(semestresMinimo, valor); break;
+                case 2: semestresMinimo = Math.max(semestresMinimo, valor + 1); break;
+                case -1: semestresMaximo = Math.min(semestresMaximo, valor); break;
+                case -2: semestresMaximo = Math.min(semestresMaximo, valor - 1); break;
+                default:
+                    semestresMinimo = Math.max(semestresMinimo, valor);
+                    semestresMaximo = Math.min(semestresMaximo, valor);
+            }
+            return true;
+        }
+
+        boolean leerCarrera(String clausula) {
+            Matcher m = CARRERA.matcher(clausula);
+            if (!m.matches()) return false;
+            Set<String> admitidas = new LinkedHashSet<>();
+            for (String alternativa : ALTERNATIVAS.split(m.group(1))) {
+                if (!alternativa.isEmpty()) admitidas.add(alternativa);
+            }
+            if (admitidas.isEmpty()) return false;
+            // Dos cláusulas de carrera: se admiten las que cumplen ambas (puede no quedar ninguna)
+            if (carreras == null) {
+                carreras = admitidas;
+            } else {
+                carreras.retainAll(admitidas);
+            }
+            return true;
+        }
+
+        /**
+         * 1: mínimo inclusivo, 2: mínimo estricto, -1: máximo inclusivo, -2: máximo estricto,
+         * 0: igualdad. Sin operador o con dos puntos ("Promedio: 6.0") se entiende como mínimo.
+         */
+        static int sentido(String operador) {
+            if (operador == null) return 1;
+            switch (operador) {
+                case ">": return 2;
+                case "<": return -2;
+                case "<=": case "=<": case "≤": case "hasta": return -1;
+                case "=": return 0;
+                default:
+                    return operador.startsWith("maximo") ? -1 : 1;
+            }
+        }
+
+        Requisitos construir() {
+            return new Requisitos(promedioMinimo, promedioMaximo, semestresMinimo, semestresMaximo,
+                    carreras, documentos);
+        }
+    }
+}
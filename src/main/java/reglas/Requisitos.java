@@ -0,0 +1,112 @@
+package reglas;
+
+import modelo.Estudiante;
+import servicios.IndiceConvenios;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Requisitos de un convenio ya compilados. Las condiciones sobre el estudiante se reducen
+ * a intervalos cerrados de promedio y semestres y a un conjunto de carreras admitidas, así
+ * que evaluar a un estudiante son unas pocas comparaciones, sin volver a leer el texto.
+ *
+ * Lo que no se refiere a datos del estudiante (cartas, exámenes, "sin deuda vigente") se
+ * guarda como documento: no restringe la elegibilidad y lo revisa el funcionario.
+ */
+public final class Requisitos {
+    public static final Requisitos SIN_RESTRICCIONES = new Requisitos(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+            Integer.MIN_VALUE, Integer.MAX_VALUE, null, Collections.emptyList());
+
+    private final double promedioMinimo;
+    private final double promedioMaximo;
+    private final int semestresMinimo;
+    private final int semestresMaximo;
+    private final Set<String> carreras;
+    private final List<String> documentos;
+
+    Requisitos(double promedioMinimo, double promedioMaximo, int semestresMinimo, int semestresMaximo,
+               Set<String> carreras, List<String> documentos) {
+        this.promedioMinimo = promedioMinimo;
+        this.promedioMaximo = promedioMaximo;
+        this.semestresMinimo = semestresMinimo;
+        this.semestresMaximo = semestresMaximo;
+        this.carreras = carreras == null ? null : Collections.unmodifiableSet(carreras);
+        this.documentos = Collections.unmodifiableList(documentos);
+    }
+
+    public boolean cumple(Estudiante e) {
+        return cumplePromedioYSemestres(e.getPromedio(), e.getSemestresCursados())
+                && (carreras == null || admiteCarrera(normalizarCarrera(e.getCarrera())));
+    }
+
+    boolean cumplePromedioYSemestres(double promedio, int semestres) {
+        return promedio >= promedioMinimo && promedio <= promedioMaximo
+                && semestres >= semestresMinimo && semestres <= semestresMaximo;
+    }
+
+    /**
+     * @param carreraNormalizada Carrera ya pasada por {@link IndiceConvenios#normalizar}.
+     *                           Se admite si empieza con alguna de las carreras exigidas
+     *                           ("ingenieria" admite "ingenieria civil").
+     */
+    boolean admiteCarrera(String carreraNormalizada) {
+        if (carreras == null) return true;
+        if (carreraNormalizada == null) return false;
+        for (String c : carreras) {
+            if (carreraNormalizada.startsWith(c)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Qué condiciones no cumple el estudiante, para explicarle por qué no puede postular.
+     */
+    public List<String> incumplidos(Estudiante e) {
+        List<String> xs = new ArrayList<>();
+        if (e.getPromedio() < promedioMinimo) xs.add("promedio " + formato(e.getPromedio()) + " menor a " + formato(promedioMinimo));
+        if (e.getPromedio() > promedioMaximo) xs.add("promedio " + formato(e.getPromedio()) + " mayor a " + formato(promedioMaximo));
+        if (e.getSemestresCursados() < semestresMinimo) xs.add(e.getSemestresCursados() + " semestres cursados, se exigen al menos " + semestresMinimo);
+        if (e.getSemestresCursados() > semestresMaximo) xs.add(e.getSemestresCursados() + " semestres cursados, se admiten hasta " + semestresMaximo);
+        if (carreras != null && !admiteCarrera(normalizarCarrera(e.getCarrera()))) xs.add("carrera no admitida");
+        return xs;
+    }
+
+    /** True si ningún estudiante puede cumplirlos (por ejemplo, "Promedio >= 6" y "Promedio < 5"). */
+    public boolean esImposible() {
+        return promedioMinimo > promedioMaximo || semestresMinimo > semestresMaximo
+                || (carreras != null && carreras.isEmpty());
+    }
+
+    public double getPromedioMinimo() { return promedioMinimo; }
+    public double getPromedioMaximo() { return promedioMaximo; }
+    public int getSemestresMinimo() { return semestresMinimo; }
+    public int getSemestresMaximo() { return semestresMaximo; }
+    /** Carreras admitidas (normalizadas), o null si se admite cualquiera. */
+    public Set<String> getCarreras() { return carreras; }
+    /** Requisitos que no se pueden evaluar con los datos del estudiante. */
+    public List<String> getDocumentos() { return documentos; }
+
+    static String normalizarCarrera(String carrera) {
+        return carrera == null ? null : IndiceConvenios.normalizar(carrera.trim());
+    }
+
+    private static String formato(double x) {
+        return String.format(Locale.ROOT, "%.1f", x);
+    }
+
+    @Override
+    public String toString() {
+        List<String> xs = new ArrayList<>();
+        if (promedioMinimo != Double.NEGATIVE_INFINITY) xs.add("promedio >= " + formato(promedioMinimo));
+        if (promedioMaximo != Double.POSITIVE_INFINITY) xs.add("promedio <= " + formato(promedioMaximo));
+        if (semestresMinimo != Integer.MIN_VALUE) xs.add("semestres >= " + semestresMinimo);
+        if (semestresMaximo != Integer.MAX_VALUE) xs.add("semestres <= " + semestresMaximo);
+        if (carreras != null) xs.add("carrera en " + carreras);
+        for (String d : documentos) xs.add("[" + d + "]");
+        return xs.isEmpty() ? "sin requisitos" : String.join(", ", xs);
+    }
+}
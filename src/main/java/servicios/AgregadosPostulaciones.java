@@ -0,0 +1,323 @@
+package servicios;
+
+import enums.EstadoPostulacion;
+import modelo.Postulacion;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conteos de postulaciones ya agregados para los reportes del auditor: por estado × país ×
+ * área × programa y por convenio. Se mantienen al día con cada alta y cambio de estado,
+ * así que leer un conteo o una tasa no recorre las postulaciones.
+ *
+ * Cada convenio recuerda las celdas del cubo donde cuenta: la suya y sus siete subtotales
+ * (cada dimensión puede ser {@link #TODOS}). Sumar una postulación son ocho incrementos
+ * y cualquier consulta, con o sin comodines, es una búsqueda en un mapa. Si cambia el país,
+ * el área o el programa de un convenio, {@link #clasificar} mueve sus conteos.
+ *
+ * Las postulaciones de un convenio que no está en el catálogo cuentan en {@link #SIN_DATO}.
+ */
+public class AgregadosPostulaciones {
+    /** Comodín de una dimensión en las consultas: todos los valores. */
+    public static final String TODOS = "*";
+    public static final String SIN_DATO = "(sin dato)";
+
+    private static final EstadoPostulacion[] ESTADOS = EstadoPostulacion.values();
+
+    private final Map<String, Celda> cubo = new ConcurrentHashMap<>();
+    private final Map<String, PorConvenio> porConvenio = new ConcurrentHashMap<>();
+
+    private static final class Celda {
+        final String pais;
+        final String area;
+        final String programa;
+        final LongAdder[] porEstado = contadores();
+
+        Celda(String pais, String area, String programa) {
+            this.pais = pais;
+            this.area = area;
+            this.programa = programa;
+        }
+
+        boolean esDetalle() {
+            return !TODOS.equals(pais) && !TODOS.equals(area) && !TODOS.equals(programa);
+        }
+    }
+
+    private final class PorConvenio {
+        final String id;
+        final LongAdder[] porEstado = contadores();
+        Celda[] celdas;
+
+        PorConvenio(String id) {
+            this.id = id;
+            this.celdas = celdasDe(SIN_DATO, SIN_DATO, SIN_DATO);
+        }
+    }
+
+    /**
+     * Un renglón del reporte: los conteos por estado de una combinación de dimensiones,
+     * o de un convenio (entonces país, área y programa son null).
+     */
+    public static final class Fila {
+        private final String pais;
+        private final String area;
+        private final String programa;
+        private final String idConvenio;
+        private final long[] porEstado;
+        private final long total;
+
+        private Fila(String pais, String area, String programa, String idConvenio, LongAdder[] contadores) {
+            this.pais = pais;
+            this.area = area;
+            this.programa = programa;
+            this.idConvenio = idConvenio;
+            this.porEstado = new long[ESTADOS.length];
+            long suma = 0;
+            for (int i = 0; i < porEstado.length; i++) {
+                porEstado[i] = contadores[i].sum();
+                suma += porEstado[i];
+            }
+            this.total = suma;
+        }
+
+        public String getPais() { return pais; }
+        public String getArea() { return area; }
+        public String getPrograma() { return programa; }
+        public String getIdConvenio() { return idConvenio; }
+        public long contar(EstadoPostulacion estado) { return porEstado[estado.ordinal()]; }
+        public long getTotal() { return total; }
+        public double getTasaAceptacion() { return tasa(porEstado[EstadoPostulacion.ACEPTADA.ordinal()], total); }
+    }
+
+    private static LongAdder[] contadores() {
+        LongAdder[] xs = new LongAdder[ESTADOS.length];
+        for (int i = 0; i < xs.length; i++) xs[i] = new LongAdder();
+        return xs;
+    }
+
+    private static String clave(String pais, String area, String programa) {
+        return pais + '\u0000' + area + '\u0000' + programa;
+    }
+
+    private static String valor(String dimension) {
+        return dimension == null || dimension.trim().isEmpty() ? SIN_DATO : dimension.trim();
+    }
+
+    private static String claveConvenio(String idConvenio) {
+        return idConvenio == null ? "" : idConvenio.toUpperCase();
+    }
+
+    private static double tasa(long aceptadas, long total) {
+        return total == 0 ? 0.0 : (double) aceptadas / total;
+    }
+
+    private Celda celda(String pais, String area, String programa) {
+        return cubo.computeIfAbsent(clave(pais, area, programa), k -> new Celda(pais, area, programa));
+    }
+
+    private Celda[] celdasDe(String pais, String area, String programa) {
+        Celda[] xs = new Celda[8];
+        for (int m = 0; m < 8; m++) {
+            xs[m] = celda((m & 1) != 0 ? TODOS : pais, (m & 2) != 0 ? TODOS : area, (m & 4) != 0 ? TODOS : programa);
+        }
+        return xs;
+    }
+
+    private PorConvenio convenio(String idConvenio) {
+        return porConvenio.computeIfAbsent(claveConvenio(idConvenio), k -> new PorConvenio(idConvenio == null ? "" : idConvenio));
+    }
+
+    /**
+     * Fija el país, el área y el programa con que cuentan las postulaciones del convenio,
+     * moviendo lo que ya tuviera contado.
+     */
+    public void clasificar(String idConvenio, String pais, String area, String programa) {
+        PorConvenio c = convenio(idConvenio);
+        Celda[] nuevas = celdasDe(valor(pais), valor(area), valor(programa));
+        synchronized (c) {
+            if (c.celdas[0] == nuevas[0]) return;
+            for (int i = 0; i < ESTADOS.length; i++) {
+                long n = c.porEstado[i].sum();
+                if (n == 0) continue;
+                for (Celda x : c.celdas) x.porEstado[i].add(-n);
+                for (Celda x : nuevas) x.porEstado[i].add(n);
+            }
+            c.celdas = nuevas;
+        }
+    }
+
+    public void agregar(Postulacion p) {
+        sumar(p.getIdConvenio(), p.getEstado(), 1);
+    }
+
+    public void quitar(Postulacion p) {
+        sumar(p.getIdConvenio(), p.getEstado(), -1);
+    }
+
+    /**
+     * Registra que una postulación del convenio pasó de {@code anterior} a {@code nuevo}.
+     */
+    public void cambiarEstado(String idConvenio, EstadoPostulacion anterior, EstadoPostulacion nuevo) {
+        PorConvenio c = convenio(idConvenio);
+        synchronized (c) {
+            c.porEstado[anterior.ordinal()].decrement();
+            c.porEstado[nuevo.ordinal()].increment();
+            for (Celda x : c.celdas) {
+                x.porEstado[anterior.ordinal()].decrement();
+                x.porEstado[nuevo.ordinal()].increment();
+            }
+        }
+    }
+
+    private void sumar(String idConvenio, EstadoPostulacion estado, int n) {
+        PorConvenio c = convenio(idConvenio);
+        synchronized (c) {
+            sumar(c, estado.ordinal(), n);
+        }
+    }
+
+    private static void sumar(PorConvenio c, int estado, long n) {
+        c.porEstado[estado].add(n);
+        for (Celda x : c.celdas) x.porEstado[estado].add(n);
+    }
+
+    /**
+     * Postulaciones en el estado indicado (o en cualquiera si es null) para la combinación de
+     * país, área y programa. Cada dimensión acepta null o {@link #TODOS} como comodín.
+     */
+    public long contar(EstadoPostulacion estado, String pais, String area, String programa) {
+        Celda x = cubo.get(clave(comodin(pais), comodin(area), comodin(programa)));
+        if (x == null) return 0;
+        if (estado != null) return x.porEstado[estado.ordinal()].sum();
+        long total = 0;
+        for (LongAdder a : x.porEstado) total += a.sum();
+        return total;
+    }
+
+    private static String comodin(String dimension) {
+        return dimension == null ? TODOS : dimension;
+    }
+
+    public long contarConvenio(String idConvenio, EstadoPostulacion estado) {
+        PorConvenio c = porConvenio.get(claveConvenio(idConvenio));
+        return c == null ? 0 : c.porEstado[estado.ordinal()].sum();
+    }
+
+    /**
+     * Postulaciones aceptadas sobre el total de postulaciones del convenio (0 si no tiene).
+     */
+    public double getTasaAceptacion(String idConvenio) {
+        PorConvenio c = porConvenio.get(claveConvenio(idConvenio));
+        return c == null ? 0.0 : new Fila(null, null, null, c.id, c.porEstado).getTasaAceptacion();
+    }
+
+    /**
+     * Las combinaciones de país, área y programa con al menos una postulación, sin subtotales,
+     * ordenadas por país, área y programa.
+     */
+    public List<Fila> getFilas() {
+        List<Fila> xs = new ArrayList<>();
+        for (Celda x : cubo.values()) {
+            if (!x.esDetalle()) continue;
+            Fila f = new Fila(x.pais, x.area, x.programa, null, x.porEstado);
+            if (f.getTotal() > 0) xs.add(f);
+        }
+        xs.sort(Comparator.comparing(Fila::getPais).thenComparing(Fila::getArea).thenComparing(Fila::getPrograma));
+        return xs;
+    }
+
+    /**
+     * Los subtotales que agrupan por las dimensiones indicadas (las demás quedan en {@link #TODOS}).
+     */
+    public List<Fila> getSubtotales(boolean porPais, boolean porArea, boolean porPrograma) {
+        List<Fila> xs = new ArrayList<>();
+        for (Celda x : cubo.values()) {
+            if (TODOS.equals(x.pais) == porPais || TODOS.equals(x.area) == porArea || TODOS.equals(x.programa) == porPrograma) continue;
+            Fila f = new Fila(x.pais, x.area, x.programa, null, x.porEstado);
+            if (f.getTotal() > 0) xs.add(f);
+        }
+        xs.sort(Comparator.comparing(Fila::getPais).thenComparing(Fila::getArea).thenComparing(Fila::getPrograma));
+        return xs;
+    }
+
+    /**
+     * Los conteos de cada convenio con postulaciones, de mayor a menor tasa de aceptación.
+     */
+    public List<Fila> getFilasPorConvenio() {
+        List<Fila> xs = new ArrayList<>();
+        for (PorConvenio c : porConvenio.values()) {
+            Fila f = new Fila(null, null, null, c.id, c.porEstado);
+            if (f.getTotal() > 0) xs.add(f);
+        }
+        xs.sort(Comparator.comparingDouble(Fila::getTasaAceptacion).reversed()
+                .thenComparing(Comparator.comparingLong(Fila::getTotal).reversed())
+                .thenComparing(Fila::getIdConvenio));
+        return xs;
+    }
+
+    /**
+     * Compara celda por celda y convenio por convenio con otros agregados (por ejemplo, un
+     * recálculo completo).
+     * @return Las diferencias encontradas, vacía si coinciden.
+     */
+    public List<String> diferencias(AgregadosPostulaciones otro) {
+        List<String> xs = new ArrayList<>();
+        compararCeldas(this, otro, xs, true);
+        compararCeldas(otro, this, xs, false);
+        for (PorConvenio c : porConvenio.values()) {
+            PorConvenio o = otro.porConvenio.get(claveConvenio(c.id));
+            for (EstadoPostulacion e : ESTADOS) {
+                long a = c.porEstado[e.ordinal()].sum();
+                long b = o == null ? 0 : o.porEstado[e.ordinal()].sum();
+                if (a != b) xs.add("convenio " + c.id + " " + e + ": " + a + " != " + b);
+            }
+        }
+        for (PorConvenio o : otro.porConvenio.values()) {
+            if (porConvenio.containsKey(claveConvenio(o.id))) continue;
+            for (EstadoPostulacion e : ESTADOS) {
+                long b = o.porEstado[e.ordinal()].sum();
+                if (b != 0) xs.add("convenio " + o.id + " " + e + ": 0 != " + b);
+            }
+        }
+        return xs;
+    }
+
+    private static void compararCeldas(AgregadosPostulaciones a, AgregadosPostulaciones b, List<String> xs, boolean todas) {
+        for (Map.Entry<String, Celda> en : a.cubo.entrySet()) {
+            Celda x = en.getValue();
+            Celda y = b.cubo.get(en.getKey());
+            // Las celdas que están en ambos lados se revisan una sola vez
+            if (!todas && y != null) continue;
+            for (EstadoPostulacion e : ESTADOS) {
+                long n = x.porEstado[e.ordinal()].sum();
+                long m = y == null ? 0 : y.porEstado[e.ordinal()].sum();
+                if (n == m) continue;
+                String celda = x.pais + " / " + x.area + " / " + x.programa + " " + e + ": ";
+                xs.add(todas ? celda + n + " != " + m : celda + m + " != " + n);
+            }
+        }
+    }
+
+    /**
+     * Calcula los agregados desde cero sobre todas las postulaciones, repartiéndolas entre
+     * los núcleos. Aquí nadie reclasifica convenios, así que se suma sin el bloqueo por
+     * convenio y los contadores absorben las sumas concurrentes.
+     * @param clasificacion País, área y programa de cada convenio del catálogo, por ID.
+     */
+    public static AgregadosPostulaciones recalcular(Map<String, String[]> clasificacion, Collection<Postulacion> postulaciones) {
+        AgregadosPostulaciones a = new AgregadosPostulaciones();
+        for (Map.Entry<String, String[]> en : clasificacion.entrySet()) {
+            String[] d = en.getValue();
+            a.clasificar(en.getKey(), d[0], d[1], d[2]);
+        }
+        postulaciones.parallelStream().forEach(p -> sumar(a.convenio(p.getIdConvenio()), p.getEstado().ordinal(), 1));
+        return a;
+    }
+}
@@ -0,0 +1,249 @@
+package servicios;
+
+import modelo.Convenio;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria sobre la universidad, el país, el área y los requisitos
+ * de los convenios.
+ *
+ * Los textos se pasan a minúsculas y sin tildes y se separan en términos. Cada término
+ * apunta a los convenios que lo contienen. Una búsqueda exige que todos los términos de la
+ * consulta coincidan, ya sea exactos, como prefijo (para buscar mientras se escribe) o,
+ * si el término no existe tal cual, con un error de tipeo (una letra de más, de menos, cambiada o dos letras traspuestas). Los
+ * errores se resuelven con un diccionario de "borrados": cada término se registra también
+ * sin cada una de sus letras, así que los candidatos se obtienen con búsquedas en un mapa
+ * en vez de comparar contra todo el vocabulario.
+ */
+public class IndiceConvenios {
+    private static final int LARGO_MINIMO_TIPEO = 4;
+
+    private final ReadWriteLock candado = new ReentrantReadWriteLock();
+    private final List<Convenio> convenios = new ArrayList<>();
+    private final List<String[]> terminosPorConvenio = new ArrayList<>();
+    private final Map<String, Integer> ordinalPorId = new HashMap<>();
+    private final NavigableMap<String, Postings> terminos = new TreeMap<>();
+    private final Map<String, List<String>> borrados = new HashMap<>();
+
+    /**
+     * Ordinales de los convenios que contienen un término, en orden creciente.
+     */
+    private static final class Postings {
+        int[] ordinales = new int[2];
+        int n;
+
+        void agregar(int ordinal) {
+            if (n > 0 && ordinales[n - 1] == ordinal) return;
+            if (n == ordinales.length) ordinales = Arrays.copyOf(ordinales, n * 2);
+            if (n == 0 || ordinales[n - 1] < ordinal) {
+                ordinales[n++] = ordinal;
+                return;
+            }
+            int i = Arrays.binarySearch(ordinales, 0, n, ordinal);
+            if (i >= 0) return;
+            i = -i - 1;
+            System.arraycopy(ordinales, i, ordinales, i + 1, n - i);
+            ordinales[i] = ordinal;
+            n++;
+        }
+
+        void quitar(int ordinal) {
+            int i = Arrays.binarySearch(ordinales, 0, n, ordinal);
+            if (i < 0) return;
+            System.arraycopy(ordinales, i + 1, ordinales, i, n - i - 1);
+            n--;
+        }
+
+        void volcarEn(BitSet destino) {
+            for (int i = 0; i < n; i++) destino.set(ordinales[i]);
+        }
+    }
+
+    /**
+     * Agrega un convenio o, si ya hay uno con el mismo ID, lo reemplaza.
+     */
+    public void agregar(Convenio c) {
+        String[] nuevos = terminosDe(c);
+        candado.writeLock().lock();
+        try {
+            Integer ordinal = ordinalPorId.get(c.getId());
+            if (ordinal == null) {
+                ordinal = convenios.size();
+                convenios.add(c);
+                terminosPorConvenio.add(nuevos);
+                ordinalPorId.put(c.getId(), ordinal);
+            } else {
+                for (String t : terminosPorConvenio.get(ordinal)) {
+                    Postings p = terminos.get(t);
+                    if (p != null) p.quitar(ordinal);
+                }
+                convenios.set(ordinal, c);
+                terminosPorConvenio.set(ordinal, nuevos);
+            }
+            for (String t : nuevos) {
+                Postings p = terminos.get(t);
+                if (p == null) {
+                    p = new Postings();
+                    terminos.put(t, p);
+                    registrarBorrados(t);
+                }
+                p.agregar(ordinal);
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los convenios que contienen todos los términos de la consulta.
+     * @return Los convenios encontrados, en el orden en que se indexaron (vacío si la consulta no tiene términos).
+     */
+    public List<Convenio> buscar(String consulta) {
+        String[] consultaTerminos = tokenizar(consulta);
+        if (consultaTerminos.length == 0) return new ArrayList<>();
+
+        candado.readLock().lock();
+        try {
+            BitSet resultado = null;
+            for (String q : consultaTerminos) {
+                BitSet coincidencias = coincidenciasDe(q);
+                if (resultado == null) resultado = coincidencias;
+                else resultado.and(coincidencias);
+                if (resultado.isEmpty()) break;
+            }
+            List<Convenio> xs = new ArrayList<>(resultado.cardinality());
+            for (int i = resultado.nextSetBit(0); i >= 0; i = resultado.nextSetBit(i + 1)) {
+                xs.add(convenios.get(i));
+            }
+            return xs;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public int getCantidadTerminos() {
+        candado.readLock().lock();
+        try {
+            return terminos.size();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    private BitSet coincidenciasDe(String q) {
+        BitSet bits = new BitSet(convenios.size());
+        // Exacto y prefijo: todos los términos en [q, q + '￿')
+        for (Postings p : terminos.subMap(q, true, q + Character.MAX_VALUE, false).values()) {
+            p.volcarEn(bits);
+        }
+        // Los errores de tipeo se buscan solo si el término no existe tal cual
+        if (q.length() >= LARGO_MINIMO_TIPEO && !terminos.containsKey(q)) {
+            agregarCandidatosTipeo(q, q, bits);
+            for (int i = 0; i < q.length(); i++) {
+                String borrado = q.substring(0, i) + q.substring(i + 1);
+                Postings p = terminos.get(borrado);
+                if (p != null) p.volcarEn(bits); // a la consulta le sobra una letra
+                agregarCandidatosTipeo(borrado, q, bits);
+            }
+        }
+        return bits;
+    }
+
+    private void agregarCandidatosTipeo(String clave, String q, BitSet bits) {
+        List<String> candidatos = borrados.get(clave);
+        if (candidatos == null) return;
+        for (String t : candidatos) {
+            if (distanciaMaximaUno(q, t)) {
+                Postings p = terminos.get(t);
+                if (p != null) p.volcarEn(bits);
+            }
+        }
+    }
+
+    private void registrarBorrados(String t) {
+        if (t.length() < LARGO_MINIMO_TIPEO - 1) return;
+        for (int i = 0; i < t.length(); i++) {
+            String borrado = t.substring(0, i) + t.substring(i + 1);
+            List<String> xs = borrados.computeIfAbsent(borrado, k -> new ArrayList<>(1));
+            if (!xs.contains(t)) xs.add(t);
+        }
+    }
+
+    /**
+     * Distancia de Damerau (sustitución, inserción, borrado o trasposición) de a lo más 1.
+     */
+    static boolean distanciaMaximaUno(String a, String b) {
+        int la = a.length();
+        int lb = b.length();
+        if (Math.abs(la - lb) > 1) return false;
+        int i = 0;
+        while (i < la && i < lb && a.charAt(i) == b.charAt(i)) i++;
+        if (i == la || i == lb) return true;
+        if (la == lb) {
+            if (a.regionMatches(i + 1, b, i + 1, la - i - 1)) return true;
+            return i + 1 < la && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                    && a.regionMatches(i + 2, b, i + 2, la - i - 2);
+        }
+        return la > lb ? a.regionMatches(i + 1, b, i, lb - i) : b.regionMatches(i + 1, a, i, la - i);
+    }
+
+    private static String[] terminosDe(Convenio c) {
+        String texto = c.getUniversidad() + ' ' + c.getPais() + ' ' + c.getArea() + ' '
+                + c.getRequisitosAcademicos() + ' ' + c.getRequisitosEconomicos();
+        return Arrays.stream(tokenizar(texto)).distinct().toArray(String[]::new);
+    }
+
+    /**
+     * Separa un texto en términos normalizados (minúsculas, sin tildes). Los números
+     * conservan el punto decimal ("6.0").
+     */
+    public static String[] tokenizar(String texto) {
+        if (texto == null) return new String[0];
+        String s = normalizar(texto);
+        List<String> xs = new ArrayList<>();
+        int ini = -1;
+        for (int i = 0; i <= s.length(); i++) {
+            char ch = i < s.length() ? s.charAt(i) : ' ';
+            boolean parte = Character.isLetterOrDigit(ch)
+                    || (ch == '.' && ini >= 0 && i + 1 < s.length()
+                    && Character.isDigit(s.charAt(i - 1)) && Character.isDigit(s.charAt(i + 1)));
+            if (parte) {
+                if (ini < 0) ini = i;
+            } else if (ini >= 0) {
+                xs.add(s.substring(ini, i));
+                ini = -1;
+            }
+        }
+        return xs.toArray(new String[0]);
+    }
+
+    /**
+     * Minúsculas y sin marcas diacríticas ("Área" -> "area", "Ñandú" -> "nandu").
+     */
+    public static String normalizar(String s) {
+        boolean ascii = true;
+        for (int i = 0; i < s.length() && ascii; i++) {
+            ascii = s.charAt(i) < 128;
+        }
+        if (ascii) return s.toLowerCase(Locale.ROOT);
+        String descompuesto = Normalizer.normalize(s, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(descompuesto.length());
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char ch = descompuesto.charAt(i);
+            if (Character.getType(ch) != Character.NON_SPACING_MARK) sb.append(ch);
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+}
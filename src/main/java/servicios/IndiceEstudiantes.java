@@ -0,0 +1,111 @@
+package servicios;
+
+import modelo.Estudiante;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Índice de rangos sobre los datos académicos de los estudiantes, para responder
+ * "estudiantes con promedio >= X y semestres >= Y en la carrera Z" sin recorrerlos a todos.
+ *
+ * Se agrupa por carrera (normalizada, en un mapa ordenado para aceptar prefijos como
+ * "ingenieria") y dentro de cada carrera por semestres cursados. Cada grupo guarda a sus
+ * estudiantes ordenados de mayor a menor promedio. Una consulta toma los grupos con
+ * semestres >= Y y, en cada uno, lee desde el principio mientras el promedio sea >= X.
+ * Como los semestres toman pocos valores, el costo es el de recorrer el resultado.
+ *
+ * Igual que en {@link RankingPostulantes}, las entradas copian promedio y semestres:
+ * cuando cambian hay que llamar a {@link #agregar} de nuevo, que reubica al estudiante.
+ */
+public class IndiceEstudiantes {
+    private static final Comparator<Entrada> ORDEN = Comparator
+            .comparingDouble((Entrada e) -> -e.promedio)
+            .thenComparing(e -> e.estudiante.getRut());
+
+    private final NavigableMap<String, NavigableMap<Integer, NavigableSet<Entrada>>> porCarrera = new ConcurrentSkipListMap<>();
+    private final Map<String, Entrada> porRut = new ConcurrentHashMap<>();
+
+    private static final class Entrada {
+        final Estudiante estudiante;
+        final String carrera;
+        final double promedio;
+        final int semestres;
+
+        Entrada(Estudiante e) {
+            this.estudiante = e;
+            this.carrera = normalizarCarrera(e.getCarrera());
+            this.promedio = e.getPromedio();
+            this.semestres = e.getSemestresCursados();
+        }
+    }
+
+    /**
+     * Agrega al estudiante o, si ya estaba, lo reubica según sus datos actuales.
+     */
+    public void agregar(Estudiante e) {
+        Entrada nueva = new Entrada(e);
+        Entrada anterior = porRut.put(e.getRut(), nueva);
+        if (anterior != null) quitarEntrada(anterior);
+        porCarrera.computeIfAbsent(nueva.carrera, k -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(nueva.semestres, k -> new ConcurrentSkipListSet<>(ORDEN))
+                .add(nueva);
+    }
+
+    public void quitar(Estudiante e) {
+        Entrada anterior = porRut.remove(e.getRut());
+        if (anterior != null) quitarEntrada(anterior);
+    }
+
+    private void quitarEntrada(Entrada e) {
+        NavigableMap<Integer, NavigableSet<Entrada>> porSemestres = porCarrera.get(e.carrera);
+        if (porSemestres == null) return;
+        NavigableSet<Entrada> xs = porSemestres.get(e.semestres);
+        if (xs != null) xs.remove(e);
+    }
+
+    /**
+     * Estudiantes con promedio >= {@code promedioMinimo} y semestres >= {@code semestresMinimo}.
+     * @param carrera Carrera o prefijo de carrera (sin importar tildes ni mayúsculas);
+     *                null para todas.
+     */
+    public List<Estudiante> buscar(String carrera, double promedioMinimo, int semestresMinimo) {
+        List<Estudiante> resultado = new ArrayList<>();
+        buscar(carrera, promedioMinimo, semestresMinimo, resultado);
+        return resultado;
+    }
+
+    /**
+     * Igual que {@link #buscar(String, double, int)}, agregando al final de {@code destino}.
+     */
+    public void buscar(String carrera, double promedioMinimo, int semestresMinimo, List<Estudiante> destino) {
+        Iterable<NavigableMap<Integer, NavigableSet<Entrada>>> carreras;
+        if (carrera == null) {
+            carreras = porCarrera.values();
+        } else {
+            String prefijo = normalizarCarrera(carrera);
+            carreras = porCarrera.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false).values();
+        }
+        for (NavigableMap<Integer, NavigableSet<Entrada>> porSemestres : carreras) {
+            for (NavigableSet<Entrada> xs : porSemestres.tailMap(semestresMinimo, true).values()) {
+                for (Entrada e : xs) {
+                    if (e.promedio < promedioMinimo) break;
+                    destino.add(e.estudiante);
+                }
+            }
+        }
+    }
+
+    public int getCantidad() { return porRut.size(); }
+
+    private static String normalizarCarrera(String carrera) {
+        return carrera == null ? "" : IndiceConvenios.normalizar(carrera.trim());
+    }
+}
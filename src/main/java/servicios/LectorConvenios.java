@@ -0,0 +1,186 @@
+package servicios;
+
+import modelo.Convenio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.Arrays;
+
+/**
+ * Lector en streaming de catálogos de convenios con el formato
+ * {@code id;universidad;pais;area;reqAcademicos;reqEconomicos[;fechaInicio;fechaFin]}.
+ *
+ * Lee el archivo por bloques desde un FileChannel y recorre cada línea sobre un arreglo de
+ * caracteres reutilizable, ubicando los campos por posición (sin split ni expresiones
+ * regulares); solo se crean los String de los campos que se guardan. Las líneas mal
+ * formadas se informan con su número y no detienen la lectura.
+ */
+public class LectorConvenios {
+    private static final int TAMANO_BLOQUE = 1 << 16;
+    private static final int MAX_CAMPOS = 8;
+
+    private final int idPrograma;
+    private final int[] inicios = new int[MAX_CAMPOS + 1];
+    private final int[] finales = new int[MAX_CAMPOS + 1];
+
+    /**
+     * Recibe los convenios leídos y los errores encontrados, en orden de aparición.
+     */
+    public interface Destino {
+        void convenio(Convenio c);
+        void error(long linea, String motivo);
+    }
+
+    /**
+     * @param idPrograma Programa al que quedan asociados los convenios leídos.
+     */
+    public LectorConvenios(int idPrograma) {
+        this.idPrograma = idPrograma;
+    }
+
+    /**
+     * Lee el archivo completo entregando cada convenio al destino.
+     * @return Cantidad de líneas leídas.
+     */
+    public long leer(Path archivo, Destino destino) throws IOException {
+        CharsetDecoder decodificador = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer bytes = ByteBuffer.allocateDirect(TAMANO_BLOQUE);
+        // UTF-8 nunca produce más caracteres que bytes, así que el bloque de caracteres no se desborda
+        CharBuffer chars = CharBuffer.allocate(TAMANO_BLOQUE);
+        char[] linea = new char[512];
+        int largo = 0;
+        long numero = 0;
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            boolean fin = false;
+            while (!fin) {
+                fin = canal.read(bytes) < 0;
+                bytes.flip();
+                decodificador.decode(bytes, chars, fin);
+                if (fin) decodificador.flush(chars);
+                bytes.compact();
+                chars.flip();
+                while (chars.hasRemaining()) {
+                    char ch = chars.get();
+                    if (ch == '\n') {
+                        procesarLinea(linea, largo, ++numero, destino);
+                        largo = 0;
+                    } else if (ch != '\r') {
+                        if (largo == linea.length) linea = Arrays.copyOf(linea, largo * 2);
+                        linea[largo++] = ch;
+                    }
+                }
+                chars.clear();
+            }
+        }
+        if (largo > 0) {
+            procesarLinea(linea, largo, ++numero, destino);
+        }
+        return numero;
+    }
+
+    private void procesarLinea(char[] linea, int largo, long numero, Destino destino) {
+        int desde = 0;
+        if (numero == 1 && largo > 0 && linea[0] == '\uFEFF') desde = 1; // BOM
+        if (esBlanco(linea, desde, largo)) return;
+
+        // Ubicar los campos y recortar espacios moviendo los límites
+        int campos = 0;
+        int ini = desde;
+        for (int i = desde; i <= largo; i++) {
+            if (i == largo || linea[i] == ';') {
+                if (campos == MAX_CAMPOS) {
+                    destino.error(numero, "hay más de " + MAX_CAMPOS + " campos");
+                    return;
+                }
+                int a = ini;
+                int b = i;
+                while (a < b && linea[a] <= ' ') a++;
+                while (b > a && linea[b - 1] <= ' ') b--;
+                inicios[campos] = a;
+                finales[campos] = b;
+                campos++;
+                ini = i + 1;
+            }
+        }
+
+        if (campos != 6 && campos != MAX_CAMPOS) {
+            destino.error(numero, "se esperaban 6 u 8 campos y hay " + campos);
+            return;
+        }
+        if (inicios[0] == finales[0]) {
+            destino.error(numero, "el ID está vacío");
+            return;
+        }
+        if (inicios[1] == finales[1]) {
+            destino.error(numero, "la universidad está vacía");
+            return;
+        }
+        // La vigencia la define el programa; las fechas solo se validan
+        if (campos == MAX_CAMPOS) {
+            if (!fechaValida(linea, inicios[6], finales[6])) {
+                destino.error(numero, "fecha de inicio inválida (se espera AAAA-MM-DD)");
+                return;
+            }
+            if (!fechaValida(linea, inicios[7], finales[7])) {
+                destino.error(numero, "fecha de término inválida (se espera AAAA-MM-DD)");
+                return;
+            }
+            // Con el formato ISO basta comparar los caracteres
+            if (compararTexto(linea, inicios[6], inicios[7], 10) > 0) {
+                destino.error(numero, "la fecha de inicio es posterior a la de término");
+                return;
+            }
+        }
+
+        destino.convenio(new Convenio(campo(linea, 0), campo(linea, 1), campo(linea, 2), campo(linea, 3),
+                campo(linea, 4), campo(linea, 5), idPrograma));
+    }
+
+    private String campo(char[] linea, int i) {
+        return new String(linea, inicios[i], finales[i] - inicios[i]);
+    }
+
+    private static boolean esBlanco(char[] linea, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            if (linea[i] > ' ') return false;
+        }
+        return true;
+    }
+
+    private static boolean fechaValida(char[] s, int a, int b) {
+        if (b - a != 10 || s[a + 4] != '-' || s[a + 7] != '-') return false;
+        int anio = digitos(s, a, 4);
+        int mes = digitos(s, a + 5, 2);
+        int dia = digitos(s, a + 8, 2);
+        return anio >= 0 && mes >= 1 && mes <= 12 && dia >= 1 && dia <= YearMonth.of(anio, mes).lengthOfMonth();
+    }
+
+    private static int digitos(char[] s, int desde, int n) {
+        int v = 0;
+        for (int i = desde; i < desde + n; i++) {
+            char c = s[i];
+            if (c < '0' || c > '9') return -1;
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+
+    private static int compararTexto(char[] s, int a, int b, int n) {
+        for (int i = 0; i < n; i++) {
+            int d = s[a + i] - s[b + i];
+            if (d != 0) return d;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,108 @@
+package servicios;
+
+import modelo.Postulacion;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ranking vivo de los postulantes de cada convenio: mejor promedio primero y, a igual
+ * promedio, más semestres cursados; luego quien postuló antes.
+ *
+ * Cada convenio tiene su propio conjunto ordenado (una skip list concurrente), así que
+ * agregar, quitar o reordenar una postulación cuesta O(log n) y los primeros N se leen
+ * recorriendo solo N elementos, sin ordenar toda la lista en cada consulta.
+ *
+ * Las entradas guardan una copia del promedio y los semestres: cuando cambian las notas de
+ * un estudiante hay que avisar con {@link #reordenar}, que saca la entrada vieja y pone una
+ * nueva (un conjunto ordenado no se entera si cambia la clave de un elemento).
+ */
+public class RankingPostulantes {
+    private static final Comparator<Entrada> ORDEN = Comparator
+            .comparingDouble((Entrada e) -> -e.promedio)
+            .thenComparingInt(e -> -e.semestres)
+            .thenComparing(e -> e.fecha, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(e -> e.postulacion.getId());
+
+    private final Map<String, NavigableSet<Entrada>> porConvenio = new ConcurrentHashMap<>();
+    private final Map<String, Entrada> porPostulacion = new ConcurrentHashMap<>();
+
+    private static final class Entrada {
+        final Postulacion postulacion;
+        final String clave;
+        final double promedio;
+        final int semestres;
+        final LocalDate fecha;
+
+        Entrada(Postulacion postulacion, double promedio, int semestres) {
+            this.postulacion = postulacion;
+            this.clave = claveConvenio(postulacion.getIdConvenio());
+            this.promedio = promedio;
+            this.semestres = semestres;
+            this.fecha = postulacion.getFechaPostulacion();
+        }
+    }
+
+    /**
+     * Agrega la postulación al ranking de su convenio, o la reubica si ya estaba.
+     */
+    public void agregar(Postulacion p, double promedio, int semestres) {
+        Entrada nueva = new Entrada(p, promedio, semestres);
+        Entrada anterior = porPostulacion.put(p.getId(), nueva);
+        if (anterior != null) quitarEntrada(anterior);
+        porConvenio.computeIfAbsent(nueva.clave, k -> new ConcurrentSkipListSet<>(ORDEN)).add(nueva);
+    }
+
+    public void quitar(Postulacion p) {
+        Entrada anterior = porPostulacion.remove(p.getId());
+        if (anterior != null) quitarEntrada(anterior);
+    }
+
+    private void quitarEntrada(Entrada e) {
+        NavigableSet<Entrada> xs = porConvenio.get(e.clave);
+        if (xs != null) xs.remove(e);
+    }
+
+    /**
+     * Reubica las postulaciones de un estudiante cuyas notas cambiaron.
+     * Las que no están en el ranking (por ejemplo, las rechazadas) se ignoran.
+     */
+    public void reordenar(List<Postulacion> postulaciones, double promedio, int semestres) {
+        for (Postulacion p : postulaciones) {
+            if (porPostulacion.containsKey(p.getId())) agregar(p, promedio, semestres);
+        }
+    }
+
+    public boolean contiene(Postulacion p) { return porPostulacion.containsKey(p.getId()); }
+
+    /**
+     * Los primeros {@code n} postulantes del convenio, en orden de ranking.
+     */
+    public List<Postulacion> primeros(String idConvenio, int n) {
+        NavigableSet<Entrada> xs = porConvenio.get(claveConvenio(idConvenio));
+        if (xs == null || n <= 0) return Collections.emptyList();
+        List<Postulacion> resultado = new ArrayList<>(Math.min(n, 64));
+        Iterator<Entrada> it = xs.iterator();
+        while (it.hasNext() && resultado.size() < n) {
+            resultado.add(it.next().postulacion);
+        }
+        return resultado;
+    }
+
+    public int contar(String idConvenio) {
+        NavigableSet<Entrada> xs = porConvenio.get(claveConvenio(idConvenio));
+        return xs == null ? 0 : xs.size();
+    }
+
+    private static String claveConvenio(String idConvenio) {
+        return idConvenio == null ? "" : idConvenio.toUpperCase();
+    }
+}
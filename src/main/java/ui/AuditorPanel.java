@@ -0,0 +1,274 @@
+package ui;
+
+import com.formdev.flatlaf.FlatClientProperties;
+import enums.EstadoPostulacion;
+import gestores.EventoDominio;
+import gestores.GestorIntercambio;
+import modelo.Convenio;
+import modelo.Usuario;
+import servicios.AgregadosPostulaciones;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Vista del auditor: conteos de postulaciones por estado agrupados por país, área y programa,
+ * y la tasa de aceptación de cada convenio. Lee los agregados que mantiene el gestor, así que
+ * se puede recargar con cada cambio sin recorrer las postulaciones.
+ */
+public class AuditorPanel extends JPanel {
+    private static final String[] AGRUPACIONES = { "País, área y programa", "País", "Área", "Programa", "Convenio" };
+    private static final int POR_CONVENIO = 4;
+
+    private final GestorIntercambio gestor;
+    private Usuario usuario;
+    private final Runnable onLogout;
+
+    private JLabel lblSidebarNombre;
+    private JLabel lblResumen;
+    private JComboBox<String> agrupacion;
+    private JButton btnVerificar;
+    private final ReporteTableModel model = new ReporteTableModel();
+    private final Consumer<List<EventoDominio>> oyenteEventos = lote -> SwingUtilities.invokeLater(this::refresh);
+
+    public AuditorPanel(GestorIntercambio gestor, Usuario usuario, Runnable onLogout) {
+        this.gestor = gestor;
+        this.usuario = usuario;
+        this.onLogout = onLogout;
+        init();
+        refreshSidebar();
+        refresh();
+    }
+
+    public void setUsuario(Usuario u) {
+        this.usuario = u;
+        refreshSidebar();
+        refresh();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        gestor.getEventos().suscribirAgrupado(oyenteEventos);
+    }
+
+    @Override
+    public void removeNotify() {
+        gestor.getEventos().desuscribir(oyenteEventos);
+        super.removeNotify();
+    }
+
+    private void init() {
+        // ===== Barra izquierda =====
+        JPanel panelCerrarSesion = new JPanel(new BorderLayout());
+        JButton btnCerrar = new JButton("Cerrar Sesion");
+        btnCerrar.setPreferredSize(new Dimension(180, 48));
+        btnCerrar.putClientProperty(
+                FlatClientProperties.STYLE,
+                "background:#2E86FF; foreground:#FFFFFF; font:bold +2; borderWidth:0; focusWidth:0; innerFocusWidth:0"
+        );
+        btnCerrar.addActionListener(e -> { if (onLogout != null) onLogout.run(); });
+
+        panelCerrarSesion.setBorder(BorderFactory.createEmptyBorder(50, 50, 30, 50));
+        panelCerrarSesion.add(btnCerrar, BorderLayout.NORTH);
+
+        btnVerificar = new JButton("Verificar conteos");
+        btnVerificar.setBorder(null);
+        btnVerificar.addActionListener(e -> verificar());
+
+        JPanel panelOpciones = new JPanel(new GridLayout(0, 1, 0, 12));
+        panelOpciones.setBorder(BorderFactory.createEmptyBorder(50, 16, 12, 16));
+        panelOpciones.add(btnVerificar);
+
+        JPanel panelPerfilMini = new JPanel();
+        panelPerfilMini.setBorder(BorderFactory.createEmptyBorder(200, 16, 100, 16));
+        lblSidebarNombre = new JLabel("Auditor Nombre Apellido");
+        panelPerfilMini.add(lblSidebarNombre);
+
+        JPanel panelIzquierdo = new JPanel(new BorderLayout());
+        panelIzquierdo.add(panelCerrarSesion, BorderLayout.NORTH);
+        panelIzquierdo.add(panelOpciones, BorderLayout.CENTER);
+        panelIzquierdo.add(panelPerfilMini, BorderLayout.SOUTH);
+        panelIzquierdo.setPreferredSize(new Dimension(280, 0));
+        panelIzquierdo.putClientProperty(FlatClientProperties.STYLE, "background:lighten(@background,3%)");
+        panelIzquierdo.setOpaque(true);
+        panelCerrarSesion.setOpaque(false);
+        panelOpciones.setOpaque(false);
+        panelPerfilMini.setOpaque(false);
+
+        // ===== Centro =====
+        JPanel header = new JPanel();
+        header.setOpaque(false);
+        header.setLayout(new BoxLayout(header, BoxLayout.Y_AXIS));
+        header.setBorder(new EmptyBorder(16, 24, 8, 24));
+
+        JLabel title = new JLabel("REPORTES DE POSTULACIONES", SwingConstants.CENTER);
+        title.setAlignmentX(Component.CENTER_ALIGNMENT);
+        title.putClientProperty(FlatClientProperties.STYLE, "font:bold +6");
+        header.add(title);
+        header.add(Box.createVerticalStrut(10));
+
+        JPanel fila = new JPanel(new BorderLayout(12, 0));
+        fila.setOpaque(false);
+        agrupacion = new JComboBox<>(AGRUPACIONES);
+        agrupacion.addActionListener(e -> refresh());
+        lblResumen = new JLabel(" ");
+        fila.add(new JLabel("Agrupar por:"), BorderLayout.WEST);
+        fila.add(agrupacion, BorderLayout.CENTER);
+        fila.add(lblResumen, BorderLayout.EAST);
+        header.add(fila);
+
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.setRowHeight(28); // igual que PostularPanel
+        table.setFocusable(false);
+        table.setAutoCreateRowSorter(true);
+        // La tasa se guarda como fracción (para ordenar bien) y se muestra como porcentaje
+        table.setDefaultRenderer(Double.class, new DefaultTableCellRenderer() {
+            @Override
+            protected void setValue(Object value) {
+                setHorizontalAlignment(SwingConstants.RIGHT);
+                setText(value == null ? "" : String.format(Locale.ROOT, "%.1f%%", 100 * (Double) value));
+            }
+        });
+
+        JPanel centro = new JPanel(new BorderLayout());
+        centro.setOpaque(false);
+        centro.add(header, BorderLayout.NORTH);
+        centro.add(new JScrollPane(table), BorderLayout.CENTER);
+
+        setLayout(new BorderLayout());
+        add(panelIzquierdo, BorderLayout.WEST);
+        add(centro, BorderLayout.CENTER);
+    }
+
+    /**
+     * Vuelve a leer los agregados según la agrupación elegida.
+     */
+    private void refresh() {
+        AgregadosPostulaciones agregados = gestor.getAgregados();
+        long total = agregados.contar(null, null, null, null);
+        long aceptadas = agregados.contar(EstadoPostulacion.ACEPTADA, null, null, null);
+        lblResumen.setText(total + " postulaciones, " + aceptadas + " aceptadas ("
+                + String.format(Locale.ROOT, "%.1f", total == 0 ? 0.0 : 100.0 * aceptadas / total) + "%)");
+
+        List<AgregadosPostulaciones.Fila> filas;
+        switch (agrupacion.getSelectedIndex()) {
+            case 1: filas = agregados.getSubtotales(true, false, false); break;
+            case 2: filas = agregados.getSubtotales(false, true, false); break;
+            case 3: filas = agregados.getSubtotales(false, false, true); break;
+            case POR_CONVENIO: filas = agregados.getFilasPorConvenio(); break;
+            default: filas = agregados.getFilas();
+        }
+        model.setFilas(filas, agrupacion.getSelectedIndex() == POR_CONVENIO);
+    }
+
+    /**
+     * Recalcula los agregados en segundo plano y muestra si coinciden con los mantenidos en línea.
+     */
+    private void verificar() {
+        btnVerificar.setEnabled(false);
+        new SwingWorker<List<String>, Void>() {
+            private long ms;
+
+            @Override
+            protected List<String> doInBackground() {
+                long inicio = System.nanoTime();
+                List<String> diferencias = gestor.verificarAgregados();
+                ms = (System.nanoTime() - inicio) / 1_000_000;
+                return diferencias;
+            }
+
+            @Override
+            protected void done() {
+                btnVerificar.setEnabled(true);
+                List<String> diferencias;
+                try {
+                    diferencias = get();
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(AuditorPanel.this, "No se pudo verificar: " + ex.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                if (diferencias.isEmpty()) {
+                    JOptionPane.showMessageDialog(AuditorPanel.this, "Los conteos coinciden con el recálculo (" + ms + " ms).",
+                            "Verificar conteos", JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JTextArea ta = new JTextArea(String.join("\n", diferencias), 12, 60);
+                    ta.setEditable(false);
+                    JOptionPane.showMessageDialog(AuditorPanel.this, new JScrollPane(ta),
+                            diferencias.size() + " diferencia(s) (" + ms + " ms)", JOptionPane.WARNING_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void refreshSidebar() {
+        if (usuario == null) return;
+        String nombre = usuario.getNombreCompleto();
+        lblSidebarNombre.setText("Auditor " + ((nombre == null || nombre.trim().isEmpty()) ? "-" : nombre.trim()));
+    }
+
+    /**
+     * Una fila por grupo (o por convenio): los conteos por estado, el total y la tasa de aceptación.
+     */
+    private class ReporteTableModel extends AbstractTableModel {
+        private final EstadoPostulacion[] estados = EstadoPostulacion.values();
+        private List<AgregadosPostulaciones.Fila> filas = new ArrayList<>();
+        private boolean porConvenio;
+
+        void setFilas(List<AgregadosPostulaciones.Fila> filas, boolean porConvenio) {
+            boolean cambiaEstructura = porConvenio != this.porConvenio;
+            this.filas = filas;
+            this.porConvenio = porConvenio;
+            if (cambiaEstructura) {
+                fireTableStructureChanged();
+            } else {
+                fireTableDataChanged();
+            }
+        }
+
+        private int columnasGrupo() { return porConvenio ? 2 : 3; }
+
+        public int getRowCount() { return filas.size(); }
+        public int getColumnCount() { return columnasGrupo() + estados.length + 2; }
+
+        public String getColumnName(int column) {
+            int g = columnasGrupo();
+            if (column < g) {
+                return porConvenio ? (column == 0 ? "CONVENIO" : "UNIVERSIDAD") : new String[]{ "PAÍS", "ÁREA", "PROGRAMA" }[column];
+            }
+            if (column < g + estados.length) return estados[column - g].name();
+            return column == g + estados.length ? "TOTAL" : "TASA ACEPTACIÓN";
+        }
+
+        public Class<?> getColumnClass(int column) {
+            int g = columnasGrupo();
+            if (column < g) return String.class;
+            return column < g + estados.length + 1 ? Long.class : Double.class;
+        }
+
+        public Object getValueAt(int row, int column) {
+            AgregadosPostulaciones.Fila f = filas.get(row);
+            int g = columnasGrupo();
+            if (column < g) {
+                if (porConvenio) {
+                    return column == 0 ? f.getIdConvenio()
+                            : gestor.buscarConvenio(f.getIdConvenio()).map(Convenio::getUniversidad).orElse("-");
+                }
+                return column == 0 ? f.getPais() : column == 1 ? f.getArea() : f.getPrograma();
+            }
+            if (column < g + estados.length) return f.contar(estados[column - g]);
+            return column == g + estados.length ? (Object) f.getTotal() : (Object) f.getTasaAceptacion();
+        }
+
+        public boolean isCellEditable(int rowIndex, int columnIndex) { return false; }
+    }
+}
@@ -0,0 +1,83 @@
+package ui;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Búsqueda mientras se escribe sin trabajar en el EDT.
+ *
+ * Cada tecla reinicia un temporizador; solo cuando el usuario deja de escribir por
+ * {@code demoraMs} se lanza la búsqueda en segundo plano. Si llega otra antes de que
+ * termine, la anterior se cancela y su resultado se descarta: al EDT solo llega el
+ * resultado de la última consulta.
+ */
+final class BusquedaDiferida<R> {
+    static final int DEMORA_MS = 200;
+
+    /**
+     * La búsqueda en sí; corre fuera del EDT y debería revisar {@code cancelada} en los
+     * recorridos largos para abandonar cuanto antes una consulta que ya no sirve.
+     */
+    @FunctionalInterface
+    interface Busqueda<R> {
+        R ejecutar(String texto, BooleanSupplier cancelada);
+    }
+
+    private final JTextField campo;
+    private final Busqueda<R> busqueda;
+    private final Consumer<R> publicar;
+    private final Timer temporizador;
+    private SwingWorker<R, Void> enCurso;
+
+    /**
+     * @param publicar Recibe en el EDT el resultado de la última consulta.
+     */
+    BusquedaDiferida(JTextField campo, int demoraMs, Busqueda<R> busqueda, Consumer<R> publicar) {
+        this.campo = campo;
+        this.busqueda = busqueda;
+        this.publicar = publicar;
+        this.temporizador = new Timer(demoraMs, e -> ejecutar());
+        this.temporizador.setRepeats(false);
+
+        campo.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { temporizador.restart(); }
+            public void removeUpdate(DocumentEvent e) { temporizador.restart(); }
+            public void changedUpdate(DocumentEvent e) { temporizador.restart(); }
+        });
+    }
+
+    /**
+     * Repite la consulta actual sin esperar (por ejemplo, cuando cambian los datos).
+     */
+    void ejecutarAhora() {
+        temporizador.stop();
+        ejecutar();
+    }
+
+    private void ejecutar() {
+        if (enCurso != null) enCurso.cancel(false);
+        final String texto = campo.getText() == null ? "" : campo.getText().trim();
+        SwingWorker<R, Void> worker = new SwingWorker<>() {
+            @Override
+            protected R doInBackground() {
+                return busqueda.ejecutar(texto, this::isCancelled);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || this != enCurso) return;
+                enCurso = null;
+                try {
+                    publicar.accept(get());
+                } catch (Exception ex) {
+                    System.err.println("Error en la búsqueda \"" + texto + "\": " + ex.getMessage());
+                }
+            }
+        };
+        enCurso = worker;
+        worker.execute();
+    }
+}
@@ -2,9 +2,7 @@ package ui;
 
 import com.formdev.flatlaf.FlatClientProperties;
 import gestores.GestorIntercambio;
-import modelo.Auditor;
 import modelo.Estudiante;
-import modelo.Funcionario;
 import modelo.Usuario;
 
 import javax.swing.*;
@@ -86,7 +84,7 @@ public class EstudiantePanel extends JPanel {
         panelPerfilMini.setOpaque(false);
 
         // ===== Centro (cards) =====
-        perfilPanel = new PerfilPanel(usuario);
+        perfilPanel = new PerfilPanel(gestor, usuario);
         postulacionesPanel = new PostulacionesPanel(gestor, usuario);
         postularPanel = new PostularPanel(gestor, usuario);
 
@@ -104,7 +102,6 @@ public class EstudiantePanel extends JPanel {
         btnPerfil.addActionListener(e -> centerCardsLayout.show(centerCards, CARD_PERFIL));
         btnVerPost.addActionListener(e -> {
             postulacionesPanel.setUsuario(usuario);
-            postulacionesPanel.refresh();
             centerCardsLayout.show(centerCards, CARD_POSTULACIONES);
         });
         btnPostular.addActionListener(e -> centerCardsLayout.show(centerCards, CARD_POSTULAR));
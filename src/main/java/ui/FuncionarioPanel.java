@@ -0,0 +1,155 @@
+package ui;
+
+import com.formdev.flatlaf.FlatClientProperties;
+import gestores.GestorIntercambio;
+import gestores.PropuestaAsignacion;
+import gestores.ResultadoCambioMasivo;
+import modelo.Usuario;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Vista del funcionario: todas las postulaciones, con filtro por estado,
+ * cambio de estado sobre varias filas a la vez y asignación automática de cupos.
+ */
+public class FuncionarioPanel extends JPanel {
+
+    private final GestorIntercambio gestor;
+    private Usuario usuario;
+    private final Runnable onLogout;
+
+    private JLabel lblSidebarNombre;
+    private PostulacionesPanel postulacionesPanel;
+    private JButton btnAsignar;
+
+    public FuncionarioPanel(GestorIntercambio gestor, Usuario usuario, Runnable onLogout) {
+        this.gestor = gestor;
+        this.usuario = usuario;
+        this.onLogout = onLogout;
+        init();
+        refreshSidebar();
+    }
+
+    public void setUsuario(Usuario u) {
+        this.usuario = u;
+        refreshSidebar();
+        postulacionesPanel.setUsuario(u);
+    }
+
+    private void init() {
+        // ===== Barra izquierda =====
+        JPanel panelCerrarSesion = new JPanel(new BorderLayout());
+        JButton btnCerrar = new JButton("Cerrar Sesion");
+        btnCerrar.setPreferredSize(new Dimension(180, 48));
+        btnCerrar.putClientProperty(
+                FlatClientProperties.STYLE,
+                "background:#2E86FF; foreground:#FFFFFF; font:bold +2; borderWidth:0; focusWidth:0; innerFocusWidth:0"
+        );
+        btnCerrar.addActionListener(e -> { if (onLogout != null) onLogout.run(); });
+
+        panelCerrarSesion.setBorder(BorderFactory.createEmptyBorder(50, 50, 30, 50));
+        panelCerrarSesion.add(btnCerrar, BorderLayout.NORTH);
+
+        btnAsignar = new JButton("Asignación automática");
+        btnAsignar.setBorder(null);
+        btnAsignar.addActionListener(e -> asignarCupos());
+
+        JPanel panelOpciones = new JPanel(new GridLayout(0, 1, 0, 12));
+        panelOpciones.setBorder(BorderFactory.createEmptyBorder(50, 16, 12, 16));
+        panelOpciones.add(btnAsignar);
+
+        JPanel panelPerfilMini = new JPanel();
+        panelPerfilMini.setBorder(BorderFactory.createEmptyBorder(200, 16, 100, 16));
+        lblSidebarNombre = new JLabel("Funcionario Nombre Apellido");
+        panelPerfilMini.add(lblSidebarNombre);
+
+        JPanel panelIzquierdo = new JPanel(new BorderLayout());
+        panelIzquierdo.add(panelCerrarSesion, BorderLayout.NORTH);
+        panelIzquierdo.add(panelOpciones, BorderLayout.CENTER);
+        panelIzquierdo.add(panelPerfilMini, BorderLayout.SOUTH);
+        panelIzquierdo.setPreferredSize(new Dimension(280, 0));
+        panelIzquierdo.putClientProperty(FlatClientProperties.STYLE, "background:lighten(@background,3%)");
+        panelIzquierdo.setOpaque(true);
+        panelCerrarSesion.setOpaque(false);
+        panelOpciones.setOpaque(false);
+        panelPerfilMini.setOpaque(false);
+
+        // ===== Centro =====
+        postulacionesPanel = new PostulacionesPanel(gestor, usuario);
+
+        setLayout(new BorderLayout());
+        add(panelIzquierdo, BorderLayout.WEST);
+        add(postulacionesPanel, BorderLayout.CENTER);
+    }
+
+    /**
+     * Calcula la propuesta fuera del EDT, la muestra y, si el funcionario confirma, la aplica
+     * (también en segundo plano). La tabla se actualiza sola con los eventos de cambio de estado.
+     */
+    private void asignarCupos() {
+        btnAsignar.setEnabled(false);
+        new SwingWorker<PropuestaAsignacion, Void>() {
+            @Override
+            protected PropuestaAsignacion doInBackground() {
+                return gestor.proponerAsignacion();
+            }
+
+            @Override
+            protected void done() {
+                PropuestaAsignacion propuesta;
+                try {
+                    propuesta = get();
+                } catch (Exception ex) {
+                    btnAsignar.setEnabled(true);
+                    error("No se pudo calcular la asignación: " + ex.getMessage());
+                    return;
+                }
+                if (propuesta.getAsignadas().isEmpty()) {
+                    btnAsignar.setEnabled(true);
+                    JOptionPane.showMessageDialog(FuncionarioPanel.this, propuesta + ".", "Asignación automática",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+                int ok = JOptionPane.showConfirmDialog(FuncionarioPanel.this,
+                        propuesta + ".\n¿Aceptar las postulaciones asignadas? Las demás de cada estudiante quedarán ABANDONADA.",
+                        "Asignación automática", JOptionPane.YES_NO_OPTION);
+                if (ok == JOptionPane.YES_OPTION) {
+                    aplicar(propuesta);
+                } else {
+                    btnAsignar.setEnabled(true);
+                }
+            }
+        }.execute();
+    }
+
+    private void aplicar(PropuestaAsignacion propuesta) {
+        new SwingWorker<ResultadoCambioMasivo, Void>() {
+            @Override
+            protected ResultadoCambioMasivo doInBackground() {
+                return gestor.aplicarAsignacion(propuesta);
+            }
+
+            @Override
+            protected void done() {
+                btnAsignar.setEnabled(true);
+                try {
+                    JOptionPane.showMessageDialog(FuncionarioPanel.this, get() + ".", "Asignación automática",
+                            JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    error("No se pudo aplicar la asignación: " + ex.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    private void error(String msg) {
+        JOptionPane.showMessageDialog(this, msg, "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    private void refreshSidebar() {
+        if (usuario == null) return;
+        String nombre = usuario.getNombreCompleto();
+        lblSidebarNombre.setText("Funcionario " + ((nombre == null || nombre.trim().isEmpty()) ? "-" : nombre.trim()));
+    }
+}
@@ -3,7 +3,7 @@ package ui;
 import com.formdev.flatlaf.FlatClientProperties;
 import gestores.GestorIntercambio;
 import gestores.ResultadoLogin;
-import modelo.Usuario;
+import gestores.Sesion;
 import net.miginfocom.swing.MigLayout;
 import servicios.VerificarInput;
 
@@ -14,13 +14,15 @@ import java.util.function.Consumer;
 public class LoginPanel extends JPanel {
 
     private final GestorIntercambio gestor;
-    private final Consumer<Usuario> onSuccess;
+    private final Consumer<Sesion> onSuccess;
 
     private JTextField rut;
     private JPasswordField pass;
     private JButton login;
+    private JButton registrar;
+    private JLabel estadoCarga;
 
-    public LoginPanel(GestorIntercambio gestor, Consumer<Usuario> onSuccess) {
+    public LoginPanel(GestorIntercambio gestor, Consumer<Sesion> onSuccess) {
         this.gestor = gestor;
         this.onSuccess = onSuccess;
         init();
@@ -56,7 +58,11 @@ public class LoginPanel extends JPanel {
         panel.add(pass);
         panel.add(login, "gapy 10");
         panel.add(crearSeccionRegistro(), "gapy 10");
+        estadoCarga = new JLabel("Cargando datos...", SwingConstants.CENTER);
+        estadoCarga.putClientProperty(FlatClientProperties.STYLE, "foreground:darken(@foreground,30%)");
+        panel.add(estadoCarga, "gapy 6, hidemode 3");
         add(panel);
+        esperarCarga();
 
         login.addActionListener(e -> doLogin());
         getInputMap(WHEN_ANCESTOR_OF_FOCUSED_COMPONENT)
@@ -66,6 +72,28 @@ public class LoginPanel extends JPanel {
         });
     }
 
+    /**
+     * Mientras el gestor carga los datos, el formulario se muestra pero no permite ingresar ni registrarse.
+     */
+    private void esperarCarga() {
+        boolean cargando = gestor != null && !gestor.getCargaInicial().isDone();
+        setCargando(cargando);
+        if (cargando) {
+            gestor.getCargaInicial().whenComplete((r, e) -> SwingUtilities.invokeLater(() -> {
+                setCargando(false);
+                if (e != null) {
+                    JOptionPane.showMessageDialog(this, "No se pudieron cargar todos los datos.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }));
+        }
+    }
+
+    private void setCargando(boolean cargando) {
+        login.setEnabled(!cargando);
+        registrar.setEnabled(!cargando);
+        estadoCarga.setVisible(cargando);
+    }
+
     private static void marcarError(JComponent c, boolean error) {
         c.putClientProperty(FlatClientProperties.OUTLINE, error ? "error" : null);
     }
@@ -79,7 +107,7 @@ public class LoginPanel extends JPanel {
     private Component crearSeccionRegistro(){
         JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER,0,0));
         panel.putClientProperty(FlatClientProperties.STYLE, "background:null");
-        JButton registrar = new JButton("<html><a href=\"#\">Registrar</a></html>");
+        registrar = new JButton("<html><a href=\"#\">Registrar</a></html>");
         registrar.putClientProperty(FlatClientProperties.STYLE, "border:3,3,3,3");
         registrar.setContentAreaFilled(false);
         registrar.setCursor(new Cursor(Cursor.HAND_CURSOR));
@@ -93,6 +121,7 @@ public class LoginPanel extends JPanel {
 
     // === Lógica conectada a GestorIntercambio / ResultadoLogin ===
     private void doLogin() {
+        if (!login.isEnabled()) return;
         if (gestor == null) {
             JOptionPane.showMessageDialog(this, "Gestor no inicializado.", "Error", JOptionPane.ERROR_MESSAGE);
             return;
@@ -101,7 +130,7 @@ public class LoginPanel extends JPanel {
         String passTxt = new String(pass.getPassword());
 
         ResultadoLogin r = gestor.iniciarSesion(rutTxt, passTxt);
-        if (r.isExito()) onSuccess.accept(r.getUsuario());
+        if (r.isExito()) onSuccess.accept(r.getSesion());
         else {
             Toolkit.getDefaultToolkit().beep();
             JOptionPane.showMessageDialog(this, r.getMensaje(), "Inicio de sesión", JOptionPane.ERROR_MESSAGE);
@@ -1,6 +1,7 @@
 package ui;
 
 import com.formdev.flatlaf.FlatClientProperties;
+import gestores.GestorIntercambio;
 import modelo.Estudiante;
 import modelo.Usuario;
 
@@ -9,6 +10,7 @@ import java.awt.*;
 
 public class PerfilPanel extends JPanel {
 
+    private final GestorIntercambio gestor;
     private Usuario usuario;
 
     private JLabel lblTituloPeq;
@@ -20,7 +22,8 @@ public class PerfilPanel extends JPanel {
     private JLabel lblSemestres;
     private JLabel lblPromedio;
 
-    public PerfilPanel(Usuario usuarioInicial) {
+    public PerfilPanel(GestorIntercambio gestor, Usuario usuarioInicial) {
+        this.gestor = gestor;
         this.usuario = usuarioInicial;
         initUI();
         refreshFromUsuario();
@@ -198,7 +201,7 @@ public class PerfilPanel extends JPanel {
             public Boolean apply(String nuevo) {
                 String n = nuevo.trim();
                 if (n.isEmpty()) { beepWarn("La carrera no puede estar vacía."); return false; }
-                est.setCarrera(n);
+                gestor.actualizarCarrera(est.getRut(), n);
                 refreshFromUsuario();
                 info("Carrera actualizada correctamente.");
                 return true;
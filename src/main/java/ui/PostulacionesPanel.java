@@ -3,33 +3,54 @@ package ui;
 import com.formdev.flatlaf.FlatClientProperties;
 import enums.EstadoPostulacion;
 import enums.Rol;
+import enums.TipoEvento;
+import enums.TipoInteraccion;
+import gestores.EventoDominio;
 import gestores.GestorIntercambio;
+import gestores.ResultadoCambioMasivo;
 import modelo.*;
+import servicios.IndiceConvenios;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.event.DocumentEvent;
-import javax.swing.event.DocumentListener;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.List;
 import java.util.Objects;
 import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 public class PostulacionesPanel extends JPanel {
 
+    private static final int TAMANO_PAGINA_HISTORIAL = 50;
+    private static final String FILTRO_TODOS = "TODOS";
+    private static final int MAX_RECHAZOS_MOSTRADOS = 20;
+    /** Sobre esta cantidad de filas tocadas por un lote conviene recargar todo en segundo plano. */
+    private static final int MAX_FILAS_EN_LINEA = 2000;
+
     private final GestorIntercambio gestor;
     private Usuario usuario;
 
     private JLabel title;
     private JTextField search;
     private JTable table;
-    private DefaultTableModel model;
-    private TableRowSorter<DefaultTableModel> sorter;
+    private PostulacionesTableModel model;
+    private TableRowSorter<PostulacionesTableModel> sorter;
     private JButton btnDetalle;
+    private JComboBox<String> filtroEstado;
+    private final List<JButton> botonesEstado = new ArrayList<>();
     private boolean estructuraConstruida = false;
+    private int generacionCarga = 0;
+    private boolean cargaEnCurso = false;
+    private BusquedaDiferida<Set<Postulacion>> busqueda;
+    private volatile Columnas ultimaCarga;
+    private final Consumer<List<EventoDominio>> oyenteEventos = lote -> SwingUtilities.invokeLater(() -> alRecibirEventos(lote));
 
     // columnas (índices)
     private static final int COL_ID = 0;
@@ -38,7 +59,6 @@ public class PostulacionesPanel extends JPanel {
     private static final int COL_EMITIDA = 3;
     private static final int COL_VIGENCIA = 4;
     private static final int COL_ESTADO = 5;
-    private static final int COL_OBJ = 6;
 
     public PostulacionesPanel(GestorIntercambio gestor, Usuario usuario) {
         this.gestor = Objects.requireNonNull(gestor);
@@ -52,13 +72,130 @@ public class PostulacionesPanel extends JPanel {
         refresh();
     }
 
-    public void refresh() {
-        List<Postulacion> mias = Collections.emptyList();
-        if (usuario instanceof Estudiante) {
-            mias = ((Estudiante) usuario).getPostulaciones();
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        gestor.getEventos().suscribirAgrupado(oyenteEventos);
+    }
+
+    @Override
+    public void removeNotify() {
+        gestor.getEventos().desuscribir(oyenteEventos);
+        super.removeNotify();
+    }
+
+    private boolean esFuncionario() {
+        return usuario != null && usuario.getRol() == Rol.FUNCIONARIO;
+    }
+
+    /**
+     * Recarga solo si el lote toca a las postulaciones del estudiante (o a un convenio que
+     * aparece en ellas). Para el funcionario se aplican al modelo solo las filas del lote.
+     * La recarga aplica diferencias, así que solo cambian esas filas.
+     */
+    private void alRecibirEventos(List<EventoDominio> lote) {
+        if (esFuncionario()) {
+            actualizarFilas(lote);
+            return;
         }
+        if (!(usuario instanceof Estudiante)) return;
+        Columnas filas = ultimaCarga;
+        for (EventoDominio e : lote) {
+            if (usuario.getRut().equals(e.getRutEstudiante())) {
+                refresh();
+                return;
+            }
+            if (e.getTipo() == TipoEvento.CONVENIO_ACTUALIZADO && filas != null) {
+                for (int i = 0; i < filas.n; i++) {
+                    if (e.getConvenio().getId().equalsIgnoreCase(filas.postulaciones[i].getIdConvenio())) {
+                        refresh();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reformatea solo las postulaciones que nombra el lote (y las de los convenios actualizados)
+     * y las aplica al modelo por ID. Recarga todo si hay una carga en curso (podría traer datos
+     * anteriores al lote), si el lote toca demasiadas filas o si una fila sale del filtro de estado.
+     */
+    private void actualizarFilas(List<EventoDominio> lote) {
+        if (cargaEnCurso || !estructuraConstruida || ultimaCarga == null) {
+            refresh();
+            return;
+        }
+        Set<Postulacion> tocadas = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (EventoDominio e : lote) {
+            if (e.getPostulacion() != null) {
+                tocadas.add(e.getPostulacion());
+            } else if (e.getTipo() == TipoEvento.CONVENIO_ACTUALIZADO) {
+                tocadas.addAll(gestor.getPostulacionesPorConvenio(e.getConvenio().getId()));
+            }
+            if (tocadas.size() > MAX_FILAS_EN_LINEA) {
+                refresh();
+                return;
+            }
+        }
+        if (tocadas.isEmpty()) return;
+
+        String estado = (String) filtroEstado.getSelectedItem();
+        List<Postulacion> visibles = new ArrayList<>(tocadas.size());
+        for (Postulacion p : tocadas) {
+            if (FILTRO_TODOS.equals(estado) || (p.getEstado() != null && p.getEstado().name().equals(estado))) {
+                visibles.add(p);
+            } else if (model.contiene(safe(p.getId()))) {
+                refresh(); // dejó de cumplir el filtro
+                return;
+            }
+        }
+        Columnas cambios = crearColumnas(visibles);
+        ultimaCarga.textos.putAll(cambios.textos);
+        model.actualizar(cambios);
+        if (!search.getText().trim().isEmpty()) busqueda.ejecutarAhora();
+    }
+
+    /**
+     * Vuelve a leer las postulaciones en segundo plano y aplica al modelo solo las
+     * diferencias, de modo que la tabla conserva el orden y la selección.
+     */
+    public void refresh() {
+        final int generacion = ++generacionCarga;
+        cargaEnCurso = true;
+        final Usuario u = usuario;
+        final String estado = filtroEstado != null ? (String) filtroEstado.getSelectedItem() : FILTRO_TODOS;
+        new SwingWorker<Columnas, Void>() {
+            @Override
+            protected Columnas doInBackground() {
+                if (u != null && u.getRol() == Rol.FUNCIONARIO) {
+                    return FILTRO_TODOS.equals(estado)
+                            ? crearColumnas(gestor.getTodasLasPostulaciones())
+                            : crearColumnas(gestor.getPostulaciones("estado", estado));
+                }
+                if (!(u instanceof Estudiante)) return new Columnas(0);
+                return crearColumnas(gestor.getPostulaciones("rut", u.getRut()));
+            }
+
+            @Override
+            protected void done() {
+                if (generacion != generacionCarga) return; // llegó una carga más reciente
+                cargaEnCurso = false;
+                Columnas filas;
+                try {
+                    filas = get();
+                } catch (Exception ex) {
+                    System.err.println("Error al cargar las postulaciones: " + ex.getMessage());
+                    return;
+                }
+                mostrar(filas);
+            }
+        }.execute();
+    }
 
-        if (mias == null || mias.isEmpty()) {
+    private void mostrar(Columnas filas) {
+        // El funcionario conserva la tabla vacía para poder cambiar el filtro de estado
+        if (filas.n == 0 && !esFuncionario()) {
             removeAll();
             setLayout(new GridBagLayout());
             JLabel vacio = new JLabel("No se han encontrado postulaciones.");
@@ -72,35 +209,43 @@ public class PostulacionesPanel extends JPanel {
         if (!estructuraConstruida) {
             removeAll();
             init();
+            revalidate(); repaint();
         }
+        ultimaCarga = filas;
+        model.aplicar(filas);
+        // Las filas nuevas o cambiadas aún no pasaron por el filtro vigente
+        if (!search.getText().trim().isEmpty()) busqueda.ejecutarAhora();
+    }
 
-        model.setRowCount(0);
-        for (Postulacion p : mias) {
+    /**
+     * Formatea las filas una sola vez. Los textos repetidos (la vigencia de un programa,
+     * una fecha) se calculan una vez y se comparten entre filas.
+     */
+    private Columnas crearColumnas(Collection<Postulacion> postulaciones) {
+        Columnas c = new Columnas(postulaciones.size());
+        Map<Programa, String> vigencias = new IdentityHashMap<>();
+        Map<LocalDate, String> fechas = new HashMap<>();
+        for (Postulacion p : postulaciones) {
             Convenio conv = p.getConvenioSeleccionado();
-
-            String id      = safe(p.getId());
-            String uni     = conv != null ? safe(conv.getUniversidad()) : "-";
-            String pais    = conv != null ? safe(conv.getPais()) : "-";
-            String emitida = (p.getFechaPostulacion() != null) ? p.getFechaPostulacion().toString() : "-";
-
-            String vigencia;
-            if (conv != null && conv.getFechaInicio() != null && conv.getFechaFin() != null) {
-                vigencia = conv.getFechaInicio() + " a " + conv.getFechaFin();
-            } else if (conv != null) {
+            String vigencia = "-";
+            if (conv != null) {
                 Programa prog = gestor.getProgramaDeConvenio(conv);
-                if (prog != null && prog.getFechaInicio() != null && prog.getFechaFin() != null)
-                    vigencia = prog.getFechaInicio() + " a " + prog.getFechaFin();
-                else vigencia = "-";
-            } else {
-                vigencia = "-";
+                if (prog != null) vigencia = vigencias.computeIfAbsent(prog, PostulacionesPanel::vigenciaTexto);
             }
-
-            String estado = (p.getEstado() != null) ? p.getEstado().name() : "-";
-            model.addRow(new Object[]{ id, uni, pais, emitida, vigencia, estado, p });
+            String emitida = p.getFechaPostulacion() != null
+                    ? fechas.computeIfAbsent(p.getFechaPostulacion(), LocalDate::toString) : "-";
+            c.agregar(p, safe(p.getId()),
+                    conv != null ? safe(conv.getUniversidad()) : "-",
+                    conv != null ? safe(conv.getPais()) : "-",
+                    emitida, vigencia, p.getEstado());
         }
-
-        applyFilter();
-        revalidate(); repaint();
+        c.indexar();
+        c.textos = new ConcurrentHashMap<>(c.n * 2);
+        for (int i = 0; i < c.n; i++) {
+            c.textos.put(c.postulaciones[i], IndiceConvenios.normalizar(String.join(" ", c.ids[i], c.universidades[i], c.paises[i],
+                    c.emitidas[i], c.vigencias[i], (String) c.valor(i, COL_ESTADO))));
+        }
+        return c;
     }
 
     private void init() {
@@ -112,7 +257,7 @@ public class PostulacionesPanel extends JPanel {
         header.setLayout(new BoxLayout(header, BoxLayout.Y_AXIS));
         header.setBorder(new EmptyBorder(16, 24, 8, 24));
 
-        title = new JLabel("MIS POSTULACIONES", SwingConstants.CENTER);
+        title = new JLabel(esFuncionario() ? "POSTULACIONES" : "MIS POSTULACIONES", SwingConstants.CENTER);
         title.setAlignmentX(Component.CENTER_ALIGNMENT);
         title.putClientProperty(FlatClientProperties.STYLE, "font:bold +6");
         header.add(title);
@@ -127,22 +272,25 @@ public class PostulacionesPanel extends JPanel {
         search.putClientProperty(FlatClientProperties.PLACEHOLDER_TEXT, "Buscar");
         search.putClientProperty(FlatClientProperties.STYLE, "arc:999; margin:6,14,6,14");
         searchRow.add(search, BorderLayout.CENTER);
+        if (esFuncionario()) {
+            filtroEstado = new JComboBox<>();
+            filtroEstado.addItem(FILTRO_TODOS);
+            for (EstadoPostulacion e : EstadoPostulacion.values()) filtroEstado.addItem(e.name());
+            filtroEstado.addActionListener(e -> refresh());
+            searchRow.add(filtroEstado, BorderLayout.EAST);
+        }
         header.add(searchRow);
 
         add(header, BorderLayout.NORTH);
 
-        String[] cols = { "ID", "UNIVERSIDAD", "PAÍS", "EMITIDA", "VIGENCIA", "ESTADO", "_POST_" };
-        model = new DefaultTableModel(cols, 0) {
-            public boolean isCellEditable(int row, int col) { return false; }
-            public Class<?> getColumnClass(int columnIndex) {
-                return columnIndex == COL_OBJ ? Postulacion.class : String.class;
-            }
-        };
+        model = new PostulacionesTableModel();
 
         table = new JTable(model);
         table.setFillsViewportHeight(true);
         table.setRowHeight(28); // igual que PostularPanel
-        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setSelectionMode(esFuncionario()
+                ? ListSelectionModel.MULTIPLE_INTERVAL_SELECTION
+                : ListSelectionModel.SINGLE_SELECTION);
         table.setFocusable(false);
 
         // Orden y filtro
@@ -160,15 +308,7 @@ public class PostulacionesPanel extends JPanel {
             }
         });
 
-        search.getDocument().addDocumentListener(new DocumentListener() {
-            public void insertUpdate(DocumentEvent e) { applyFilter(); }
-            public void removeUpdate(DocumentEvent e) { applyFilter(); }
-            public void changedUpdate(DocumentEvent e) { applyFilter(); }
-        });
-
-        table.getColumnModel().getColumn(COL_OBJ).setMinWidth(0);
-        table.getColumnModel().getColumn(COL_OBJ).setMaxWidth(0);
-        table.getColumnModel().getColumn(COL_OBJ).setPreferredWidth(0);
+        busqueda = new BusquedaDiferida<>(search, BusquedaDiferida.DEMORA_MS, this::buscar, this::applyFilter);
 
         JScrollPane scroll = new JScrollPane(table);
         add(scroll, BorderLayout.CENTER);
@@ -180,27 +320,124 @@ public class PostulacionesPanel extends JPanel {
             Postulacion p = selectedPostulacion();
             if (p != null) openDetalle(p);
         });
+        if (esFuncionario()) {
+            botonesEstado.clear();
+            agregarBotonEstado(footer, "Preseleccionar", EstadoPostulacion.PRESELECCIONADA);
+            agregarBotonEstado(footer, "Aceptar", EstadoPostulacion.ACEPTADA);
+            agregarBotonEstado(footer, "Rechazar", EstadoPostulacion.RECHAZADA);
+        }
         footer.add(btnDetalle);
 
         add(footer, BorderLayout.SOUTH);
         estructuraConstruida = true;
     }
 
-    private void applyFilter() {
+    /**
+     * Corre fuera del EDT sobre el texto ya normalizado de la última carga, que el EDT
+     * completa con las filas actualizadas por los eventos. Cada término de la consulta debe
+     * aparecer en la fila. Devuelve null si no hay texto (se muestran todas) o si la consulta
+     * fue reemplazada.
+     */
+    private Set<Postulacion> buscar(String txt, BooleanSupplier cancelada) {
+        Columnas filas = ultimaCarga;
+        if (txt.isEmpty() || filas == null) return null;
+        String[] terminos = IndiceConvenios.normalizar(txt).split("\\s+");
+        Set<Postulacion> coincidencias = Collections.newSetFromMap(new IdentityHashMap<>());
+        int i = 0;
+        for (Map.Entry<Postulacion, String> fila : filas.textos.entrySet()) {
+            if ((i++ & 4095) == 0 && cancelada.getAsBoolean()) return null;
+            String texto = fila.getValue();
+            boolean incluir = true;
+            for (String t : terminos) {
+                if (!texto.contains(t)) {
+                    incluir = false;
+                    break;
+                }
+            }
+            if (incluir) coincidencias.add(fila.getKey());
+        }
+        return coincidencias;
+    }
+
+    private void applyFilter(Set<Postulacion> coincidencias) {
         if (sorter == null) return;
-        String txt = search.getText() == null ? "" : search.getText().trim();
-        if (txt.isEmpty()) {
+        if (coincidencias == null) {
             sorter.setRowFilter(null);
             return;
         }
-        sorter.setRowFilter(RowFilter.regexFilter("(?i)" + PatternUtil.quoteIfNeeded(txt)));
+        sorter.setRowFilter(new RowFilter<PostulacionesTableModel, Integer>() {
+            public boolean include(Entry<? extends PostulacionesTableModel, ? extends Integer> entry) {
+                return coincidencias.contains(model.getPostulacion(entry.getIdentifier()));
+            }
+        });
+    }
+
+    private void agregarBotonEstado(JPanel footer, String texto, EstadoPostulacion destino) {
+        JButton b = new JButton(texto);
+        b.addActionListener(e -> cambiarEstadoSeleccionadas(destino));
+        botonesEstado.add(b);
+        footer.add(b);
+    }
+
+    /**
+     * Aplica la decisión del funcionario a todas las filas seleccionadas con una sola
+     * llamada al gestor (y una sola transacción), fuera del EDT. La tabla se actualiza
+     * sola con los eventos de cambio de estado.
+     */
+    private void cambiarEstadoSeleccionadas(EstadoPostulacion destino) {
+        int[] filas = table.getSelectedRows();
+        if (filas.length == 0) {
+            info("Seleccione una o más postulaciones.");
+            return;
+        }
+        List<String> ids = new ArrayList<>(filas.length);
+        for (int fila : filas) {
+            ids.add(model.getPostulacion(table.convertRowIndexToModel(fila)).getId());
+        }
+        String aviso = "¿Cambiar " + ids.size() + " postulación(es) a " + destino.name() + "?";
+        if (destino == EstadoPostulacion.ACEPTADA) {
+            aviso += "\nLas demás postulaciones abiertas de cada estudiante quedarán ABANDONADA.";
+        }
+        int ok = JOptionPane.showConfirmDialog(this, aviso, "Cambio de estado", JOptionPane.YES_NO_OPTION);
+        if (ok != JOptionPane.YES_OPTION) return;
+
+        botonesEstado.forEach(b -> b.setEnabled(false));
+        new SwingWorker<ResultadoCambioMasivo, Void>() {
+            @Override
+            protected ResultadoCambioMasivo doInBackground() {
+                return gestor.cambiarEstadoMasivo(ids, destino);
+            }
+
+            @Override
+            protected void done() {
+                botonesEstado.forEach(b -> b.setEnabled(true));
+                try {
+                    info(describir(get()));
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(PostulacionesPanel.this,
+                            "No se pudo cambiar el estado: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private static String describir(ResultadoCambioMasivo r) {
+        StringBuilder sb = new StringBuilder(r.toString()).append('.');
+        List<String> rechazos = r.getRechazos();
+        for (int i = 0; i < rechazos.size() && i < MAX_RECHAZOS_MOSTRADOS; i++) {
+            sb.append("\n  ").append(rechazos.get(i));
+        }
+        if (rechazos.size() > MAX_RECHAZOS_MOSTRADOS) {
+            sb.append("\n  ... y ").append(rechazos.size() - MAX_RECHAZOS_MOSTRADOS).append(" más");
+        }
+        return sb.toString();
     }
 
     private Postulacion selectedPostulacion() {
         int viewRow = table.getSelectedRow();
         if (viewRow < 0) return null;
         int modelRow = table.convertRowIndexToModel(viewRow);
-        return (Postulacion) model.getValueAt(modelRow, COL_OBJ);
+        return model.getPostulacion(modelRow);
     }
 
     private void openDetalle(Postulacion p) {
@@ -223,7 +460,7 @@ public class PostulacionesPanel extends JPanel {
         gc.gridy++;
         info.add(new JLabel("País: " + (conv != null ? safe(conv.getPais()) : "-")), gc);
         gc.gridy++;
-        info.add(new JLabel("Plazo: " + vigenciaTexto(conv, prog)), gc);
+        info.add(new JLabel("Plazo: " + vigenciaTexto(prog)), gc);
         gc.gridy++;
         info.add(new JLabel("Estado: " + (p.getEstado() != null ? p.getEstado().name() : "-")), gc);
         if (conv != null) {
@@ -275,25 +512,28 @@ public class PostulacionesPanel extends JPanel {
                 int ok = JOptionPane.showConfirmDialog(this, tfTitulo,
                         "Título del documento", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
                 if (ok == JOptionPane.OK_OPTION && !tfTitulo.getText().trim().isEmpty()) {
-                    Interaccion inter = Interaccion.ofDocumento(usuario, tfTitulo.getText().trim(),
-                            "Documento subido por el estudiante.");
+                    Interaccion inter = new Interaccion(usuario, TipoInteraccion.DOCUMENTO, tfTitulo.getText().trim(),
+                            LocalDateTime.now(), null);
                     gestor.agregarInteraccionAPostulacion(p.getId(), inter);
-                    if (p.getEstado() != EstadoPostulacion.POR_REVISAR) {
-                        p.setEstado(EstadoPostulacion.POR_REVISAR);
+                    if (gestor.cambiarEstadoPostulacion(p, EstadoPostulacion.POR_REVISAR)) {
+                        info("Documento agregado. Estado cambiado a 'POR_REVISAR'.");
+                    } else {
+                        info("Documento agregado.");
                     }
-                    info("Documento agregado. Estado cambiado a 'POR_REVISAR'.");
-                    refresh();
                 }
             } else if (usuario.getRol() == Rol.FUNCIONARIO) {
                 JTextArea ta = new JTextArea(5, 30);
                 int ok = JOptionPane.showConfirmDialog(this, new JScrollPane(ta),
                         "Comentario", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
                 if (ok == JOptionPane.OK_OPTION && !ta.getText().trim().isEmpty()) {
-                    Interaccion inter = Interaccion.ofComentario(usuario, ta.getText().trim());
+                    Interaccion inter = new Interaccion(usuario, TipoInteraccion.COMENTARIO, ta.getText().trim(),
+                            LocalDateTime.now(), null);
                     gestor.agregarInteraccionAPostulacion(p.getId(), inter);
-                    p.setEstado(EstadoPostulacion.REVISADA);
-                    info("Comentario agregado. Estado cambiado a 'REVISADA'.");
-                    refresh();
+                    if (gestor.cambiarEstadoPostulacion(p, EstadoPostulacion.REVISADA)) {
+                        info("Comentario agregado. Estado cambiado a 'REVISADA'.");
+                    } else {
+                        info("Comentario agregado. La postulación se mantiene en '" + p.getEstado() + "'.");
+                    }
                 }
             }
         } else if (val == btnInter) {
@@ -301,32 +541,73 @@ public class PostulacionesPanel extends JPanel {
         }
     }
 
+    /**
+     * Muestra el historial cargándolo por páginas: la siguiente se pide en segundo plano
+     * cuando el usuario se acerca al final de la lista.
+     */
     private void verHistorial(Postulacion p) {
-        java.util.List<Interaccion> xs = p.getInteracciones();
-        if (xs == null || xs.isEmpty()) {
+        if (p.getCantidadInteracciones() == 0) {
             info("No hay interacciones registradas.");
             return;
         }
 
-        StringBuilder sb = new StringBuilder();
-        for (Interaccion i : xs) {
-            String contenido = (i.getTipo() == enums.TipoInteraccion.DOCUMENTO)
-                    ? i.getTitulo()
-                    : i.getContenido();
-            sb.append(i.getFechaHora().toLocalDate())
-                    .append(" | ")
-                    .append(i.getAutor().getNombreCompleto())
-                    .append(" | ")
-                    .append(contenido)
-                    .append("\n");
-        }
+        DefaultListModel<String> filas = new DefaultListModel<>();
+        JList<String> lista = new JList<>(filas);
+        lista.setVisibleRowCount(12);
+        lista.setPrototypeCellValue(String.format("%-90s", ""));
+        JScrollPane scroll = new JScrollPane(lista);
+
+        Runnable cargarSiguiente = new Runnable() {
+            private Interaccion ultima;
+            private boolean cargando;
+            private boolean agotado;
+
+            @Override
+            public void run() {
+                if (cargando || agotado) return;
+                cargando = true;
+                final Interaccion desde = ultima;
+                new SwingWorker<List<Interaccion>, Void>() {
+                    @Override
+                    protected List<Interaccion> doInBackground() {
+                        return gestor.getPaginaInteracciones(p.getId(), desde, TAMANO_PAGINA_HISTORIAL);
+                    }
+
+                    @Override
+                    protected void done() {
+                        cargando = false;
+                        List<Interaccion> pagina;
+                        try {
+                            pagina = get();
+                        } catch (Exception ex) {
+                            pagina = Collections.emptyList();
+                        }
+                        for (Interaccion i : pagina) {
+                            filas.addElement(i.getFechaHora().toLocalDate()
+                                    + " | " + (i.getAutor() != null ? i.getAutor().getNombreCompleto() : "-")
+                                    + " | " + i.getTitulo());
+                        }
+                        if (!pagina.isEmpty()) ultima = pagina.get(pagina.size() - 1);
+                        agotado = pagina.size() < TAMANO_PAGINA_HISTORIAL;
+                        // Si la página no alcanza a llenar la vista no habrá scroll que pida la siguiente
+                        if (!agotado && !scroll.getVerticalScrollBar().isVisible()) run();
+                    }
+                }.execute();
+            }
+        };
+
+        scroll.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar barra = (JScrollBar) e.getAdjustable();
+            if (barra.getValue() + barra.getVisibleAmount() >= barra.getMaximum() - lista.getFixedCellHeight() * 5) {
+                cargarSiguiente.run();
+            }
+        });
+        cargarSiguiente.run();
 
-        JTextArea ta = new JTextArea(sb.toString(), 12, 60);
-        ta.setEditable(false);
         JOptionPane.showMessageDialog(
                 this,
-                new JScrollPane(ta),
-                "Historial de Interacciones",
+                scroll,
+                "Historial de Interacciones (" + p.getCantidadInteracciones() + ")",
                 JOptionPane.PLAIN_MESSAGE
         );
     }
@@ -334,9 +615,7 @@ public class PostulacionesPanel extends JPanel {
     // ===== util =====
     private static String safe(String s) { return (s == null || s.trim().isEmpty()) ? "-" : s.trim(); }
 
-    private static String vigenciaTexto(Convenio conv, Programa prog) {
-        if (conv != null && conv.getFechaInicio() != null && conv.getFechaFin() != null)
-            return conv.getFechaInicio() + " a " + conv.getFechaFin();
+    private static String vigenciaTexto(Programa prog) {
         if (prog != null && prog.getFechaInicio() != null && prog.getFechaFin() != null)
             return prog.getFechaInicio() + " a " + prog.getFechaFin();
         return "-";
@@ -346,14 +625,212 @@ public class PostulacionesPanel extends JPanel {
         JOptionPane.showMessageDialog(this, msg, "Información", JOptionPane.INFORMATION_MESSAGE);
     }
 
-    private static class PatternUtil {
-        static String quoteIfNeeded(String s) {
-            StringBuilder out = new StringBuilder();
-            for (char ch : s.toCharArray()) {
-                if ("[](){}.^$|?*+\\".indexOf(ch) >= 0) out.append('\\');
-                out.append(ch);
+    /**
+     * Filas guardadas por columnas: un arreglo por campo en lugar de un objeto por fila.
+     * Los textos ya vienen formateados y el estado se guarda como ordinal del enum.
+     */
+    private static final class Columnas {
+        private static final EstadoPostulacion[] ESTADOS = EstadoPostulacion.values();
+
+        Postulacion[] postulaciones;
+        String[] ids;
+        String[] universidades;
+        String[] paises;
+        String[] emitidas;
+        String[] vigencias;
+        byte[] estados;
+        int n;
+        Map<String, Integer> filaPorId = Collections.emptyMap();
+        Map<Postulacion, String> textos = new ConcurrentHashMap<>(); // texto normalizado de cada fila para la búsqueda
+
+        Columnas(int capacidad) {
+            capacidad = Math.max(capacidad, 8);
+            postulaciones = new Postulacion[capacidad];
+            ids = new String[capacidad];
+            universidades = new String[capacidad];
+            paises = new String[capacidad];
+            emitidas = new String[capacidad];
+            vigencias = new String[capacidad];
+            estados = new byte[capacidad];
+        }
+
+        void agregar(Postulacion p, String id, String uni, String pais, String emitida, String vigencia, EstadoPostulacion estado) {
+            if (n == ids.length) crecer();
+            postulaciones[n] = p;
+            ids[n] = id;
+            universidades[n] = uni;
+            paises[n] = pais;
+            emitidas[n] = emitida;
+            vigencias[n] = vigencia;
+            estados[n] = (byte) (estado != null ? estado.ordinal() : -1);
+            n++;
+        }
+
+        /** Arma el mapa ID -> fila; se llama en segundo plano, antes de pasar las filas al modelo. */
+        void indexar() {
+            filaPorId = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) filaPorId.put(ids[i], i);
+        }
+
+        void agregarDesde(Columnas o, int j) {
+            agregar(o.postulaciones[j], o.ids[j], o.universidades[j], o.paises[j], o.emitidas[j], o.vigencias[j],
+                    o.estados[j] >= 0 ? ESTADOS[o.estados[j]] : null);
+        }
+
+        void copiarDesde(int i, Columnas o, int j) {
+            postulaciones[i] = o.postulaciones[j];
+            ids[i] = o.ids[j];
+            universidades[i] = o.universidades[j];
+            paises[i] = o.paises[j];
+            emitidas[i] = o.emitidas[j];
+            vigencias[i] = o.vigencias[j];
+            estados[i] = o.estados[j];
+        }
+
+        boolean igual(int i, Columnas o, int j) {
+            return postulaciones[i] == o.postulaciones[j]
+                    && estados[i] == o.estados[j]
+                    && ids[i].equals(o.ids[j])
+                    && universidades[i].equals(o.universidades[j])
+                    && paises[i].equals(o.paises[j])
+                    && emitidas[i].equals(o.emitidas[j])
+                    && vigencias[i].equals(o.vigencias[j]);
+        }
+
+        /** Quita las filas [desde, hasta] corriendo las siguientes hacia arriba. */
+        void quitar(int desde, int hasta) {
+            int quitadas = hasta - desde + 1;
+            int resto = n - hasta - 1;
+            System.arraycopy(postulaciones, hasta + 1, postulaciones, desde, resto);
+            System.arraycopy(ids, hasta + 1, ids, desde, resto);
+            System.arraycopy(universidades, hasta + 1, universidades, desde, resto);
+            System.arraycopy(paises, hasta + 1, paises, desde, resto);
+            System.arraycopy(emitidas, hasta + 1, emitidas, desde, resto);
+            System.arraycopy(vigencias, hasta + 1, vigencias, desde, resto);
+            System.arraycopy(estados, hasta + 1, estados, desde, resto);
+            n -= quitadas;
+            Arrays.fill(postulaciones, n, n + quitadas, null);
+            Arrays.fill(ids, n, n + quitadas, null);
+            Arrays.fill(universidades, n, n + quitadas, null);
+            Arrays.fill(paises, n, n + quitadas, null);
+            Arrays.fill(emitidas, n, n + quitadas, null);
+            Arrays.fill(vigencias, n, n + quitadas, null);
+        }
+
+        Object valor(int i, int columna) {
+            switch (columna) {
+                case COL_ID: return ids[i];
+                case COL_UNI: return universidades[i];
+                case COL_PAIS: return paises[i];
+                case COL_EMITIDA: return emitidas[i];
+                case COL_VIGENCIA: return vigencias[i];
+                case COL_ESTADO: return estados[i] >= 0 ? ESTADOS[estados[i]].name() : "-";
+                default: return "";
+            }
+        }
+
+        private void crecer() {
+            int capacidad = ids.length * 2;
+            postulaciones = Arrays.copyOf(postulaciones, capacidad);
+            ids = Arrays.copyOf(ids, capacidad);
+            universidades = Arrays.copyOf(universidades, capacidad);
+            paises = Arrays.copyOf(paises, capacidad);
+            emitidas = Arrays.copyOf(emitidas, capacidad);
+            vigencias = Arrays.copyOf(vigencias, capacidad);
+            estados = Arrays.copyOf(estados, capacidad);
+        }
+    }
+
+    /**
+     * Modelo de la tabla que se actualiza por diferencias: compara las filas nuevas con
+     * las actuales por ID y avisa solo de las filas quitadas, cambiadas o agregadas, agrupando
+     * los índices contiguos en un único evento.
+     */
+    private static class PostulacionesTableModel extends AbstractTableModel {
+        private final String[] cols = { "ID", "UNIVERSIDAD", "PAÍS", "EMITIDA", "VIGENCIA", "ESTADO" };
+        private final Columnas filas = new Columnas(0);
+        private Map<String, Integer> filaPorId = new HashMap<>();
+
+        public Postulacion getPostulacion(int row) { return filas.postulaciones[row]; }
+
+        boolean contiene(String id) { return filaPorId.containsKey(id); }
+
+        /** Reemplaza o agrega las filas dadas sin quitar ninguna; las demás no se revisan. */
+        void actualizar(Columnas cambios) {
+            int primera = filas.n;
+            for (int j = 0; j < cambios.n; j++) {
+                Integer i = filaPorId.get(cambios.ids[j]);
+                if (i == null) {
+                    filaPorId.put(cambios.ids[j], filas.n);
+                    filas.agregarDesde(cambios, j);
+                } else if (!filas.igual(i, cambios, j)) {
+                    filas.copiarDesde(i, cambios, j);
+                    fireTableRowsUpdated(i, i);
+                }
+            }
+            if (filas.n > primera) fireTableRowsInserted(primera, filas.n - 1);
+        }
+
+        void aplicar(Columnas nuevas) {
+            Map<String, Integer> porId = nuevas.filaPorId;
+            boolean[] presentes = new boolean[nuevas.n];
+
+            // Quitadas: de atrás hacia adelante, para que los índices pendientes sigan siendo válidos
+            boolean huboQuitadas = false;
+            int fin = -1;
+            for (int i = filas.n - 1; i >= -1; i--) {
+                boolean quitar = i >= 0 && !porId.containsKey(filas.ids[i]);
+                if (quitar) {
+                    if (fin < 0) fin = i;
+                    continue;
+                }
+                if (fin >= 0) {
+                    huboQuitadas = true;
+                    filas.quitar(i + 1, fin);
+                    fireTableRowsDeleted(i + 1, fin);
+                    fin = -1;
+                }
+            }
+
+            // Cambiadas: se reemplazan en su lugar
+            int ini = -1;
+            for (int i = 0; i <= filas.n; i++) {
+                boolean cambio = false;
+                if (i < filas.n) {
+                    int j = porId.get(filas.ids[i]);
+                    presentes[j] = true;
+                    if (!filas.igual(i, nuevas, j)) {
+                        filas.copiarDesde(i, nuevas, j);
+                        cambio = true;
+                    }
+                }
+                if (cambio) {
+                    if (ini < 0) ini = i;
+                } else if (ini >= 0) {
+                    fireTableRowsUpdated(ini, i - 1);
+                    ini = -1;
+                }
+            }
+
+            // Agregadas: al final del modelo (el sorter decide el orden visible)
+            int primera = filas.n;
+            for (int j = 0; j < nuevas.n; j++) {
+                if (!presentes[j]) filas.agregarDesde(nuevas, j);
             }
-            return out.toString();
+            if (huboQuitadas) {
+                filaPorId = new HashMap<>(filas.n * 2);
+                for (int i = 0; i < filas.n; i++) filaPorId.put(filas.ids[i], i);
+            } else {
+                for (int i = primera; i < filas.n; i++) filaPorId.put(filas.ids[i], i);
+            }
+            if (filas.n > primera) fireTableRowsInserted(primera, filas.n - 1);
         }
+
+        public int getRowCount() { return filas.n; }
+        public int getColumnCount() { return cols.length; }
+        public String getColumnName(int column) { return cols[column]; }
+        public Object getValueAt(int rowIndex, int columnIndex) { return filas.valor(rowIndex, columnIndex); }
+        public Class<?> getColumnClass(int columnIndex) { return String.class; }
+        public boolean isCellEditable(int rowIndex, int columnIndex) { return false; }
     }
 }
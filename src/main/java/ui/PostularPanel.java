@@ -1,6 +1,8 @@
 package ui;
 
 import com.formdev.flatlaf.FlatClientProperties;
+import enums.TipoEvento;
+import gestores.EventoDominio;
 import gestores.GestorIntercambio;
 import modelo.Convenio;
 import modelo.Estudiante;
@@ -8,17 +10,22 @@ import modelo.Programa;
 import modelo.Usuario;
 
 import javax.swing.*;
-import javax.swing.event.DocumentEvent;
-import javax.swing.event.DocumentListener;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 public class PostularPanel extends JPanel {
 
@@ -31,6 +38,18 @@ public class PostularPanel extends JPanel {
     private JTextField searchField;
     private JLabel titulo;
     private JButton btnVerDetalle;
+    private BusquedaDiferida<Set<Convenio>> busqueda;
+    private Set<Convenio> coincidencias;
+    private JCheckBox soloElegibles;
+    private final Set<Convenio> elegibles = Collections.newSetFromMap(new IdentityHashMap<>());
+    private Programa programaMostrado;
+    private final Consumer<List<EventoDominio>> oyenteEventos = lote -> {
+        List<Convenio> actualizados = new ArrayList<>();
+        for (EventoDominio e : lote) {
+            if (e.getTipo() == TipoEvento.CONVENIO_ACTUALIZADO) actualizados.add(e.getConvenio());
+        }
+        if (!actualizados.isEmpty()) SwingUtilities.invokeLater(() -> actualizarConvenios(actualizados));
+    };
 
     public PostularPanel(GestorIntercambio gestor, Usuario usuario) {
         this.gestor = Objects.requireNonNull(gestor);
@@ -60,11 +79,20 @@ public class PostularPanel extends JPanel {
         searchRow.setBorder(BorderFactory.createEmptyBorder(0, 240, 0, 240));
 
         searchField = new JTextField();
-        searchField.putClientProperty(FlatClientProperties.PLACEHOLDER_TEXT, "Buscar");
+        searchField.putClientProperty(FlatClientProperties.PLACEHOLDER_TEXT, "Buscar universidad, país, área o requisito");
         searchField.putClientProperty(FlatClientProperties.STYLE, "arc:999; margin:6,14,6,14");
         searchRow.add(searchField, BorderLayout.CENTER);
         header.add(searchRow);
 
+        if (usuario instanceof Estudiante) {
+            soloElegibles = new JCheckBox("Solo convenios para los que califico", true);
+            soloElegibles.setOpaque(false);
+            soloElegibles.setAlignmentX(Component.CENTER_ALIGNMENT);
+            soloElegibles.addActionListener(e -> aplicarFiltros());
+            header.add(Box.createVerticalStrut(6));
+            header.add(soloElegibles);
+        }
+
         add(header, BorderLayout.NORTH);
 
         // ===== Tabla =====
@@ -87,12 +115,8 @@ public class PostularPanel extends JPanel {
             }
         });
 
-        // Filtro en vivo
-        searchField.getDocument().addDocumentListener(new DocumentListener() {
-            public void insertUpdate(DocumentEvent e) { applyFilter(); }
-            public void removeUpdate(DocumentEvent e) { applyFilter(); }
-            public void changedUpdate(DocumentEvent e) { applyFilter(); }
-        });
+        // Filtro en vivo: el índice del gestor se consulta en segundo plano al dejar de escribir
+        busqueda = new BusquedaDiferida<>(searchField, BusquedaDiferida.DEMORA_MS, this::buscar, this::applyFilter);
 
         add(new JScrollPane(table), BorderLayout.CENTER);
 
@@ -106,30 +130,104 @@ public class PostularPanel extends JPanel {
         add(footer, BorderLayout.SOUTH);
     }
 
-    private void applyFilter() {
-        String txt = searchField.getText().trim();
-        if (txt.isEmpty()) {
+    /**
+     * Corre fuera del EDT. Devuelve null si no hay texto (se muestran todos).
+     */
+    private Set<Convenio> buscar(String txt, BooleanSupplier cancelada) {
+        if (txt.isEmpty()) return null;
+        Set<Convenio> coincidencias = Collections.newSetFromMap(new IdentityHashMap<>());
+        coincidencias.addAll(gestor.buscarConvenios(txt));
+        return coincidencias;
+    }
+
+    private void applyFilter(Set<Convenio> coincidencias) {
+        this.coincidencias = coincidencias;
+        aplicarFiltros();
+    }
+
+    /**
+     * Combina la búsqueda de texto con el filtro de elegibilidad. La tabla solo comprueba
+     * pertenencia a conjuntos ya calculados.
+     */
+    private void aplicarFiltros() {
+        final Set<Convenio> buscados = coincidencias;
+        final boolean filtrarElegibles = soloElegibles != null && soloElegibles.isSelected();
+        if (buscados == null && !filtrarElegibles) {
             sorter.setRowFilter(null);
             return;
         }
-        sorter.setRowFilter(RowFilter.regexFilter("(?i)" + PatternUtil.quoteIfNeeded(txt)));
+        sorter.setRowFilter(new RowFilter<ConveniosTableModel, Integer>() {
+            public boolean include(Entry<? extends ConveniosTableModel, ? extends Integer> entry) {
+                Convenio c = model.getAt(entry.getIdentifier());
+                return (buscados == null || buscados.contains(c)) && (!filtrarElegibles || elegibles.contains(c));
+            }
+        });
+    }
+
+    /**
+     * Recalcula para qué convenios de la tabla califica el estudiante (los requisitos ya están
+     * compilados, así que es una comparación por convenio).
+     */
+    private void calcularElegibles() {
+        if (!(usuario instanceof Estudiante)) return;
+        elegibles.clear();
+        elegibles.addAll(gestor.getConveniosElegibles((Estudiante) usuario, model.getTodos()));
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        gestor.getEventos().suscribirAgrupado(oyenteEventos);
+    }
+
+    @Override
+    public void removeNotify() {
+        gestor.getEventos().desuscribir(oyenteEventos);
+        super.removeNotify();
+    }
+
+    /**
+     * Aplica al catálogo los convenios importados o modificados: reemplaza sus filas o las
+     * agrega si son nuevos en el programa mostrado, y repite la búsqueda en curso.
+     */
+    private void actualizarConvenios(List<Convenio> actualizados) {
+        if (programaMostrado == null) {
+            loadData();
+        } else {
+            List<Convenio> delPrograma = new ArrayList<>();
+            for (Convenio c : actualizados) {
+                if (c.getIdPrograma() == programaMostrado.getId()) delPrograma.add(c);
+            }
+            model.actualizar(delPrograma);
+            btnVerDetalle.setEnabled(model.getRowCount() > 0);
+        }
+        calcularElegibles();
+        if (!searchField.getText().trim().isEmpty()) {
+            busqueda.ejecutarAhora();
+        } else {
+            aplicarFiltros();
+        }
     }
 
     private void loadData() {
         List<Programa> programas = gestor.getProgramasVigentes();
         if (programas == null || programas.isEmpty()) {
             model.setData(List.of());
+            elegibles.clear();
             titulo.setText("NO HAY PROGRAMAS VIGENTES");
             btnVerDetalle.setEnabled(false);
             return;
         }
 
         Programa p = programas.get(0);
+        programaMostrado = p;
         titulo.setText("CATÁLOGO • " + p.getNombre());
 
-        List<Convenio> convenios = new ArrayList<>(p.getConveniosVigentes());
+        List<Convenio> convenios = new ArrayList<>(p.getConvenios());
         convenios.sort(Comparator.comparing(Convenio::getId));
         model.setData(convenios);
+        calcularElegibles();
+        aplicarFiltros();
 
         btnVerDetalle.setEnabled(!convenios.isEmpty());
     }
@@ -154,6 +252,12 @@ public class PostularPanel extends JPanel {
         gc.gridy++; info.add(new JLabel("País: " + c.getPais()), gc);
         gc.gridy++; info.add(new JLabel("Requisitos Académicos: " + c.getRequisitosAcademicos()), gc);
         gc.gridy++; info.add(new JLabel("Requisitos Económicos: " + c.getRequisitosEconomicos()), gc);
+        if (usuario instanceof Estudiante) {
+            List<String> incumplidos = gestor.getRequisitos(c).incumplidos((Estudiante) usuario);
+            gc.gridy++; info.add(new JLabel(incumplidos.isEmpty()
+                    ? "Cumples los requisitos académicos."
+                    : "No cumples: " + String.join(", ", incumplidos)), gc);
+        }
 
         // Opciones según el rol
         if (usuario instanceof Estudiante) {
@@ -163,7 +267,14 @@ public class PostularPanel extends JPanel {
                     null, options, options[0]
             );
             if (opt == 0) {
-                boolean ok = gestor.postular((Estudiante) usuario, c);
+                boolean ok;
+                try {
+                    ok = gestor.postular((Estudiante) usuario, c);
+                } catch (IllegalArgumentException ex) {
+                    Toolkit.getDefaultToolkit().beep();
+                    JOptionPane.showMessageDialog(this, ex.getMessage(), "Postulación", JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
                 if (ok) {
                     JOptionPane.showMessageDialog(this, "¡Postulación exitosa!", "Postulación", JOptionPane.INFORMATION_MESSAGE);
                 } else {
@@ -181,13 +292,35 @@ public class PostularPanel extends JPanel {
     private static class ConveniosTableModel extends AbstractTableModel {
         private final String[] cols = {"ID", "Universidad", "País", "Requisitos Académicos"};
         private List<Convenio> data = new ArrayList<>();
+        private final Map<String, Integer> filaPorId = new HashMap<>();
 
         public void setData(List<Convenio> d) {
             this.data = (d == null) ? new ArrayList<>() : d;
+            filaPorId.clear();
+            for (int i = 0; i < data.size(); i++) filaPorId.put(data.get(i).getId(), i);
             fireTableDataChanged();
         }
 
+        /**
+         * Reemplaza por ID las filas de los convenios dados y agrega al final los que no estaban.
+         */
+        public void actualizar(List<Convenio> convenios) {
+            int primeraNueva = data.size();
+            for (Convenio c : convenios) {
+                Integer fila = filaPorId.get(c.getId());
+                if (fila != null) {
+                    data.set(fila, c);
+                    if (fila < primeraNueva) fireTableRowsUpdated(fila, fila);
+                } else {
+                    filaPorId.put(c.getId(), data.size());
+                    data.add(c);
+                }
+            }
+            if (data.size() > primeraNueva) fireTableRowsInserted(primeraNueva, data.size() - 1);
+        }
+
         public Convenio getAt(int row) { return data.get(row); }
+        public List<Convenio> getTodos() { return data; }
 
         public int getRowCount() { return data.size(); }
         public int getColumnCount() { return cols.length; }
@@ -207,15 +340,4 @@ public class PostularPanel extends JPanel {
         public Class<?> getColumnClass(int columnIndex) { return String.class; }
         public boolean isCellEditable(int rowIndex, int columnIndex) { return false; }
     }
-
-    private static class PatternUtil {
-        static String quoteIfNeeded(String s) {
-            StringBuilder out = new StringBuilder();
-            for (char ch : s.toCharArray()) {
-                if ("[](){}.^$|?*+\\".indexOf(ch) >= 0) out.append('\\');
-                out.append(ch);
-            }
-            return out.toString();
-        }
-    }
 }
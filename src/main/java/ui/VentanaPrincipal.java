@@ -1,6 +1,8 @@
 package ui;
 
+import enums.Rol;
 import gestores.GestorIntercambio;
+import gestores.Sesion;
 import modelo.Estudiante;
 import modelo.Usuario;
 
@@ -16,10 +18,11 @@ public class VentanaPrincipal extends JFrame {
 
     private final JPanel cards = new JPanel(new CardLayout());
     private final GestorIntercambio gestor;
+    private Sesion sesion;
 
     private EstudiantePanel estudiantePanel;
-    private JPanel funcionarioPanel;
-    private JPanel auditorPanel;
+    private FuncionarioPanel funcionarioPanel;
+    private AuditorPanel auditorPanel;
 
     public VentanaPrincipal(GestorIntercambio gestor){
         this.gestor = gestor;
@@ -40,8 +43,9 @@ public class VentanaPrincipal extends JFrame {
         show(VIEW_LOGIN);
     }
 
-    private void onLoginOk(Usuario usuario) {
-        redirigirUsuario(usuario);
+    private void onLoginOk(Sesion sesion) {
+        this.sesion = sesion;
+        redirigirUsuario(sesion.getUsuario());
     }
 
     private void redirigirUsuario(Usuario u) {
@@ -53,16 +57,20 @@ public class VentanaPrincipal extends JFrame {
                 estudiantePanel.setUsuario(u);
             }
             show(VIEW_ESTUDIANTE);
-        } else if (u.getRol().equals("Funcionario")) {
+        } else if (u.getRol() == Rol.FUNCIONARIO) {
             if (funcionarioPanel == null) {
-                funcionarioPanel = placeholder("Panel Funcionario (proximamente)");
+                funcionarioPanel = new FuncionarioPanel(gestor, u, this::logout);
                 cards.add(funcionarioPanel, VIEW_FUNCIONARIO);
+            } else {
+                funcionarioPanel.setUsuario(u);
             }
             show(VIEW_FUNCIONARIO);
-        } else if (u.getRol().equals("Auditor")) {
+        } else if (u.getRol() == Rol.AUDITOR) {
             if (auditorPanel == null) {
-                auditorPanel = placeholder("Panel Auditor (proximamente)");
+                auditorPanel = new AuditorPanel(gestor, u, this::logout);
                 cards.add(auditorPanel, VIEW_AUDITOR);
+            } else {
+                auditorPanel.setUsuario(u);
             }
             show(VIEW_AUDITOR);
         } else {
@@ -71,7 +79,8 @@ public class VentanaPrincipal extends JFrame {
     }
 
     private void logout() {
-        gestor.cerrarSesion();
+        gestor.cerrarSesion(sesion);
+        sesion = null;
         show(VIEW_LOGIN);
     }
 
@@ -79,10 +88,4 @@ public class VentanaPrincipal extends JFrame {
         ((CardLayout) cards.getLayout()).show(cards, name);
         revalidate(); repaint();
     }
-
-    private JPanel placeholder(String text) {
-        JPanel p = new JPanel(new BorderLayout());
-        p.add(new JLabel(text, SwingConstants.CENTER), BorderLayout.CENTER);
-        return p;
-    }
 }
\ No newline at end of file
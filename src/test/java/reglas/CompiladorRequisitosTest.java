@@ -0,0 +1,55 @@
+package reglas;
+
+import modelo.Estudiante;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiladorRequisitosTest {
+
+    private static Estudiante estudiante(String carrera) {
+        return new Estudiante("11111111-1", "Estudiante Prueba", "e@prueba.cl", "clave", carrera, 6.0, 6);
+    }
+
+    @Test
+    void carreraQueEmpiezaConEnNoPierdeElPrefijo() {
+        Requisitos r = CompiladorRequisitos.compilar("Carrera Enfermería", null);
+        assertEquals(Set.of("enfermeria"), r.getCarreras());
+        assertTrue(r.cumple(estudiante("Enfermería")));
+    }
+
+    @Test
+    void carreraQueEmpiezaConDeNoPierdeElPrefijo() {
+        Requisitos r = CompiladorRequisitos.compilar("Carrera Derecho", null);
+        assertEquals(Set.of("derecho"), r.getCarreras());
+        assertTrue(r.cumple(estudiante("Derecho")));
+    }
+
+    @Test
+    void enYDeSueltosSiguenSiendoConectores() {
+        assertEquals(Set.of("medicina"), CompiladorRequisitos.compilar("Carrera en Medicina", null).getCarreras());
+        assertEquals(Set.of("derecho"), CompiladorRequisitos.compilar("Carreras de Derecho", null).getCarreras());
+        assertEquals(Collections.emptyList(), CompiladorRequisitos.compilar("Carrera: Derecho", null).getDocumentos());
+    }
+
+    @Test
+    void yDentroDeLaCarreraAgregaOtraCarrera() {
+        Requisitos r = CompiladorRequisitos.compilar("Carrera: Ingeniería y Derecho", null);
+        assertEquals(Set.of("ingenieria", "derecho"), r.getCarreras());
+        assertEquals(Collections.emptyList(), r.getDocumentos());
+        assertTrue(r.cumple(estudiante("Derecho")));
+    }
+
+    @Test
+    void ySigueSeparandoClausulasReconocidas() {
+        Requisitos r = CompiladorRequisitos.compilar("Carrera: Derecho y Promedio >= 5.5 y Carta de motivación", null);
+        assertEquals(Set.of("derecho"), r.getCarreras());
+        assertEquals(5.5, r.getPromedioMinimo());
+        assertEquals(List.of("Carta de motivación"), r.getDocumentos());
+    }
+}